@@ -4,7 +4,6 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
         "com.example.common",
@@ -16,7 +15,6 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 })
 @EntityScan({"com.example.user.domain", "com.example.order.domain", "com.example.product.domain"})
 @EnableJpaRepositories({"com.example.user.repository", "com.example.order.repository", "com.example.product.repository"})
-@EnableScheduling
 public class BatchApplication {
     
     public static void main(String[] args) {
@@ -0,0 +1,28 @@
+package com.example.batch.aggregate;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// job instance 의 모든 실행에서 스텝(파티션) 이름별 최신 StepExecution 을 고른다.
+// 재시작 실행에는 이전 실행에서 이미 COMPLETED 된 스텝이 다시 돌지 않으므로, 현재 JobExecution 만 보면 그 누적기가 빠진다
+public final class LatestStepExecutions {
+
+    private LatestStepExecutions() {
+    }
+
+    public static Collection<StepExecution> of(JobExplorer jobExplorer, JobExecution jobExecution) {
+        Map<String, StepExecution> latest = new HashMap<>();
+        for (JobExecution execution : jobExplorer.getJobExecutions(jobExecution.getJobInstance())) {
+            for (StepExecution stepExecution : execution.getStepExecutions()) {
+                latest.merge(stepExecution.getStepName(), stepExecution,
+                        (current, candidate) -> candidate.getId() > current.getId() ? candidate : current);
+            }
+        }
+        return latest.values();
+    }
+}
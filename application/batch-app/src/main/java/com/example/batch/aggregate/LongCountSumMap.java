@@ -0,0 +1,171 @@
+package com.example.batch.aggregate;
+
+import java.util.Arrays;
+
+// long 키 -> (건수, 합계) 오픈 어드레싱 해시맵.
+// 키/값을 primitive 배열에 나란히 두어 박싱과 엔트리 객체 없이 수십만 키도 몇 MB 안에서 조회한다.
+// 단일 스레드에서 채우고 읽는 용도이며 동기화하지 않는다
+public class LongCountSumMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] counts;
+    private long[] sums;
+    private int mask;
+    private int size;
+
+    // 0 은 빈 슬롯 표시로 쓰므로 별도로 보관한다
+    private boolean hasZeroKey;
+    private long zeroCount;
+    private long zeroSum;
+
+    public LongCountSumMap() {
+        this(1024);
+    }
+
+    public LongCountSumMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public void add(long key, long count, long sum) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroCount += count;
+            zeroSum += sum;
+            return;
+        }
+        int slot = findSlot(keys, mask, key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size > keys.length * LOAD_FACTOR) {
+                resize();
+                slot = findSlot(keys, mask, key);
+            }
+        }
+        counts[slot] += count;
+        sums[slot] += sum;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return keys[findSlot(keys, mask, key)] == key;
+    }
+
+    public long getCount(long key) {
+        if (key == EMPTY) {
+            return zeroCount;
+        }
+        int slot = findSlot(keys, mask, key);
+        return keys[slot] == key ? counts[slot] : 0L;
+    }
+
+    public long getSum(long key) {
+        if (key == EMPTY) {
+            return zeroSum;
+        }
+        int slot = findSlot(keys, mask, key);
+        return keys[slot] == key ? sums[slot] : 0L;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroCount, zeroSum);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], counts[i], sums[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    // count 가 minCount 미만인 키를 지우고 지운 수를 반환한다.
+    // 선형 탐사 체인이 끊기지 않도록 남은 키로 같은 크기의 테이블을 다시 채운다
+    public int removeCountsBelow(long minCount) {
+        int before = size();
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        long[] oldSums = sums;
+        allocate(oldKeys.length);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY && oldCounts[i] >= minCount) {
+                int slot = findSlot(keys, mask, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                sums[slot] = oldSums[i];
+                size++;
+            }
+        }
+        if (hasZeroKey && zeroCount < minCount) {
+            hasZeroKey = false;
+            zeroCount = 0L;
+            zeroSum = 0L;
+        }
+        return before - size();
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(counts, 0L);
+        Arrays.fill(sums, 0L);
+        size = 0;
+        hasZeroKey = false;
+        zeroCount = 0L;
+        zeroSum = 0L;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long count, long sum);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        long[] oldSums = sums;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(keys, mask, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+                sums[slot] = oldSums[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new long[capacity];
+        sums = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    // 선형 탐사: 키가 있으면 그 슬롯, 없으면 삽입할 빈 슬롯을 반환한다
+    private static int findSlot(long[] keys, int mask, long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // 연속된 id 가 인접 슬롯에 몰리지 않도록 비트를 섞는다
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        return Math.max(16, capacity);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.batch.aggregate;
+
+import com.example.batch.incremental.WatermarkRange;
+import com.example.batch.model.OrderReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// 앞선 스텝(또는 파티션 worker)들이 남긴 누적기를 (재시작이면 이전 실행의 완료된 스텝까지) 합쳐 DAILY 요약 행을 갱신하고,
+// 영향을 받은 주/월은 DAILY 행을 다시 합산해 WEEKLY / MONTHLY 행을 갱신한다.
+// 증분 실행에서는 누적기에 변경된 주문만 담기므로, 영향을 받은 일자의 DAILY 행을 order_reports 에서 다시 합산한다
+@Slf4j
+public class OrderReportSummaryTasklet implements Tasklet {
+
+    private static final String DELETE_SQL =
+            "DELETE FROM order_report_summaries WHERE report_period = ? AND period_start = ?";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO order_report_summaries
+            (report_period, period_start, order_status, total_order_count, total_revenue, average_order_value, report_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String DAILY_SQL = """
+            SELECT order_status, COUNT(*) AS total_order_count, SUM(total_amount) AS total_revenue
+            FROM order_reports
+            WHERE order_date >= ? AND order_date < ?
+            GROUP BY order_status
+            """;
+
+    private static final String ROLLUP_SQL = """
+            SELECT order_status, SUM(total_order_count) AS total_order_count, SUM(total_revenue) AS total_revenue
+            FROM order_report_summaries
+            WHERE report_period = 'DAILY' AND period_start BETWEEN ? AND ?
+            GROUP BY order_status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+
+    public OrderReportSummaryTasklet(DataSource dataSource, JobExplorer jobExplorer) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jobExplorer = jobExplorer;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        StepExecution current = chunkContext.getStepContext().getStepExecution();
+        OrderSummaryAccumulator merged = new OrderSummaryAccumulator();
+        for (StepExecution stepExecution : LatestStepExecutions.of(jobExplorer, current.getJobExecution())) {
+            Object accumulator = stepExecution.getExecutionContext().get(OrderSummaryAccumulator.CONTEXT_KEY);
+            if (accumulator instanceof OrderSummaryAccumulator partial) {
+                merged.merge(partial);
+            }
+        }
+
+        if (merged.isEmpty()) {
+            log.info("No orders aggregated, skipping summary update");
+            return RepeatStatus.FINISHED;
+        }
+
+        boolean incremental = WatermarkRange.of(current.getJobExecution().getExecutionContext(), "orders")
+                .isIncremental();
+        LocalDateTime reportDate = LocalDateTime.now();
+
+        Map<LocalDate, Map<String, OrderSummary>> days = new TreeMap<>();
+        merged.getSummaries().forEach((key, summary) ->
+                days.computeIfAbsent(key.day(), day -> new TreeMap<>()).put(key.status(), summary));
+
+        TreeSet<LocalDate> weeks = new TreeSet<>();
+        TreeSet<LocalDate> months = new TreeSet<>();
+        days.forEach((day, byStatus) -> {
+            Map<String, OrderSummary> daily = incremental
+                    ? sum(DAILY_SQL, day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+                    : byStatus;
+            replace("DAILY", day, daily, reportDate);
+            weeks.add(day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)));
+            months.add(day.withDayOfMonth(1));
+        });
+        weeks.forEach(weekStart -> replace("WEEKLY", weekStart,
+                sum(ROLLUP_SQL, weekStart, weekStart.plusDays(6)), reportDate));
+        months.forEach(monthStart -> replace("MONTHLY", monthStart,
+                sum(ROLLUP_SQL, monthStart, monthStart.with(TemporalAdjusters.lastDayOfMonth())), reportDate));
+
+        contribution.incrementWriteCount(days.size() + weeks.size() + months.size());
+        log.info("Order report summary updated ({}): {} daily, {} weekly, {} monthly periods",
+                incremental ? "incremental" : "full", days.size(), weeks.size(), months.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    private Map<String, OrderSummary> sum(String sql, Object from, Object to) {
+        Map<String, OrderSummary> byStatus = new TreeMap<>();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, from, to);
+        for (Map<String, Object> row : rows) {
+            byStatus.put((String) row.get("order_status"), new OrderSummary(
+                    ((Number) row.get("total_order_count")).longValue(),
+                    (BigDecimal) row.get("total_revenue")));
+        }
+        return byStatus;
+    }
+
+    private OrderReport toReport(String period, LocalDate periodStart, String status,
+                                 OrderSummary summary, LocalDateTime reportDate) {
+        return OrderReport.builder()
+                .reportPeriod(period)
+                .orderDate(periodStart.atStartOfDay())
+                .orderStatus(status)
+                .totalOrderCount(summary.getCount())
+                .totalRevenue(summary.getRevenue())
+                .averageOrderValue(summary.getAverageOrderValue().doubleValue())
+                .reportDate(reportDate)
+                .build();
+    }
+
+    // 기간 단위로 지우고 다시 쓴다. 주문 상태가 바뀌어 사라진 상태 행도 함께 정리된다 (단일 스텝 트랜잭션 안에서 실행)
+    private void replace(String period, LocalDate periodStart, Map<String, OrderSummary> byStatus,
+                         LocalDateTime reportDate) {
+        jdbcTemplate.update(DELETE_SQL, period, periodStart);
+        byStatus.forEach((status, summary) -> {
+            OrderReport report = toReport(period, periodStart, status, summary, reportDate);
+            jdbcTemplate.update(INSERT_SQL,
+                    report.getReportPeriod(), periodStart, report.getOrderStatus(), report.getTotalOrderCount(),
+                    report.getTotalRevenue(), report.getAverageOrderValue(), report.getReportDate());
+        });
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.batch.aggregate;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// 건수와 매출 합계만 보관하므로 파티션/청크 단위 결과를 순서와 무관하게 합칠 수 있다
+@Getter
+public class OrderSummary implements Serializable {
+
+    private long count;
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public OrderSummary() {
+    }
+
+    public OrderSummary(long count, BigDecimal revenue) {
+        this.count = count;
+        this.revenue = revenue != null ? revenue : BigDecimal.ZERO;
+    }
+
+    public void add(BigDecimal amount) {
+        count++;
+        if (amount != null) {
+            revenue = revenue.add(amount);
+        }
+    }
+
+    public void merge(OrderSummary other) {
+        count += other.count;
+        revenue = revenue.add(other.revenue);
+    }
+
+    public BigDecimal getAverageOrderValue() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        return revenue.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
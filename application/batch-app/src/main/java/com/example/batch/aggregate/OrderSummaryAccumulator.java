@@ -0,0 +1,34 @@
+package com.example.batch.aggregate;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// 스텝(파티션) 하나가 처리한 주문의 (일자, 상태)별 집계. StepExecution 의 ExecutionContext 에 저장되어
+// 청크 커밋마다 영속화되고, 요약 스텝에서 모든 파티션의 결과를 merge 한다
+public class OrderSummaryAccumulator implements Serializable {
+
+    public static final String CONTEXT_KEY = "orderSummaryAccumulator";
+
+    private final HashMap<OrderSummaryKey, OrderSummary> summaries = new HashMap<>();
+
+    public void add(LocalDate day, String status, BigDecimal amount) {
+        summaries.computeIfAbsent(new OrderSummaryKey(day, status), key -> new OrderSummary()).add(amount);
+    }
+
+    public void merge(OrderSummaryAccumulator other) {
+        other.summaries.forEach((key, summary) ->
+                summaries.computeIfAbsent(key, k -> new OrderSummary()).merge(summary));
+    }
+
+    public Map<OrderSummaryKey, OrderSummary> getSummaries() {
+        return Collections.unmodifiableMap(summaries);
+    }
+
+    public boolean isEmpty() {
+        return summaries.isEmpty();
+    }
+}
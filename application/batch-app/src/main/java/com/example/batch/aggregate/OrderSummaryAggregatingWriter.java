@@ -0,0 +1,38 @@
+package com.example.batch.aggregate;
+
+import com.example.batch.model.OrderReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+
+// 주문별 리포트를 delegate 로 기록하면서 같은 패스에서 (일자, 상태)별 집계를 누적한다.
+// 스텝 스코프로 생성해 파티션(스레드)마다 별도의 누적기를 사용한다
+@RequiredArgsConstructor
+public class OrderSummaryAggregatingWriter implements ItemStreamWriter<OrderReport> {
+
+    private final ItemWriter<OrderReport> delegate;
+    private OrderSummaryAccumulator accumulator = new OrderSummaryAccumulator();
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        // 재시작 시 마지막 커밋 시점까지의 누적값부터 이어간다
+        if (executionContext.containsKey(OrderSummaryAccumulator.CONTEXT_KEY)) {
+            accumulator = (OrderSummaryAccumulator) executionContext.get(OrderSummaryAccumulator.CONTEXT_KEY);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends OrderReport> chunk) throws Exception {
+        delegate.write(chunk);
+        for (OrderReport report : chunk) {
+            accumulator.add(report.getOrderDate().toLocalDate(), report.getOrderStatus(), report.getTotalAmount());
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        executionContext.put(OrderSummaryAccumulator.CONTEXT_KEY, accumulator);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.batch.aggregate;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// 일 단위 + 주문 상태별 집계 키
+public record OrderSummaryKey(LocalDate day, String status) implements Serializable {
+}
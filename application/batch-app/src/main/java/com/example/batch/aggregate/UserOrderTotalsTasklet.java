@@ -0,0 +1,85 @@
+package com.example.batch.aggregate;
+
+import com.example.batch.incremental.WatermarkRange;
+import com.example.batch.shard.JobShard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+// orders 를 user_id 로 한 번만 집계해 (주문 수, 주문 금액 합계[센트]) 를 메모리 맵에 적재한다.
+// 이후 사용자 스텝은 사용자마다 쿼리하지 않고 이 맵을 조회(해시 조인)한다
+@Slf4j
+public class UserOrderTotalsTasklet implements Tasklet {
+
+    private static final String TOTALS_SQL =
+            "SELECT user_id, COUNT(*) AS order_count, SUM(total_amount) AS total_amount FROM orders";
+
+    private static final String GROUP_BY = " GROUP BY user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LongCountSumMap totals;
+
+    public UserOrderTotalsTasklet(DataSource dataSource, LongCountSumMap totals) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.totals = totals;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        totals.clear();
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        ExecutionContext jobContext = stepExecution.getJobExecution().getExecutionContext();
+        WatermarkRange users = WatermarkRange.of(jobContext, "users");
+        WatermarkRange orders = WatermarkRange.of(jobContext, "orders");
+        JobShard shard = JobShard.of(stepExecution.getJobParameters());
+
+        String where = shard.condition("user_id");
+        Object[] arguments = shard.appendArguments(new Object[0]);
+        if (isIncremental(users, orders)) {
+            // 증분 실행: 이번 구간에 사용자 정보나 주문이 바뀐 사용자의 합계만 다시 계산한다
+            where = "user_id IN (" + changedUserIds(users, orders) + ") AND " + where;
+            arguments = shard.appendArguments(changedUserIdArguments(users, orders));
+        }
+        String sql = TOTALS_SQL + " WHERE " + where + GROUP_BY;
+
+        jdbcTemplate.query(sql, rs -> {
+            BigDecimal amount = rs.getBigDecimal("total_amount");
+            long cents = amount != null
+                    ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+                    : 0L;
+            totals.add(rs.getLong("user_id"), rs.getLong("order_count"), cents);
+            contribution.incrementReadCount();
+        }, arguments);
+        log.info("Loaded order totals for {} users", totals.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    // users / orders 두 워터마크가 모두 있을 때만 증분으로 처리하고, 하나라도 없으면 전체를 다시 계산한다
+    public static boolean isIncremental(WatermarkRange users, WatermarkRange orders) {
+        return users.isIncremental() && orders.isIncremental();
+    }
+
+    public static String changedUserIds(WatermarkRange users, WatermarkRange orders) {
+        return "SELECT id FROM users WHERE " + users.condition("updated_at")
+                + " UNION SELECT user_id FROM orders WHERE " + orders.condition("updated_at");
+    }
+
+    public static Object[] changedUserIdArguments(WatermarkRange users, WatermarkRange orders) {
+        Object[] userArguments = users.arguments();
+        Object[] orderArguments = orders.arguments();
+        Object[] arguments = Arrays.copyOf(userArguments, userArguments.length + orderArguments.length);
+        System.arraycopy(orderArguments, 0, arguments, userArguments.length, orderArguments.length);
+        return arguments;
+    }
+}
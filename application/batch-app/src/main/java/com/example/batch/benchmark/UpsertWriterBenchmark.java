@@ -0,0 +1,128 @@
+package com.example.batch.benchmark;
+
+import com.example.batch.writer.UpsertDialect;
+import com.example.batch.writer.UpsertItemWriter;
+import com.example.batch.writer.UpsertItemWriterFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 리포트 writer 처리량(rows/sec) 비교. app.batch.writer-benchmark.enabled=true 일 때만 기동 시 1회 실행된다.
+// - row-batch  : 기존 writer 와 같은 방식 (행마다 upsert 문 1개, JDBC batch)
+// - multi-row  : UpsertItemWriter 다중 행 VALUES
+// - copy       : PostgreSQL COPY -> 임시 테이블 -> merge (PostgreSQL 에서만)
+// 각 방식은 빈 테이블에 insert 한 번, 같은 키로 update 한 번을 측정한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.batch.writer-benchmark.enabled", havingValue = "true")
+public class UpsertWriterBenchmark implements ApplicationRunner {
+
+    private static final String TABLE = "order_reports_benchmark";
+    private static final List<String> COLUMNS = List.of("order_id", "user_id", "order_status", "total_amount",
+            "order_date", "report_date");
+    private static final List<String> KEYS = List.of("order_id");
+    private static final List<String> UPDATES = List.of("order_status", "total_amount", "report_date");
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final UpsertItemWriterFactory writerFactory;
+
+    @Value("${app.batch.writer-benchmark.rows:100000}")
+    private int rows;
+
+    @Value("${app.batch.writer-benchmark.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        UpsertDialect dialect = writerFactory.getDialect();
+        log.info("Writer benchmark: dialect={}, rows={}, chunkSize={}", dialect, rows, chunkSize);
+        // H2 upsert 문은 테이블 컬럼 타입을 조회하므로 writer 를 만들기 전에 테이블이 있어야 한다
+        createTable(jdbcTemplate);
+
+        run(jdbcTemplate, "row-batch", rowBatchWriter());
+        run(jdbcTemplate, "multi-row", writerFactory.create(TABLE, COLUMNS, KEYS, UPDATES, this::values,
+                chunkSize, false));
+        if (dialect == UpsertDialect.POSTGRESQL) {
+            run(jdbcTemplate, "copy", writerFactory.create(TABLE, COLUMNS, KEYS, UPDATES, this::values,
+                    chunkSize, true));
+        }
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        log.info("Writer benchmark finished");
+    }
+
+    private void run(JdbcTemplate jdbcTemplate, String name, ItemWriter<Object[]> writer) {
+        createTable(jdbcTemplate);
+
+        double insertRate = measure(writer, "PENDING");
+        double updateRate = measure(writer, "CONFIRMED");
+        log.info("Writer benchmark [{}]: insert {} rows/sec, update {} rows/sec",
+                name, Math.round(insertRate), Math.round(updateRate));
+    }
+
+    private void createTable(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (order_id BIGINT NOT NULL PRIMARY KEY, user_id BIGINT,"
+                + " order_status VARCHAR(20), total_amount DECIMAL(19, 2), order_date TIMESTAMP, report_date TIMESTAMP)");
+    }
+
+    private double measure(ItemWriter<Object[]> writer, String status) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        long started = System.nanoTime();
+        for (int from = 0; from < rows; from += chunkSize) {
+            List<Object[]> items = new ArrayList<>(chunkSize);
+            for (long id = from + 1; id <= Math.min(rows, from + chunkSize); id++) {
+                items.add(new Object[]{id, id % 1000, status, BigDecimal.valueOf(id % 100_000, 2), now, now});
+            }
+            transactionTemplate.executeWithoutResult(tx -> {
+                try {
+                    writer.write(new Chunk<>(items));
+                } catch (Exception e) {
+                    throw new IllegalStateException("Writer benchmark failed", e);
+                }
+            });
+        }
+        return rows / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
+
+    private Object[] values(Object[] row) {
+        return row;
+    }
+
+    private JdbcBatchItemWriter<Object[]> rowBatchWriter() {
+        UpsertItemWriter<Object[]> singleRow = writerFactory.create(TABLE, COLUMNS, KEYS, UPDATES, this::values, 1, false);
+        JdbcBatchItemWriter<Object[]> writer = new JdbcBatchItemWriterBuilder<Object[]>()
+                .dataSource(dataSource)
+                .sql(singleRow.getSql(1))
+                .itemPreparedStatementSetter((row, ps) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        ps.setObject(i + 1, row[i]);
+                    }
+                })
+                .assertUpdates(false)
+                .build();
+        writer.afterPropertiesSet();
+        return writer;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.batch.bestseller;
+
+import java.util.Comparator;
+
+// 상품 하나의 판매 집계 (매출은 센트 단위)
+public record ProductSales(long categoryId, long productId, long quantity, long revenueCents) {
+
+    // 판매 수량 -> 매출 -> 상품 id(작을수록 우선) 순으로 순위를 매긴다
+    public static final Comparator<ProductSales> RANKING = Comparator
+            .comparingLong(ProductSales::quantity)
+            .thenComparingLong(ProductSales::revenueCents)
+            .thenComparing(Comparator.comparingLong(ProductSales::productId).reversed());
+}
@@ -0,0 +1,110 @@
+package com.example.batch.bestseller;
+
+import com.example.batch.aggregate.LongCountSumMap;
+import com.example.batch.aggregate.LongLongMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// 카테고리별 판매 상위 N 개 상품을 product_best_sellers 에 게시한다.
+// - order_items 를 한 번 스트리밍하며 상품별 (수량, 매출) 을 primitive 맵에 누적한다
+// - 카테고리마다 크기 N 의 최소 힙으로 상위 N 개만 유지한다 (전체 정렬 없음)
+// - 읽기 테이블은 스텝 트랜잭션 안에서 통째로 교체하므로 API 는 항상 완성된 순위를 본다
+@Slf4j
+public class TopSellingProductsTasklet implements Tasklet {
+
+    private static final long NO_CATEGORY = -1L;
+
+    private static final String SALES_SQL = """
+            SELECT oi.product_id, p.category_id, oi.quantity, oi.total_price
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            JOIN products p ON p.id = oi.product_id
+            WHERE o.status <> 'CANCELLED'
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product_best_sellers
+            (category_id, rank_no, product_id, quantity_sold, revenue, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topN;
+
+    public TopSellingProductsTasklet(DataSource dataSource, int topN) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.topN = topN;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        LongCountSumMap sales = new LongCountSumMap(16_384);
+        LongLongMap categories = new LongLongMap(16_384, NO_CATEGORY);
+        jdbcTemplate.query(SALES_SQL, rs -> {
+            long productId = rs.getLong("product_id");
+            long categoryId = rs.getLong("category_id");
+            if (rs.wasNull()) {
+                categoryId = NO_CATEGORY;
+            }
+            BigDecimal totalPrice = rs.getBigDecimal("total_price");
+            long cents = totalPrice != null
+                    ? totalPrice.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact()
+                    : 0L;
+            sales.add(productId, rs.getInt("quantity"), cents);
+            categories.put(productId, categoryId);
+            contribution.incrementReadCount();
+        });
+
+        Map<Long, PriorityQueue<ProductSales>> topByCategory = new HashMap<>();
+        sales.forEach((productId, quantity, revenueCents) -> {
+            long categoryId = categories.get(productId);
+            if (categoryId == NO_CATEGORY) {
+                return;
+            }
+            PriorityQueue<ProductSales> heap = topByCategory.computeIfAbsent(categoryId,
+                    id -> new PriorityQueue<>(topN + 1, ProductSales.RANKING));
+            ProductSales candidate = new ProductSales(categoryId, productId, quantity, revenueCents);
+            if (heap.size() < topN) {
+                heap.add(candidate);
+            } else if (ProductSales.RANKING.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        });
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        topByCategory.forEach((categoryId, heap) -> {
+            // 최소 힙을 비우면 낮은 순위부터 나오므로 뒤에서부터 순위를 매긴다
+            int rank = heap.size();
+            while (!heap.isEmpty()) {
+                ProductSales product = heap.poll();
+                rows.add(new Object[]{categoryId, rank--, product.productId(), product.quantity(),
+                        BigDecimal.valueOf(product.revenueCents(), 2), updatedAt});
+            }
+        });
+
+        jdbcTemplate.update("DELETE FROM product_best_sellers");
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        contribution.incrementWriteCount(rows.size());
+        log.info("Published top {} products for {} categories ({} products sold)",
+                topN, topByCategory.size(), sales.size());
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.batch.chunk;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+// 청크(트랜잭션) 소요 시간이 목표에 가까워지도록 커밋 간격을 실행 중에 조정한다.
+// - 꽉 찬 청크가 목표보다 빨리 끝나면 늘리고 (최대 1.5배), 느리면 비율만큼 줄인다 (최소 절반)
+// - 락 대기 / 쿼리 타임아웃으로 롤백되면 즉시 절반으로 줄인다 (검증 실패 등 다른 롤백은 크기와 무관하므로 유지)
+// - 크기는 [minSize, maxSize] 범위로 제한하고, 마지막 크기는 ExecutionContext 에 저장해 재시작 시 이어서 사용한다
+// 스텝 스코프 빈으로 생성해 파티션 worker 마다 독립적으로 조정한다
+@Slf4j
+public class AdaptiveChunkCompletionPolicy extends SimpleCompletionPolicy
+        implements ChunkListener, StepExecutionListener {
+
+    public static final String CHUNK_SIZE_KEY = "adaptiveChunk.size";
+
+    private static final double TOLERANCE = 0.2;
+    private static final double MAX_GROWTH = 1.5;
+    private static final double MAX_SHRINK = 0.5;
+
+    private final AdaptiveChunkProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final long targetNanos;
+
+    private StepExecution stepExecution;
+    private DistributionSummary sizeSummary;
+    private long chunkStart;
+    private int itemsInChunk;
+    private int minChosen = Integer.MAX_VALUE;
+    private int maxChosen;
+    private long adjustments;
+
+    public AdaptiveChunkCompletionPolicy(int initialSize, AdaptiveChunkProperties properties,
+                                         MeterRegistry meterRegistry) {
+        super(initialSize);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.targetNanos = properties.getTargetDuration().toNanos();
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        this.stepExecution = stepExecution;
+        if (stepExecution.getExecutionContext().containsKey(CHUNK_SIZE_KEY)) {
+            setChunkSize(clamp(stepExecution.getExecutionContext().getInt(CHUNK_SIZE_KEY)));
+        }
+        String stepName = stepExecution.getStepName();
+        int separator = stepName.indexOf(':');
+        this.sizeSummary = DistributionSummary.builder("batch.chunk.size")
+                .description("Commit interval chosen by the adaptive completion policy")
+                .tags("job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                        "step", separator > 0 ? stepName.substring(0, separator) : stepName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        log.info("Chunk size for {}: last={}, min={}, max={}, adjustments={} (target {} ms)",
+                stepExecution.getStepName(), getChunkSize(),
+                minChosen == Integer.MAX_VALUE ? getChunkSize() : minChosen,
+                Math.max(maxChosen, getChunkSize()), adjustments, properties.getTargetDuration().toMillis());
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        super.update(context);
+        itemsInChunk++;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        chunkStart = System.nanoTime();
+        itemsInChunk = 0;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        int size = getChunkSize();
+        record(size);
+        // 데이터 끝에서 덜 찬 청크는 소요 시간이 크기를 대표하지 않으므로 조정하지 않는다
+        if (!properties.isAdaptive() || itemsInChunk < size) {
+            return;
+        }
+        double ratio = (double) targetNanos / Math.max(1L, System.nanoTime() - chunkStart);
+        if (Math.abs(ratio - 1.0) <= TOLERANCE) {
+            return;
+        }
+        resize((int) Math.round(size * Math.max(MAX_SHRINK, Math.min(MAX_GROWTH, ratio))));
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        if (!properties.isAdaptive()) {
+            return;
+        }
+        Object error = context.getAttribute(ChunkListener.ROLLBACK_EXCEPTION_KEY);
+        if (error instanceof PessimisticLockingFailureException || error instanceof QueryTimeoutException) {
+            log.warn("Lock wait / timeout in {}, shrinking chunk size from {}",
+                    stepExecution != null ? stepExecution.getStepName() : "step", getChunkSize());
+            resize((int) (getChunkSize() * MAX_SHRINK));
+        }
+    }
+
+    private void resize(int requested) {
+        int size = clamp(requested);
+        if (size == getChunkSize()) {
+            return;
+        }
+        log.debug("Chunk size {} -> {}", getChunkSize(), size);
+        setChunkSize(size);
+        adjustments++;
+        if (stepExecution != null) {
+            stepExecution.getExecutionContext().putInt(CHUNK_SIZE_KEY, size);
+        }
+    }
+
+    private void record(int size) {
+        minChosen = Math.min(minChosen, size);
+        maxChosen = Math.max(maxChosen, size);
+        if (sizeSummary != null) {
+            sizeSummary.record(size);
+        }
+    }
+
+    private int clamp(int size) {
+        return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), size));
+    }
+}
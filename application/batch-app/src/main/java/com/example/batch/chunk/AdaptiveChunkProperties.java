@@ -0,0 +1,20 @@
+package com.example.batch.chunk;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.batch.chunk")
+public class AdaptiveChunkProperties {
+
+    private boolean adaptive = true;
+    private Duration targetDuration = Duration.ofMillis(500);
+    private int minSize = 10;
+    private int maxSize = 2000;
+}
@@ -0,0 +1,139 @@
+package com.example.batch.cohort;
+
+import com.example.batch.aggregate.LongLongMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// 가입 주(월요일 시작)별 코호트의 주차별 재구매율을 user_cohort_retention 에 게시한다.
+// - users 를 한 번 읽어 사용자마다 (코호트, 코호트 안 순번) 을 정한다
+// - orders 를 한 번 읽어 코호트의 주차별 BitSet 에 주문한 사용자 순번 비트를 켠다
+// - 주차별 활성 사용자 수는 cardinality, 연속 주 재방문은 두 비트맵의 교집합(and)으로 구한다
+@Slf4j
+public class CohortRetentionTasklet implements Tasklet {
+
+    private static final long NOT_IN_COHORT = -1L;
+
+    private static final String USERS_SQL =
+            "SELECT id, created_at FROM users WHERE created_at >= ? ORDER BY id";
+
+    private static final String ORDERS_SQL =
+            "SELECT user_id, order_date FROM orders WHERE order_date >= ? AND status <> 'CANCELLED'";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO user_cohort_retention
+            (cohort_week, week_offset, cohort_size, active_users, returning_users, retention_rate, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int lookbackWeeks;
+    private final int maxWeeks;
+
+    public CohortRetentionTasklet(DataSource dataSource, int lookbackWeeks, int maxWeeks) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.lookbackWeeks = lookbackWeeks;
+        this.maxWeeks = maxWeeks;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        LocalDate firstWeek = weekStart(LocalDate.now()).minusWeeks(lookbackWeeks - 1L);
+        Timestamp since = Timestamp.valueOf(firstWeek.atStartOfDay());
+
+        // 코호트 번호 = firstWeek 로부터의 주 수. 사용자 -> (코호트 << 32 | 코호트 안 순번)
+        int[] cohortSizes = new int[lookbackWeeks];
+        LongLongMap members = new LongLongMap(16_384, NOT_IN_COHORT);
+        jdbcTemplate.query(USERS_SQL, rs -> {
+            int cohort = weeksBetween(firstWeek, rs.getTimestamp("created_at").toLocalDateTime().toLocalDate());
+            if (cohort >= 0 && cohort < lookbackWeeks) {
+                members.put(rs.getLong("id"), ((long) cohort << 32) | cohortSizes[cohort]++);
+            }
+            contribution.incrementReadCount();
+        }, since);
+
+        // activity[cohort][weekOffset]: 그 주에 주문한 코호트 사용자 비트맵
+        BitSet[][] activity = new BitSet[lookbackWeeks][];
+        jdbcTemplate.query(ORDERS_SQL, rs -> {
+            long member = members.get(rs.getLong("user_id"));
+            if (member == NOT_IN_COHORT) {
+                return;
+            }
+            int cohort = (int) (member >>> 32);
+            int weekOffset = weeksBetween(firstWeek.plusWeeks(cohort),
+                    rs.getTimestamp("order_date").toLocalDateTime().toLocalDate());
+            if (weekOffset >= 0 && weekOffset < maxWeeks) {
+                if (activity[cohort] == null) {
+                    activity[cohort] = new BitSet[maxWeeks];
+                }
+                if (activity[cohort][weekOffset] == null) {
+                    activity[cohort][weekOffset] = new BitSet(cohortSizes[cohort]);
+                }
+                activity[cohort][weekOffset].set((int) member);
+            }
+            contribution.incrementReadCount();
+        }, since);
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        int currentWeek = weeksBetween(firstWeek, LocalDate.now());
+        for (int cohort = 0; cohort < lookbackWeeks; cohort++) {
+            if (cohortSizes[cohort] == 0) {
+                continue;
+            }
+            // 아직 지나지 않은 주차는 만들지 않는다
+            int weeks = Math.min(maxWeeks, currentWeek - cohort + 1);
+            BitSet previous = null;
+            for (int weekOffset = 0; weekOffset < weeks; weekOffset++) {
+                BitSet active = activity[cohort] != null && activity[cohort][weekOffset] != null
+                        ? activity[cohort][weekOffset] : new BitSet();
+                int returning = 0;
+                if (previous != null) {
+                    BitSet both = (BitSet) active.clone();
+                    both.and(previous);
+                    returning = both.cardinality();
+                }
+                int activeUsers = active.cardinality();
+                rows.add(new Object[]{Date.valueOf(firstWeek.plusWeeks(cohort)), weekOffset, cohortSizes[cohort],
+                        activeUsers, returning,
+                        BigDecimal.valueOf(activeUsers).divide(BigDecimal.valueOf(cohortSizes[cohort]), 4,
+                                RoundingMode.HALF_UP),
+                        updatedAt});
+                previous = active;
+            }
+        }
+
+        jdbcTemplate.update("DELETE FROM user_cohort_retention");
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        contribution.incrementWriteCount(rows.size());
+        log.info("Published cohort retention for {} cohort users since {} ({} rows)",
+                members.size(), firstWeek, rows.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static int weeksBetween(LocalDate fromWeekStart, LocalDate date) {
+        return (int) ChronoUnit.WEEKS.between(fromWeekStart, weekStart(date));
+    }
+}
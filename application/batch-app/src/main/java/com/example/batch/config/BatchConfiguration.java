@@ -1,12 +1,16 @@
 package com.example.batch.config;
 
+import com.example.batch.launch.JobLauncherProperties;
+import com.example.batch.launch.PrioritizedJobExecutor;
+import com.example.batch.launch.PrioritizedJobLauncher;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
 import org.springframework.batch.core.launch.JobLauncher;
-import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
@@ -30,13 +34,20 @@ public class BatchConfiguration {
         return factory.getObject();
     }
 
+    // 실행 요청마다 스레드를 새로 만들지 않고, 전체/잡별 동시 실행 수를 제한하는 우선순위 대기열을 거친다
     @Bean
-    public JobLauncher jobLauncher(JobRepository jobRepository) throws Exception {
-        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
-        jobLauncher.setJobRepository(jobRepository);
-        jobLauncher.setTaskExecutor(new SimpleAsyncTaskExecutor());
-        jobLauncher.afterPropertiesSet();
-        return jobLauncher;
+    public PrioritizedJobExecutor jobLaunchExecutor(JobLauncherProperties properties,
+                                                    JobRepository jobRepository,
+                                                    MeterRegistry meterRegistry,
+                                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        SimpleAsyncTaskExecutor workers = new SimpleAsyncTaskExecutor("batch-job-");
+        workers.setVirtualThreads(virtualThreads);
+        return new PrioritizedJobExecutor(properties, workers, jobRepository, meterRegistry);
+    }
+
+    @Bean
+    public JobLauncher jobLauncher(JobRepository jobRepository, PrioritizedJobExecutor jobLaunchExecutor) {
+        return new PrioritizedJobLauncher(jobRepository, jobLaunchExecutor);
     }
 
     @Bean
@@ -1,30 +1,28 @@
 package com.example.batch.config;
 
+import com.example.batch.scheduler.BatchJobShardQuartzJob;
+import org.quartz.CronScheduleBuilder;
 import org.quartz.JobBuilder;
 import org.quartz.JobDetail;
-import org.quartz.SimpleScheduleBuilder;
 import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.quartz.SchedulerFactoryBean;
-
-import javax.sql.DataSource;
 
+// 배치 job 의 유일한 스케줄 경로.
+// 스케줄러는 spring.quartz 설정(JDBC job store, 클러스터 모드)으로 자동 구성되며, 트리거는 클러스터 전체에서 한 노드만 실행한다
 @Configuration
-@EnableScheduling
 public class QuartzConfiguration {
 
-    @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(DataSource dataSource) {
-        SchedulerFactoryBean factory = new SchedulerFactoryBean();
-        factory.setDataSource(dataSource);
-        factory.setApplicationContextSchedulerContextKey("applicationContext");
-        factory.setWaitForJobsToCompleteOnShutdown(true);
-        factory.setAutoStartup(true);
-        return factory;
-    }
+    @Value("${app.batch.schedule.user-statistics.cron:0 0 2 * * ?}")
+    private String userStatisticsCron;
+
+    @Value("${app.batch.schedule.order-report.cron:0 30 1 * * ?}")
+    private String orderReportCron;
+
+    @Value("${app.batch.schedule.metadata-retention.cron:0 0 4 * * ?}")
+    private String metadataRetentionCron;
 
     @Bean
     public JobDetail userStatisticsJobDetail() {
@@ -42,9 +40,8 @@ public class QuartzConfiguration {
                 .forJob(userStatisticsJobDetail())
                 .withIdentity("userStatisticsJobTrigger")
                 .withDescription("Trigger for user statistics job")
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInHours(24)
-                        .repeatForever())
+                .withSchedule(CronScheduleBuilder.cronSchedule(userStatisticsCron)
+                        .withMisfireHandlingInstructionFireAndProceed()) // 놓친 실행은 한 번만 보충
                 .build();
     }
 
@@ -64,9 +61,40 @@ public class QuartzConfiguration {
                 .forJob(orderReportJobDetail())
                 .withIdentity("orderReportJobTrigger")
                 .withDescription("Trigger for order report job")
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInHours(24)
-                        .repeatForever())
+                .withSchedule(CronScheduleBuilder.cronSchedule(orderReportCron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+
+    @Bean
+    public JobDetail batchMetadataRetentionJobDetail() {
+        return JobBuilder.newJob()
+                .ofType(com.example.batch.scheduler.BatchMetadataRetentionQuartzJob.class)
+                .withIdentity("batchMetadataRetentionJob")
+                .withDescription("Daily Spring Batch metadata cleanup job")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger batchMetadataRetentionJobTrigger() {
+        return TriggerBuilder.newTrigger()
+                .forJob(batchMetadataRetentionJobDetail())
+                .withIdentity("batchMetadataRetentionJobTrigger")
+                .withDescription("Trigger for batch metadata retention job")
+                .withSchedule(CronScheduleBuilder.cronSchedule(metadataRetentionCron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+
+    // shard 실행용 job. 트리거는 ShardedJobDispatcher 가 실행 회차마다 만든다
+    @Bean
+    public JobDetail batchJobShardJobDetail() {
+        return JobBuilder.newJob()
+                .ofType(BatchJobShardQuartzJob.class)
+                .withIdentity(BatchJobShardQuartzJob.KEY)
+                .withDescription("Runs one shard of a sharded batch job")
+                .storeDurably()
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,36 @@
 package com.example.batch.controller;
 
+import com.example.batch.dashboard.BatchDashboardService;
+import com.example.batch.dashboard.JobExecutionSummary;
+import com.example.batch.export.ExportFormat;
+import com.example.batch.export.ExportReport;
+import com.example.batch.export.ReportExportTasklet;
+import com.example.batch.export.ReportExporter;
+import com.example.batch.export.ZeroCopyFileSender;
+import com.example.batch.incremental.WatermarkJobListener;
+import com.example.batch.sketch.OrderValueSketchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -24,23 +44,25 @@ public class BatchController {
     private final JobExplorer jobExplorer;
     private final Job userStatisticsJob;
     private final Job orderReportJob;
+    private final Job reportExportJob;
+    private final Job topSellingProductsJob;
+    private final Job coPurchaseJob;
+    private final Job cohortRetentionJob;
+    private final ReportExporter reportExporter;
+    private final BatchDashboardService dashboardService;
+    private final OrderValueSketchService sketchService;
 
     @PostMapping("/jobs/user-statistics")
-    public ResponseEntity<?> runUserStatisticsJob() {
+    public ResponseEntity<?> runUserStatisticsJob(@RequestParam(defaultValue = "false") boolean fullRebuild) {
         try {
             JobParameters jobParameters = new JobParametersBuilder()
                     .addLong("timestamp", System.currentTimeMillis())
+                    .addString(WatermarkJobListener.FULL_REBUILD_PARAM, String.valueOf(fullRebuild))
                     .toJobParameters();
                     
             JobExecution jobExecution = jobLauncher.run(userStatisticsJob, jobParameters);
             
-            return ResponseEntity.ok(Map.of(
-                "jobId", jobExecution.getId(),
-                "jobName", "userStatisticsJob",
-                "status", jobExecution.getStatus().name(),
-                "startTime", jobExecution.getStartTime(),
-                "message", "User statistics job started successfully"
-            ));
+            return launched(jobExecution, "userStatisticsJob", "User statistics job started successfully");
         } catch (Exception e) {
             log.error("Failed to start user statistics job", e);
             return ResponseEntity.internalServerError()
@@ -49,21 +71,16 @@ public class BatchController {
     }
 
     @PostMapping("/jobs/order-report")
-    public ResponseEntity<?> runOrderReportJob() {
+    public ResponseEntity<?> runOrderReportJob(@RequestParam(defaultValue = "false") boolean fullRebuild) {
         try {
             JobParameters jobParameters = new JobParametersBuilder()
                     .addLong("timestamp", System.currentTimeMillis())
+                    .addString(WatermarkJobListener.FULL_REBUILD_PARAM, String.valueOf(fullRebuild))
                     .toJobParameters();
                     
             JobExecution jobExecution = jobLauncher.run(orderReportJob, jobParameters);
             
-            return ResponseEntity.ok(Map.of(
-                "jobId", jobExecution.getId(),
-                "jobName", "orderReportJob",
-                "status", jobExecution.getStatus().name(),
-                "startTime", jobExecution.getStartTime(),
-                "message", "Order report job started successfully"
-            ));
+            return launched(jobExecution, "orderReportJob", "Order report job started successfully");
         } catch (Exception e) {
             log.error("Failed to start order report job", e);
             return ResponseEntity.internalServerError()
@@ -71,29 +88,66 @@ public class BatchController {
         }
     }
 
+    @PostMapping("/jobs/top-selling-products")
+    public ResponseEntity<?> runTopSellingProductsJob() {
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+
+            JobExecution jobExecution = jobLauncher.run(topSellingProductsJob, jobParameters);
+
+            return launched(jobExecution, "topSellingProductsJob", "Top selling products job started successfully");
+        } catch (Exception e) {
+            log.error("Failed to start top selling products job", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/jobs/co-purchase")
+    public ResponseEntity<?> runCoPurchaseJob() {
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+
+            JobExecution jobExecution = jobLauncher.run(coPurchaseJob, jobParameters);
+
+            return launched(jobExecution, "coPurchaseJob", "Co-purchase job started successfully");
+        } catch (Exception e) {
+            log.error("Failed to start co-purchase job", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/jobs/cohort-retention")
+    public ResponseEntity<?> runCohortRetentionJob() {
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+
+            JobExecution jobExecution = jobLauncher.run(cohortRetentionJob, jobParameters);
+
+            return launched(jobExecution, "cohortRetentionJob", "Cohort retention job started successfully");
+        } catch (Exception e) {
+            log.error("Failed to start cohort retention job", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/jobs/{jobName}/status")
     public ResponseEntity<?> getJobStatus(@PathVariable String jobName) {
         try {
-            var jobInstances = jobExplorer.getJobInstances(jobName, 0, 10);
+            List<JobExecutionSummary> recentExecutions = dashboardService.recentExecutions(jobName, 5);
             
-            if (jobInstances.isEmpty()) {
+            if (recentExecutions.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
-            var recentExecutions = jobInstances.stream()
-                    .flatMap(instance -> jobExplorer.getJobExecutions(instance).stream())
-                    .limit(5)
-                    .map(execution -> Map.of(
-                        "executionId", execution.getId(),
-                        "status", execution.getStatus().name(),
-                        "startTime", execution.getStartTime(),
-                        "endTime", execution.getEndTime(),
-                        "duration", execution.getEndTime() != null ? 
-                            java.time.Duration.between(execution.getStartTime(), 
-                                                     execution.getEndTime()).getSeconds() + "s" : "Running"
-                    ))
-                    .collect(Collectors.toList());
-            
             return ResponseEntity.ok(Map.of(
                 "jobName", jobName,
                 "recentExecutions", recentExecutions
@@ -105,6 +159,56 @@ public class BatchController {
         }
     }
 
+    // 폴링용 현황: job 별 최근 실행(스텝 합계 포함)과 실행 중인 스텝의 진행률 / 처리량 / 예상 남은 시간
+    @GetMapping("/dashboard")
+    public ResponseEntity<?> getDashboard() {
+        try {
+            return ResponseEntity.ok(dashboardService.dashboard());
+        } catch (Exception e) {
+            log.error("Failed to build batch dashboard", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 기간 [from, to] 의 일자 스케치를 병합한 주문 금액 p50/p95/p99 와 구매자 수 추정치. categoryId 0 은 전체 주문
+    @GetMapping("/sketches/order-value")
+    public ResponseEntity<?> getOrderValueDistribution(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") long categoryId) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end;
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must not be after to"));
+        }
+        try {
+            return ResponseEntity.ok(sketchService.distribution(start, end, categoryId));
+        } catch (Exception e) {
+            log.error("Failed to read order value sketches", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/sketches/order-value/categories")
+    public ResponseEntity<?> getOrderValueDistributionsByCategory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end;
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must not be after to"));
+        }
+        try {
+            return ResponseEntity.ok(sketchService.distributionsByCategory(start, end));
+        } catch (Exception e) {
+            log.error("Failed to read order value sketches", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/jobs")
     public ResponseEntity<?> getAllJobNames() {
         try {
@@ -119,4 +223,70 @@ public class BatchController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/exports")
+    public ResponseEntity<?> runReportExportJob(@RequestParam ExportReport report,
+                                                @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        try {
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .addString(ReportExportTasklet.REPORT_PARAM, report.name())
+                    .addString(ReportExportTasklet.FORMAT_PARAM, format.name())
+                    .toJobParameters();
+
+            JobExecution jobExecution = jobLauncher.run(reportExportJob, jobParameters);
+
+            return launched(jobExecution, "reportExportJob", "Report export job started successfully");
+        } catch (Exception e) {
+            log.error("Failed to start report export job", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/exports")
+    public ResponseEntity<?> getExports() {
+        try (var files = reportExporter.list()) {
+            var exports = files
+                    .map(file -> Map.of(
+                        "fileName", file.getFileName().toString(),
+                        "bytes", file.toFile().length()
+                    ))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(Map.of("exports", exports));
+        } catch (IOException e) {
+            log.error("Failed to list exports", e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // 완성된 내보내기 파일을 zero-copy 로 전송한다
+    @GetMapping("/exports/{fileName}")
+    public void downloadExport(@PathVariable String fileName,
+                               HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Path file = reportExporter.resolve(fileName);
+        if (file == null || !Files.isReadable(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ZeroCopyFileSender.send(request, response, file, ExportFormat.fromFileName(fileName).getContentType());
+    }
+
+    // 대기열이 가득 찼거나 같은 job 이 이미 대기 중이면 launcher 가 실행을 곧바로 FAILED 로 기록한다
+    private ResponseEntity<?> launched(JobExecution jobExecution, String jobName, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("jobId", jobExecution.getId());
+        body.put("jobName", jobName);
+        body.put("status", jobExecution.getStatus().name());
+        body.put("startTime", jobExecution.getStartTime());
+        if (jobExecution.getStatus() == BatchStatus.FAILED) {
+            body.put("message", jobExecution.getExitStatus().getExitDescription());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(body);
+        }
+        // STARTING 이면 대기열에서 실행 순서를 기다리는 중
+        body.put("message", message);
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.batch.copurchase;
+
+import java.util.Comparator;
+
+// 상품 productId 와 함께 구매된 상품 relatedProductId, 같은 주문에 함께 담긴 횟수 count
+public record CoPurchase(long productId, long relatedProductId, long count) {
+
+    // 함께 구매 횟수 -> 상품 id(작을수록 우선) 순
+    public static final Comparator<CoPurchase> RANKING = Comparator
+            .comparingLong(CoPurchase::count)
+            .thenComparing(Comparator.comparingLong(CoPurchase::relatedProductId).reversed());
+}
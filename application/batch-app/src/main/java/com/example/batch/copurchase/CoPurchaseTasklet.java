@@ -0,0 +1,179 @@
+package com.example.batch.copurchase;
+
+import com.example.batch.aggregate.LongCountSumMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// 주문별 상품 목록에서 함께 구매된 상품 쌍을 세어 상품마다 상위 K 개 이웃만 product_co_purchases 에 게시한다.
+// - order_id 순으로 한 번 스트리밍하며 주문 하나의 상품 id 만 메모리에 둔다
+// - 쌍 (작은 id, 큰 id) 을 long 하나로 묶어 LongCountSumMap 에 센다 (희소 행렬, 박싱 없음)
+// - 센 쌍이 maxTrackedPairs 를 넘으면 드문 쌍(건수가 기준 미만)을 지우고 기준을 1 씩 올린다 (lossy counting).
+//   지워진 뒤 다시 나온 쌍은 최대 (기준 - 1) 만큼 적게 세어지며, 자주 함께 사는 상위 이웃에는 영향이 거의 없다
+// - min-support 미만 쌍은 버리고, 상품마다 크기 K 의 최소 힙으로 이웃을 자른다
+@Slf4j
+public class CoPurchaseTasklet implements Tasklet {
+
+    private static final String ORDER_ITEMS_SQL = """
+            SELECT oi.order_id, oi.product_id
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            WHERE o.status <> 'CANCELLED'
+            ORDER BY oi.order_id
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO product_co_purchases (product_id, rank_no, related_product_id, co_count, updated_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final long MAX_PACKED_ID = 0xFFFF_FFFFL;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topK;
+    private final int minSupport;
+    private final int maxItemsPerOrder;
+    private final int maxTrackedPairs;
+
+    public CoPurchaseTasklet(DataSource dataSource, int topK, int minSupport, int maxItemsPerOrder,
+                             int maxTrackedPairs) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.topK = topK;
+        this.minSupport = minSupport;
+        this.maxItemsPerOrder = maxItemsPerOrder;
+        this.maxTrackedPairs = maxTrackedPairs;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        LongCountSumMap pairs = new LongCountSumMap(65_536);
+        OrderBasket basket = new OrderBasket(maxItemsPerOrder);
+        PairPruner pruner = new PairPruner();
+        jdbcTemplate.query(ORDER_ITEMS_SQL, rs -> {
+            long orderId = rs.getLong("order_id");
+            if (orderId != basket.orderId) {
+                basket.countPairs(pairs);
+                pruner.pruneIfFull(pairs);
+                basket.reset(orderId);
+            }
+            basket.add(rs.getLong("product_id"));
+            contribution.incrementReadCount();
+        });
+        basket.countPairs(pairs);
+        if (pruner.floor > 0) {
+            log.info("Pruned {} rare co-purchase pairs (count floor {}) to stay under {} tracked pairs",
+                    pruner.pruned, pruner.floor, maxTrackedPairs);
+        }
+
+        Map<Long, PriorityQueue<CoPurchase>> neighbours = new HashMap<>();
+        pairs.forEach((pair, count, unused) -> {
+            if (count < minSupport) {
+                return;
+            }
+            long first = pair >>> 32;
+            long second = pair & MAX_PACKED_ID;
+            offer(neighbours, new CoPurchase(first, second, count));
+            offer(neighbours, new CoPurchase(second, first, count));
+        });
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        neighbours.forEach((productId, heap) -> {
+            int rank = heap.size();
+            while (!heap.isEmpty()) {
+                CoPurchase neighbour = heap.poll();
+                rows.add(new Object[]{productId, rank--, neighbour.relatedProductId(), neighbour.count(), updatedAt});
+            }
+        });
+
+        jdbcTemplate.update("DELETE FROM product_co_purchases");
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        contribution.incrementWriteCount(rows.size());
+        log.info("Published co-purchase neighbours for {} products ({} pairs counted, {} rows)",
+                neighbours.size(), pairs.size(), rows.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    private void offer(Map<Long, PriorityQueue<CoPurchase>> neighbours, CoPurchase candidate) {
+        PriorityQueue<CoPurchase> heap = neighbours.computeIfAbsent(candidate.productId(),
+                id -> new PriorityQueue<>(topK + 1, CoPurchase.RANKING));
+        if (heap.size() < topK) {
+            heap.add(candidate);
+        } else if (CoPurchase.RANKING.compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    // 추적 중인 쌍이 maxTrackedPairs 를 넘으면 절반 아래로 줄 때까지 건수 기준을 올려 가며 드문 쌍을 지운다
+    private final class PairPruner {
+
+        private long floor;
+        private long pruned;
+
+        private void pruneIfFull(LongCountSumMap pairs) {
+            if (pairs.size() <= maxTrackedPairs) {
+                return;
+            }
+            while (pairs.size() > maxTrackedPairs / 2) {
+                floor++;
+                pruned += pairs.removeCountsBelow(floor + 1);
+            }
+        }
+    }
+
+    // 주문 하나의 (중복 제거된) 상품 id. 쌍 수가 상품 수의 제곱으로 늘어나므로 maxItems 개까지만 본다
+    private static final class OrderBasket {
+
+        private final long[] productIds;
+        private long orderId = Long.MIN_VALUE;
+        private int size;
+
+        private OrderBasket(int maxItems) {
+            this.productIds = new long[maxItems];
+        }
+
+        private void reset(long orderId) {
+            this.orderId = orderId;
+            this.size = 0;
+        }
+
+        private void add(long productId) {
+            if (productId <= 0 || productId > MAX_PACKED_ID) {
+                throw new IllegalStateException("Product id out of packable range: " + productId);
+            }
+            if (size == productIds.length) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (productIds[i] == productId) {
+                    return;
+                }
+            }
+            productIds[size++] = productId;
+        }
+
+        private void countPairs(LongCountSumMap pairs) {
+            Arrays.sort(productIds, 0, size);
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    pairs.add((productIds[i] << 32) | productIds[j], 1, 0);
+                }
+            }
+        }
+    }
+}
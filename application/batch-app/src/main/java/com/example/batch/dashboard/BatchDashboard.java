@@ -0,0 +1,13 @@
+package com.example.batch.dashboard;
+
+import com.example.batch.metrics.StepProgress;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record BatchDashboard(
+        LocalDateTime generatedAt,
+        Map<String, List<JobExecutionSummary>> recentExecutions,
+        List<StepProgress> runningSteps) {
+}
@@ -0,0 +1,109 @@
+package com.example.batch.dashboard;
+
+import com.example.batch.metrics.BatchMetricsListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 배치 현황 조회. 최근 실행 목록은 job 마다 인덱스로 최근 N 건만 읽은 뒤 그 실행들의 스텝 합계를 한 번에 읽고,
+// 실행 중인 스텝 진행률은 BatchMetricsListener 가 메모리에 들고 있는 StepExecution 에서 바로 계산한다
+@Service
+public class BatchDashboardService {
+
+    private static final String JOB_NAMES_SQL = "SELECT DISTINCT JOB_NAME FROM BATCH_JOB_INSTANCE ORDER BY JOB_NAME";
+
+    // job 하나의 최근 N 건. IDX_JOB_INST_NAME_ID / IDX_JOB_EXEC_INST_ID 로 그 job 의 실행만 읽고 N 건에서 멈춘다
+    private static final String RECENT_EXECUTIONS_SQL = """
+            SELECT i.JOB_NAME, e.JOB_EXECUTION_ID, e.STATUS, e.EXIT_CODE, e.START_TIME, e.END_TIME
+            FROM BATCH_JOB_EXECUTION e
+            JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID
+            WHERE i.JOB_NAME = ?
+            ORDER BY e.JOB_EXECUTION_ID DESC
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    // 고른 실행들의 스텝 합계 (IDX_STEP_EXEC_JOB_EXEC_ID)
+    private static final String STEP_TOTALS_SQL = """
+            SELECT JOB_EXECUTION_ID, COUNT(*) AS STEP_COUNT, SUM(READ_COUNT) AS READ_COUNT,
+                   SUM(WRITE_COUNT) AS WRITE_COUNT,
+                   SUM(READ_SKIP_COUNT + PROCESS_SKIP_COUNT + WRITE_SKIP_COUNT) AS SKIP_COUNT
+            FROM BATCH_STEP_EXECUTION
+            WHERE JOB_EXECUTION_ID IN (%s)
+            GROUP BY JOB_EXECUTION_ID
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchMetricsListener batchMetrics;
+    private final int executionsPerJob;
+
+    public BatchDashboardService(DataSource dataSource, BatchMetricsListener batchMetrics,
+                                 @Value("${app.batch.dashboard.executions-per-job:5}") int executionsPerJob) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchMetrics = batchMetrics;
+        this.executionsPerJob = executionsPerJob;
+    }
+
+    public BatchDashboard dashboard() {
+        List<ExecutionRow> rows = new ArrayList<>();
+        for (String jobName : jdbcTemplate.queryForList(JOB_NAMES_SQL, String.class)) {
+            rows.addAll(recentRows(jobName, executionsPerJob));
+        }
+        Map<String, List<JobExecutionSummary>> byJob = new LinkedHashMap<>();
+        for (JobExecutionSummary execution : withStepTotals(rows)) {
+            byJob.computeIfAbsent(execution.jobName(), name -> new ArrayList<>()).add(execution);
+        }
+        return new BatchDashboard(LocalDateTime.now(), byJob, batchMetrics.getRunningSteps());
+    }
+
+    public List<JobExecutionSummary> recentExecutions(String jobName, int limit) {
+        return withStepTotals(recentRows(jobName, limit));
+    }
+
+    private List<ExecutionRow> recentRows(String jobName, int limit) {
+        return jdbcTemplate.query(RECENT_EXECUTIONS_SQL, (rs, rowNum) -> new ExecutionRow(
+                rs.getString("JOB_NAME"),
+                rs.getLong("JOB_EXECUTION_ID"),
+                rs.getString("STATUS"),
+                rs.getString("EXIT_CODE"),
+                toLocalDateTime(rs.getTimestamp("START_TIME")),
+                toLocalDateTime(rs.getTimestamp("END_TIME"))), jobName, limit);
+    }
+
+    private List<JobExecutionSummary> withStepTotals(List<ExecutionRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, long[]> totals = new HashMap<>(rows.size() * 2);
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        jdbcTemplate.query(STEP_TOTALS_SQL.formatted(placeholders), rs -> {
+            totals.put(rs.getLong("JOB_EXECUTION_ID"), new long[]{rs.getLong("STEP_COUNT"),
+                    rs.getLong("READ_COUNT"), rs.getLong("WRITE_COUNT"), rs.getLong("SKIP_COUNT")});
+        }, rows.stream().map(ExecutionRow::executionId).toArray());
+
+        List<JobExecutionSummary> summaries = new ArrayList<>(rows.size());
+        for (ExecutionRow row : rows) {
+            long[] total = totals.getOrDefault(row.executionId(), new long[4]);
+            summaries.add(new JobExecutionSummary(row.jobName(), row.executionId(), row.status(), row.exitCode(),
+                    row.startTime(), row.endTime(), (int) total[0], total[1], total[2], total[3]));
+        }
+        return summaries;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record ExecutionRow(String jobName, Long executionId, String status, String exitCode,
+                                LocalDateTime startTime, LocalDateTime endTime) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.batch.dashboard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// job 실행 한 건과 그 실행의 스텝 합계
+public record JobExecutionSummary(
+        String jobName,
+        Long executionId,
+        String status,
+        String exitCode,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        int stepCount,
+        long readCount,
+        long writeCount,
+        long skipCount) {
+
+    // 실행 중이면 null
+    public Long getDurationSeconds() {
+        return startTime != null && endTime != null ? Duration.between(startTime, endTime).getSeconds() : null;
+    }
+
+    // 기존 상태 조회 응답과 같은 표기 ("42s" / "Running")
+    public String getDuration() {
+        Long seconds = getDurationSeconds();
+        return seconds != null ? seconds + "s" : "Running";
+    }
+
+    public Double getItemsPerSecond() {
+        Long seconds = getDurationSeconds();
+        return seconds != null && seconds > 0 ? (double) writeCount / seconds : null;
+    }
+}
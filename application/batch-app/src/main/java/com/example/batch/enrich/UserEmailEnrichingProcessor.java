@@ -0,0 +1,91 @@
+package com.example.batch.enrich;
+
+import com.example.batch.model.OrderReport;
+import com.example.order.domain.Order;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 주문을 리포트로 변환하고 사용자 이메일을 채운다. AsyncItemProcessor 의 delegate 로 제한된 풀에서 병렬 실행된다.
+// 주문마다 조회하지 않고, 읽기 단계에서 모은 청크의 user_id 를 처음 처리하는 스레드가 IN (...) 쿼리로 한 번에 읽는다.
+// 청크는 모두 읽힌 뒤에 처리되고 AsyncItemWriter 가 결과를 기다린 뒤에 다음 청크를 읽으므로, 캐시는 청크마다 비운다
+@Slf4j
+public class UserEmailEnrichingProcessor implements ItemProcessor<Order, OrderReport>, ItemReadListener<Order>,
+        ChunkListener {
+
+    // IN 목록이 너무 길어지지 않도록 이 크기 단위로 나눠 조회한다
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemProcessor<Order, OrderReport> delegate;
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private final Map<Long, String> emails = new HashMap<>();
+
+    public UserEmailEnrichingProcessor(DataSource dataSource, ItemProcessor<Order, OrderReport> delegate) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public OrderReport process(Order order) throws Exception {
+        OrderReport report = delegate.process(order);
+        if (report != null) {
+            report.setUserEmail(emailOf(report.getUserId()));
+        }
+        return report;
+    }
+
+    @Override
+    public synchronized void beforeChunk(ChunkContext context) {
+        pending.clear();
+        emails.clear();
+    }
+
+    @Override
+    public synchronized void afterRead(Order order) {
+        if (order.getUserId() != null) {
+            pending.add(order.getUserId());
+        }
+    }
+
+    private synchronized String emailOf(Long userId) {
+        if (userId == null) {
+            return "";
+        }
+        if (!emails.containsKey(userId)) {
+            pending.add(userId);
+            loadPending();
+        }
+        return emails.getOrDefault(userId, "");
+    }
+
+    private void loadPending() {
+        List<Long> userIds = new ArrayList<>(pending);
+        pending.clear();
+        for (int from = 0; from < userIds.size(); from += MAX_IN_PARAMETERS) {
+            List<Long> batch = userIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, userIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query("SELECT id, email FROM users WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        emails.put(rs.getLong("id"), rs.getString("email"));
+                    }, batch.toArray());
+        }
+        // 없는 사용자도 다시 조회하지 않도록 빈 값으로 남긴다
+        for (Long userId : userIds) {
+            emails.putIfAbsent(userId, "");
+        }
+        log.debug("Resolved user emails for {} users", userIds.size());
+    }
+}
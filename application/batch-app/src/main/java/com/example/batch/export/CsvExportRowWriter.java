@@ -0,0 +1,38 @@
+package com.example.batch.export;
+
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class CsvExportRowWriter implements ExportRowWriter {
+
+    private final CSVWriter writer;
+
+    public CsvExportRowWriter(Path file) throws IOException {
+        this.writer = new CSVWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader(String[] columns) {
+        writer.writeNext(columns, false);
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        String[] line = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            line[i] = value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        }
+        writer.writeNext(line, false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.batch.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV("csv", "text/csv"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final String extension;
+    private final String contentType;
+
+    public static ExportFormat fromFileName(String fileName) {
+        for (ExportFormat format : values()) {
+            if (fileName.endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export file: " + fileName);
+    }
+}
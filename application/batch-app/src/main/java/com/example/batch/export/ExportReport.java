@@ -0,0 +1,27 @@
+package com.example.batch.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 내보낼 수 있는 리포트와 조회 쿼리. 컬럼명이 그대로 파일 헤더가 된다
+@Getter
+@RequiredArgsConstructor
+public enum ExportReport {
+
+    ORDER_REPORTS("order-reports", """
+            SELECT order_id, user_id, user_email, order_status, total_amount, total_items,
+                   order_date, report_date, report_period
+            FROM order_reports
+            ORDER BY order_id
+            """),
+
+    USER_STATISTICS("user-statistics", """
+            SELECT user_id, user_name, user_email, user_role, registration_date, last_active_date,
+                   is_active, total_orders, total_spent, statistics_date
+            FROM user_statistics
+            ORDER BY user_id
+            """);
+
+    private final String filePrefix;
+    private final String sql;
+}
@@ -0,0 +1,14 @@
+package com.example.batch.export;
+
+import java.io.IOException;
+
+// 행 단위로 파일에 바로 기록한다 (전체 결과를 메모리에 모으지 않는다)
+public interface ExportRowWriter extends AutoCloseable {
+
+    void writeHeader(String[] columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
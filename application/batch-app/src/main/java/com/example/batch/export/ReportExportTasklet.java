@@ -0,0 +1,37 @@
+package com.example.batch.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+// job 파라미터 report / format 에 해당하는 파일을 만들고, 결과 파일명을 job ExecutionContext 에 남긴다
+@RequiredArgsConstructor
+public class ReportExportTasklet implements Tasklet {
+
+    public static final String REPORT_PARAM = "report";
+    public static final String FORMAT_PARAM = "format";
+    public static final String FILE_NAME_KEY = "export.fileName";
+    public static final String ROWS_KEY = "export.rows";
+
+    private final ReportExporter exporter;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        JobParameters parameters = chunkContext.getStepContext().getStepExecution().getJobParameters();
+        ExportReport report = ExportReport.valueOf(parameters.getString(REPORT_PARAM));
+        ExportFormat format = ExportFormat.valueOf(parameters.getString(FORMAT_PARAM));
+
+        ReportExporter.ExportResult result = exporter.export(report, format);
+        contribution.incrementWriteCount(result.rows());
+
+        ExecutionContext jobContext = chunkContext.getStepContext().getStepExecution().getJobExecution()
+                .getExecutionContext();
+        jobContext.putString(FILE_NAME_KEY, result.fileName());
+        jobContext.putLong(ROWS_KEY, result.rows());
+        return RepeatStatus.FINISHED;
+    }
+}
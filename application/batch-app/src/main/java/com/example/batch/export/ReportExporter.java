@@ -0,0 +1,119 @@
+package com.example.batch.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// 리포트 테이블을 커서로 한 행씩 읽어 CSV / XLSX 파일에 바로 기록한다.
+// 작성 중에는 .part 파일에 쓰고, 완료 후 최종 이름으로 이동해 다운로드에 미완성 파일이 노출되지 않게 한다
+@Slf4j
+@Component
+public class ReportExporter {
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9._-]+");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path directory;
+    private final int xlsxWindowSize;
+
+    public ReportExporter(DataSource dataSource,
+                          @Value("${app.batch.export.directory:${java.io.tmpdir}/batch-exports}") String directory,
+                          @Value("${app.batch.export.fetch-size:1000}") int fetchSize,
+                          @Value("${app.batch.export.xlsx-window-size:100}") int xlsxWindowSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.xlsxWindowSize = xlsxWindowSize;
+    }
+
+    public ExportResult export(ExportReport report, ExportFormat format) throws IOException {
+        Files.createDirectories(directory);
+        String fileName = report.getFilePrefix() + "-" + LocalDateTime.now().format(TIMESTAMP) + "." + format.getExtension();
+        Path target = directory.resolve(fileName);
+        Path part = directory.resolve(fileName + ".part");
+
+        long rows;
+        try (ExportRowWriter writer = open(format, part)) {
+            rows = jdbcTemplate.query(report.getSql(), (ResultSetExtractor<Long>) rs -> {
+                try {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    writer.writeHeader(columns(metaData));
+                    long count = 0;
+                    while (rs.next()) {
+                        Object[] values = new Object[metaData.getColumnCount()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = rs.getObject(i + 1);
+                        }
+                        writer.writeRow(values);
+                        count++;
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(part);
+            throw e;
+        }
+
+        Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Exported {} rows of {} to {}", rows, report, target);
+        return new ExportResult(fileName, rows, Files.size(target));
+    }
+
+    // 다운로드 요청의 파일명을 검증해 내보내기 디렉터리 안의 완성된 파일만 돌려준다
+    public Path resolve(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches() || Arrays.stream(ExportFormat.values())
+                .noneMatch(format -> fileName.endsWith("." + format.getExtension()))) {
+            return null;
+        }
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    public Stream<Path> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Stream.empty();
+        }
+        return Files.list(directory).filter(file -> !file.getFileName().toString().endsWith(".part"));
+    }
+
+    private ExportRowWriter open(ExportFormat format, Path file) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportRowWriter(file);
+            case XLSX -> new XlsxExportRowWriter(file, xlsxWindowSize);
+        };
+    }
+
+    private String[] columns(ResultSetMetaData metaData) throws SQLException {
+        String[] columns = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+        }
+        return columns;
+    }
+
+    public record ExportResult(String fileName, long rows, long bytes) {
+    }
+}
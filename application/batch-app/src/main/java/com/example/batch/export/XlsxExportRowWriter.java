@@ -0,0 +1,96 @@
+package com.example.batch.export;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// SXSSF 스트리밍 워크북: 메모리에는 최근 windowSize 행만 두고 나머지는 압축 임시 파일로 내보낸다.
+// 시트 최대 행 수(1,048,576)를 넘으면 다음 시트로 이어서 기록한다
+public class XlsxExportRowWriter implements ExportRowWriter {
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final Path file;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle dateTimeStyle;
+    private String[] header;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+
+    public XlsxExportRowWriter(Path file, int windowSize) {
+        this.file = file;
+        this.workbook = new SXSSFWorkbook(windowSize);
+        this.workbook.setCompressTempFiles(true);
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+    }
+
+    @Override
+    public void writeHeader(String[] columns) {
+        this.header = columns;
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(Object[] values) {
+        if (rowIndex >= MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < values.length; i++) {
+            setCell(row.createCell(i), values[i]);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("data" + (workbook.getNumberOfSheets() + 1));
+        rowIndex = 0;
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < header.length; i++) {
+            row.createCell(i).setCellValue(header[i]);
+        }
+    }
+
+    private void setCell(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else if (value instanceof Timestamp timestamp) {
+            cell.setCellValue(timestamp.toLocalDateTime());
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateTimeStyle);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.batch.incremental;
+
+import com.example.batch.shard.JobShard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 테이블별 updated_at 워터마크를 job ExecutionContext 에 기록하고, COMPLETED 된 실행의 상한을 batch_watermarks 에 남긴다.
+// - to   : min(MAX(updated_at), 현재 - safety-lag). 늦게 커밋되는 트랜잭션이 이미 지나간 구간에 행을 남기지 않도록 여유를 둔다
+// - from : batch_watermarks 에 남은 마지막 COMPLETED 실행의 to. 없거나 fullRebuild=true 이면 비워 두어 전체 구간을 처리한다
+//          shard 수가 바뀌어 같은 (shard_count, shard_index) 행이 없으면 job 의 가장 이른 워터마크부터 다시 처리한다
+//          (행 단위 upsert 라 겹친 구간을 다시 처리해도 결과는 같다). 새 배치의 모든 shard 가 지나간 이전 배치 행은 지운다
+// 실패한 실행은 워터마크를 남기지 않으므로 변경분이 누락되지 않는다.
+// 재시작은 job ExecutionContext 를 이어받으므로 처음 실행이 정한 구간을 그대로 쓴다. 구간을 새로 잡으면 reader 가 이어서
+// 읽는 위치보다 앞선 행 중 (이전 to, 새 to] 에 바뀐 행을 읽지 못한 채 워터마크만 새 to 로 넘어간다
+@Slf4j
+public class WatermarkJobListener implements JobExecutionListener {
+
+    public static final String FULL_REBUILD_PARAM = "fullRebuild";
+
+    private static final String RANGE_FIXED_KEY = "watermark.rangeFixed";
+
+    private static final String SELECT_SQL = """
+            SELECT table_name, shard_count, shard_index, watermark FROM batch_watermarks
+            WHERE job_name = ?
+            """;
+
+    private static final String CURRENT_LAYOUT_SQL = """
+            SELECT COUNT(*), MIN(watermark) FROM batch_watermarks
+            WHERE job_name = ? AND table_name = ? AND shard_count = ?
+            """;
+
+    private static final String DELETE_STALE_LAYOUTS_SQL = """
+            DELETE FROM batch_watermarks
+            WHERE job_name = ? AND table_name = ? AND shard_count <> ? AND watermark <= ?
+            """;
+
+    private static final String UPDATE_SQL = """
+            UPDATE batch_watermarks SET watermark = ?, updated_at = ?
+            WHERE job_name = ? AND table_name = ? AND shard_count = ? AND shard_index = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO batch_watermarks (job_name, table_name, shard_count, shard_index, watermark, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration safetyLag;
+    private final List<String> tables;
+
+    public WatermarkJobListener(DataSource dataSource, Duration safetyLag, String... tables) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.safetyLag = safetyLag;
+        this.tables = List.of(tables);
+    }
+
+    public static String fromKey(String table) {
+        return "watermark." + table + ".from";
+    }
+
+    public static String toKey(String table) {
+        return "watermark." + table + ".to";
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        String jobName = jobExecution.getJobInstance().getJobName();
+        boolean fullRebuild = Boolean.parseBoolean(jobExecution.getJobParameters().getString(FULL_REBUILD_PARAM));
+        Map<String, LocalDateTime> previous = fullRebuild
+                ? Map.of() : committedWatermarks(jobName, JobShard.of(jobExecution.getJobParameters()));
+        ExecutionContext context = jobExecution.getExecutionContext();
+        if (context.containsKey(RANGE_FIXED_KEY)) {
+            for (String table : tables) {
+                log.info("{} restart keeps watermark for {}: ({} ~ {}]", jobName, table,
+                        context.containsKey(fromKey(table)) ? context.get(fromKey(table)) : "full",
+                        context.get(toKey(table)));
+            }
+            return;
+        }
+        LocalDateTime settled = LocalDateTime.now().minus(safetyLag);
+
+        for (String table : tables) {
+            LocalDateTime max = jdbcTemplate.queryForObject("SELECT MAX(updated_at) FROM " + table, LocalDateTime.class);
+            LocalDateTime to = max != null && max.isAfter(settled) ? settled : max;
+            LocalDateTime from = previous.get(table);
+            if (from != null && to != null && !to.isAfter(from)) {
+                // safety-lag 안쪽 변경만 있으면 이번 실행은 빈 구간을 처리하고 워터마크를 유지한다
+                to = from;
+            }
+            if (to != null) {
+                context.put(toKey(table), to);
+            }
+            if (from != null) {
+                context.put(fromKey(table), from);
+            }
+            log.info("{} watermark for {}: ({} ~ {}]", jobName, table, from != null ? from : "full", to);
+        }
+        context.put(RANGE_FIXED_KEY, true);
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+        String jobName = jobExecution.getJobInstance().getJobName();
+        JobShard shard = JobShard.of(jobExecution.getJobParameters());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (String table : tables) {
+            Object to = jobExecution.getExecutionContext().get(toKey(table));
+            if (to instanceof LocalDateTime watermark) {
+                Timestamp value = Timestamp.valueOf(watermark);
+                if (jdbcTemplate.update(UPDATE_SQL, value, now, jobName, table, shard.count(), shard.index()) == 0) {
+                    jdbcTemplate.update(INSERT_SQL, jobName, table, shard.count(), shard.index(), value, now);
+                }
+                deleteStaleLayouts(jobName, table, shard.count());
+            }
+        }
+    }
+
+    // 현재 배치의 shard 가 모두 기록됐으면 그 최솟값보다 뒤처진 다른 배치의 행은 더 이상 시작점이 될 일이 없다
+    private void deleteStaleLayouts(String jobName, String table, long shardCount) {
+        jdbcTemplate.query(CURRENT_LAYOUT_SQL, rs -> {
+            Timestamp min = rs.getTimestamp(2);
+            if (rs.getLong(1) == shardCount && min != null) {
+                jdbcTemplate.update(DELETE_STALE_LAYOUTS_SQL, jobName, table, shardCount, min);
+            }
+        }, jobName, table, shardCount);
+    }
+
+    // PK 앞부분(job_name) 조회 한 번. 실행 이력 테이블은 스캔하지 않는다
+    private Map<String, LocalDateTime> committedWatermarks(String jobName, JobShard shard) {
+        Map<String, LocalDateTime> exact = new HashMap<>();
+        Map<String, LocalDateTime> earliest = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            String table = rs.getString("table_name");
+            LocalDateTime watermark = rs.getTimestamp("watermark").toLocalDateTime();
+            earliest.merge(table, watermark, (a, b) -> a.isBefore(b) ? a : b);
+            if (rs.getLong("shard_count") == shard.count() && rs.getLong("shard_index") == shard.index()) {
+                exact.put(table, watermark);
+            }
+        }, jobName);
+        earliest.putAll(exact);
+        return earliest;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.batch.incremental;
+
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.LocalDateTime;
+
+// 한 테이블에 대한 이번 실행의 updated_at 처리 구간 (from, to]
+public record WatermarkRange(LocalDateTime from, LocalDateTime to) {
+
+    public static WatermarkRange of(ExecutionContext jobContext, String table) {
+        return new WatermarkRange(
+                (LocalDateTime) jobContext.get(WatermarkJobListener.fromKey(table)),
+                (LocalDateTime) jobContext.get(WatermarkJobListener.toKey(table)));
+    }
+
+    public boolean isIncremental() {
+        return from != null;
+    }
+
+    // to 가 없으면(빈 테이블) 아무 행도 선택하지 않는다
+    public String condition(String column) {
+        return to != null ? column + " > ? AND " + column + " <= ?" : "1 = 0";
+    }
+
+    public Object[] arguments() {
+        return to != null ? new Object[]{from, to} : new Object[0];
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.batch.job;
+
+import com.example.batch.metrics.BatchMetricsListener;
+import com.example.batch.retention.BatchMetadataRetentionTasklet;
+import com.example.batch.retention.BatchRetentionProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class BatchMetadataRetentionJobConfiguration {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final BatchRetentionProperties retentionProperties;
+    private final DataSource dataSource;
+
+    @Bean
+    public Job batchMetadataRetentionJob() {
+        return new JobBuilder("batchMetadataRetentionJob", jobRepository)
+                .start(batchMetadataRetentionStep())
+                .build();
+    }
+
+    @Bean
+    public Step batchMetadataRetentionStep() {
+        return batchMetrics.instrument(new StepBuilder("batchMetadataRetentionStep", jobRepository)
+                .tasklet(new BatchMetadataRetentionTasklet(dataSource, retentionProperties), transactionManager))
+                .build();
+    }
+}
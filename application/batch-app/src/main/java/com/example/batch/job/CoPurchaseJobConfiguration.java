@@ -0,0 +1,54 @@
+package com.example.batch.job;
+
+import com.example.batch.copurchase.CoPurchaseTasklet;
+import com.example.batch.metrics.BatchMetricsListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class CoPurchaseJobConfiguration {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final DataSource dataSource;
+
+    @Value("${app.batch.co-purchase.top-k:10}")
+    private int topK;
+
+    @Value("${app.batch.co-purchase.min-support:2}")
+    private int minSupport;
+
+    @Value("${app.batch.co-purchase.max-items-per-order:50}")
+    private int maxItemsPerOrder;
+
+    // 메모리에 세는 상품 쌍의 상한 (넘으면 드문 쌍부터 정리)
+    @Value("${app.batch.co-purchase.max-tracked-pairs:1000000}")
+    private int maxTrackedPairs;
+
+    @Bean
+    public Job coPurchaseJob() {
+        return new JobBuilder("coPurchaseJob", jobRepository)
+                .start(coPurchaseStep())
+                .build();
+    }
+
+    @Bean
+    public Step coPurchaseStep() {
+        return batchMetrics.instrument(new StepBuilder("coPurchaseStep", jobRepository)
+                .tasklet(new CoPurchaseTasklet(dataSource, topK, minSupport, maxItemsPerOrder,
+                        maxTrackedPairs), transactionManager))
+                .build();
+    }
+}
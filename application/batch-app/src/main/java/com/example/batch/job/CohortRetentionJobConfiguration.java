@@ -0,0 +1,46 @@
+package com.example.batch.job;
+
+import com.example.batch.cohort.CohortRetentionTasklet;
+import com.example.batch.metrics.BatchMetricsListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class CohortRetentionJobConfiguration {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final DataSource dataSource;
+
+    @Value("${app.batch.cohort.lookback-weeks:52}")
+    private int lookbackWeeks;
+
+    @Value("${app.batch.cohort.max-weeks:26}")
+    private int maxWeeks;
+
+    @Bean
+    public Job cohortRetentionJob() {
+        return new JobBuilder("cohortRetentionJob", jobRepository)
+                .start(cohortRetentionStep())
+                .build();
+    }
+
+    @Bean
+    public Step cohortRetentionStep() {
+        return batchMetrics.instrument(new StepBuilder("cohortRetentionStep", jobRepository)
+                .tasklet(new CohortRetentionTasklet(dataSource, lookbackWeeks, maxWeeks), transactionManager))
+                .build();
+    }
+}
@@ -1,36 +1,63 @@
 package com.example.batch.job;
 
+import com.example.batch.aggregate.OrderReportSummaryTasklet;
+import com.example.batch.aggregate.OrderSummaryAggregatingWriter;
+import com.example.batch.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.batch.chunk.AdaptiveChunkProperties;
+import com.example.batch.enrich.UserEmailEnrichingProcessor;
+import com.example.batch.incremental.WatermarkJobListener;
+import com.example.batch.incremental.WatermarkRange;
+import com.example.batch.metrics.BatchMetricsListener;
 import com.example.batch.model.OrderReport;
+import com.example.batch.partition.IdRangePartitioner;
+import com.example.batch.reader.JdbcReaderFactory;
+import com.example.batch.reader.OrderRowMapper;
+import com.example.batch.remote.ChunkWorkerPool;
+import com.example.batch.remote.RemoteChunkChannels;
+import com.example.batch.remote.RemoteChunkManagerWriter;
+import com.example.batch.remote.RemoteChunkingFactory;
+import com.example.batch.sketch.OrderSketchProperties;
+import com.example.batch.sketch.OrderSketchTasklet;
+import com.example.batch.sketch.OrderSketchingWriter;
+import com.example.batch.writer.UpsertItemWriter;
+import com.example.batch.writer.UpsertItemWriterFactory;
 import com.example.order.domain.Order;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemReadListener;
 import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
-import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
-import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRepository;
-import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JdbcCursorItemReader;
-import org.springframework.batch.item.database.JdbcBatchItemWriter;
-import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
-import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.support.PassThroughItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Component;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
@@ -39,47 +66,267 @@ public class OrderReportJobConfiguration {
 
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final AdaptiveChunkProperties chunkProperties;
+    private final MeterRegistry meterRegistry;
     private final DataSource dataSource;
+    private final JobExplorer jobExplorer;
+    private final JdbcReaderFactory readerFactory;
+    private final UpsertItemWriterFactory writerFactory;
+    private final RemoteChunkingFactory remoteChunking;
+    private final OrderSketchProperties sketchProperties;
 
+    // 초기 커밋 간격. 실행 중에는 AdaptiveChunkCompletionPolicy 가 목표 트랜잭션 시간에 맞춰 조정한다
     private static final int CHUNK_SIZE = 50;
 
+    private static final String ORDERS_TABLE = "orders";
+
+    private static final String ORDER_WINDOW = "o.order_date >= DATEADD('DAY', -1, CURRENT_DATE)";
+
+    // 주문 행만 순차 스캔한다. 집계는 writer 에서 한 번의 패스로 누적하므로 조인/GROUP BY 가 필요 없다
+    private static final String ORDER_REPORT_SELECT =
+            "o.id, o.user_id, o.status, o.total_amount, o.order_date, o.created_at, o.updated_at";
+
+    private static final String ORDER_REPORT_FROM = "orders o";
+
+    @Value("${app.batch.order-report.partitioned:false}")
+    private boolean partitioned;
+
+    // 0 이하이면 CPU 코어 수만큼 파티션을 나눈다
+    @Value("${app.batch.order-report.grid-size:0}")
+    private int gridSize;
+
+    @Value("${app.batch.order-report.processor-threads:4}")
+    private int processorThreads;
+
+    @Value("${app.batch.watermark.safety-lag:30s}")
+    private Duration watermarkSafetyLag;
+
     @Bean
     public Job orderReportJob() {
         return new JobBuilder("orderReportJob", jobRepository)
-                .start(orderReportStep())
+                .listener(orderReportWatermarkListener())
+                .start(partitioned ? orderReportPartitionStep()
+                        : remoteChunking.isEnabled() ? orderReportManagerStep() : orderReportStep())
+                .next(orderReportSummaryStep())
+                .next(orderReportSketchStep())
                 .build();
     }
 
+    @Bean
+    public WatermarkJobListener orderReportWatermarkListener() {
+        return new WatermarkJobListener(dataSource, watermarkSafetyLag, ORDERS_TABLE);
+    }
+
     @Bean
     public Step orderReportStep() {
-        return new StepBuilder("orderReportStep", jobRepository)
-                .<Order, OrderReport>chunk(CHUNK_SIZE, transactionManager)
-                .reader(orderReader())
-                .processor(orderReportProcessor())
-                .writer(orderReportWriter())
+        return batchMetrics.instrument(new StepBuilder("orderReportStep", jobRepository)
+                .<Order, Future<OrderReport>>chunk(orderReportChunkPolicy(), transactionManager))
+                .listener((ChunkListener) orderReportChunkPolicy())
+                .listener((StepExecutionListener) orderReportChunkPolicy())
+                .reader(orderReader(null))
+                .processor(asyncOrderReportProcessor())
+                .listener((ItemReadListener<Order>) orderReportEnrichingProcessor())
+                .listener((ChunkListener) orderReportEnrichingProcessor())
+                .writer(asyncOrderReportWriter())
+                .listener((StepExecutionListener) orderReportWriter(null))
                 .build();
     }
 
+    // remote chunking 모드: manager 는 읽기/변환(이메일 보강 포함)만 하고, upsert 는 요청 채널을 소비하는 worker 들이
+    // 청크 단위로 처리한다. 요약/스케치는 worker 가 커밋했다고 응답한 청크만 manager 에서 누적한다
     @Bean
-    public ItemReader<Order> orderReader() {
-        return new JdbcCursorItemReaderBuilder<Order>()
-                .name("orderReader")
-                .dataSource(dataSource)
-                .sql("""
-                    SELECT o.id, o.user_id, o.status, o.total_amount, o.order_date, o.created_at, o.updated_at,
-                           u.email as user_email,
-                           COUNT(oi.id) as total_items
-                    FROM orders o
-                    LEFT JOIN users u ON o.user_id = u.id
-                    LEFT JOIN order_items oi ON o.id = oi.order_id
-                    WHERE o.order_date >= DATEADD('DAY', -1, CURRENT_DATE)
-                    GROUP BY o.id, o.user_id, o.status, o.total_amount, o.order_date, o.created_at, o.updated_at, u.email
-                    ORDER BY o.order_date DESC
-                    """)
-                .rowMapper(new BeanPropertyRowMapper<>(Order.class))
+    public Step orderReportManagerStep() {
+        return batchMetrics.instrumentManager(new StepBuilder("orderReportManagerStep", jobRepository)
+                .<Order, Future<OrderReport>>chunk(orderReportChunkPolicy(), transactionManager))
+                .listener((ChunkListener) orderReportChunkPolicy())
+                .listener((StepExecutionListener) orderReportChunkPolicy())
+                .reader(orderReader(null))
+                .processor(asyncOrderReportProcessor())
+                .listener((ItemReadListener<Order>) orderReportEnrichingProcessor())
+                .listener((ChunkListener) orderReportEnrichingProcessor())
+                .writer(asyncOrderReportChunkWriter())
+                .listener((StepExecutionListener) orderReportChunkWriter(null))
                 .build();
     }
 
+    @Bean
+    public RemoteChunkChannels orderReportChunkChannels() {
+        return remoteChunking.channels("orderReportManagerStep");
+    }
+
+    @Bean
+    @StepScope
+    public RemoteChunkManagerWriter<OrderReport> orderReportChunkWriter(
+            @Value("#{stepExecution}") StepExecution stepExecution) {
+        return remoteChunking.managerWriter(orderReportChunkChannels(),
+                new OrderSketchingWriter(dataSource, new OrderSummaryAggregatingWriter(chunk -> { }),
+                        sketchProperties, !isIncremental(stepExecution)));
+    }
+
+    @Bean
+    @StepScope
+    public AsyncItemWriter<OrderReport> asyncOrderReportChunkWriter() {
+        AsyncItemWriter<OrderReport> writer = new AsyncItemWriter<>();
+        writer.setDelegate(orderReportChunkWriter(null));
+        return writer;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.batch.remote-chunking.enabled", havingValue = "true")
+    public ChunkWorkerPool<OrderReport> orderReportChunkWorkers() {
+        return remoteChunking.workers("order-report", orderReportChunkChannels(),
+                new SimpleChunkProcessor<>(new PassThroughItemProcessor<>(), orderReportItemWriter()));
+    }
+
+    @Bean
+    @StepScope
+    public AdaptiveChunkCompletionPolicy orderReportChunkPolicy() {
+        return new AdaptiveChunkCompletionPolicy(CHUNK_SIZE, chunkProperties, meterRegistry);
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<Order> orderReader(@Value("#{stepExecution}") StepExecution stepExecution) {
+        WatermarkRange range = WatermarkRange.of(stepExecution.getJobExecution().getExecutionContext(), ORDERS_TABLE);
+        return readerFactory.create("orderReader", ORDER_REPORT_SELECT, ORDER_REPORT_FROM,
+                orderCondition(range), orderArguments(range), "o.order_date DESC", new OrderRowMapper());
+    }
+
+    // 파티션 모드: id 범위별 worker step 을 제한된 스레드 풀에서 병렬 실행한다.
+    // 주문 단위 리포트는 서로 독립적이므로 결과는 직렬 실행과 동일하다
+    @Bean
+    public Step orderReportPartitionStep() {
+        int partitions = resolveGridSize();
+        return new StepBuilder("orderReportPartitionStep", jobRepository)
+                .partitioner("orderReportWorkerStep", orderIdRangePartitioner(null))
+                .step(orderReportWorkerStep())
+                .gridSize(partitions)
+                .taskExecutor(orderReportPartitionExecutor())
+                .build();
+    }
+
+    @Bean
+    public Step orderReportWorkerStep() {
+        return batchMetrics.instrument(new StepBuilder("orderReportWorkerStep", jobRepository)
+                .<Order, Future<OrderReport>>chunk(orderReportChunkPolicy(), transactionManager))
+                .listener((ChunkListener) orderReportChunkPolicy())
+                .listener((StepExecutionListener) orderReportChunkPolicy())
+                .reader(orderPartitionReader(null, null, null))
+                .processor(asyncOrderReportProcessor())
+                .listener((ItemReadListener<Order>) orderReportEnrichingProcessor())
+                .listener((ChunkListener) orderReportEnrichingProcessor())
+                .writer(asyncOrderReportWriter())
+                .listener((StepExecutionListener) orderReportWriter(null))
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public IdRangePartitioner orderIdRangePartitioner(@Value("#{jobExecution}") JobExecution jobExecution) {
+        WatermarkRange range = WatermarkRange.of(jobExecution.getExecutionContext(), ORDERS_TABLE);
+        return new IdRangePartitioner(dataSource, ORDER_REPORT_FROM, orderCondition(range), orderArguments(range));
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<Order> orderPartitionReader(
+            @Value("#{stepExecution}") StepExecution stepExecution,
+            @Value("#{stepExecutionContext['" + IdRangePartitioner.MIN_ID + "']}") Long minId,
+            @Value("#{stepExecutionContext['" + IdRangePartitioner.MAX_ID + "']}") Long maxId) {
+        WatermarkRange range = WatermarkRange.of(stepExecution.getJobExecution().getExecutionContext(), ORDERS_TABLE);
+        Object[] windowArguments = orderArguments(range);
+        Object[] arguments = Arrays.copyOf(windowArguments, windowArguments.length + 2);
+        arguments[windowArguments.length] = minId;
+        arguments[windowArguments.length + 1] = maxId;
+        return readerFactory.create("orderPartitionReader", ORDER_REPORT_SELECT, ORDER_REPORT_FROM,
+                orderCondition(range) + " AND o.id BETWEEN ? AND ?", arguments, "o.id", new OrderRowMapper());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor orderReportPartitionExecutor() {
+        int partitions = resolveGridSize();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitions);
+        executor.setMaxPoolSize(partitions);
+        executor.setQueueCapacity(partitions);
+        executor.setThreadNamePrefix("order-report-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    // 직렬/파티션 스텝이 남긴 (일자, 상태)별 누적기를 합쳐 DAILY / WEEKLY / MONTHLY 요약 행을 기록한다
+    @Bean
+    public Step orderReportSummaryStep() {
+        return batchMetrics.instrument(new StepBuilder("orderReportSummaryStep", jobRepository)
+                .tasklet(new OrderReportSummaryTasklet(dataSource, jobExplorer), transactionManager))
+                .build();
+    }
+
+    // 요약 스텝과 같은 방식으로 스텝들의 (일자, 카테고리)별 스케치를 합쳐 order_value_sketches 를 갱신한다
+    @Bean
+    public Step orderReportSketchStep() {
+        return batchMetrics.instrument(new StepBuilder("orderReportSketchStep", jobRepository)
+                .tasklet(new OrderSketchTasklet(dataSource, jobExplorer, sketchProperties), transactionManager))
+                .build();
+    }
+
+    // 증분 실행이면 워터마크 이후 변경된 주문만, 아니면 최근 1일 주문 전체를 읽는다
+    private static String orderCondition(WatermarkRange range) {
+        return range.isIncremental() ? range.condition("o.updated_at") : ORDER_WINDOW;
+    }
+
+    private static Object[] orderArguments(WatermarkRange range) {
+        return range.isIncremental() ? range.arguments() : new Object[0];
+    }
+
+    private static boolean isIncremental(StepExecution stepExecution) {
+        return WatermarkRange.of(stepExecution.getJobExecution().getExecutionContext(), ORDERS_TABLE).isIncremental();
+    }
+
+    private int resolveGridSize() {
+        return gridSize > 0 ? gridSize : Runtime.getRuntime().availableProcessors();
+    }
+
+    // 변환과 이메일 조회는 제한된 풀에서 병렬로 처리하고, writer 는 청크 순서대로 결과를 모은다
+    @Bean
+    @StepScope
+    public AsyncItemProcessor<Order, OrderReport> asyncOrderReportProcessor() {
+        AsyncItemProcessor<Order, OrderReport> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(batchMetrics.timeProcess(orderReportEnrichingProcessor()));
+        processor.setTaskExecutor(orderReportProcessorExecutor());
+        return processor;
+    }
+
+    @Bean
+    @StepScope
+    public UserEmailEnrichingProcessor orderReportEnrichingProcessor() {
+        return new UserEmailEnrichingProcessor(dataSource, orderReportProcessor());
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor orderReportProcessorExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processorThreads);
+        executor.setMaxPoolSize(processorThreads);
+        executor.setQueueCapacity(processorThreads * 100);
+        // 대기열이 차면 청크 스레드가 직접 처리해 제출 속도를 늦춘다
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("order-report-processor-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    @StepScope
+    public AsyncItemWriter<OrderReport> asyncOrderReportWriter() {
+        AsyncItemWriter<OrderReport> writer = new AsyncItemWriter<>();
+        writer.setDelegate(orderReportWriter(null));
+        return writer;
+    }
+
     @Bean
     public ItemProcessor<Order, OrderReport> orderReportProcessor() {
         return order -> {
@@ -88,7 +335,7 @@ public class OrderReportJobConfiguration {
             return OrderReport.builder()
                     .orderId(order.getId())
                     .userId(order.getUserId())
-                    .userEmail("") // UserService에서 조회 필요
+                    .userEmail("") // UserEmailEnrichingProcessor 가 청크 단위로 조회해 채운다
                     .orderStatus(order.getStatus().name())
                     .totalAmount(order.getTotalAmount())
                     .totalItems(order.getOrderItems() != null ? order.getOrderItems().size() : 0)
@@ -100,40 +347,22 @@ public class OrderReportJobConfiguration {
     }
 
     @Bean
-    public ItemWriter<OrderReport> orderReportWriter() {
-        return new JdbcBatchItemWriterBuilder<OrderReport>()
-                .dataSource(dataSource)
-                .sql("""
-                    INSERT INTO order_reports 
-                    (order_id, user_id, user_email, order_status, total_amount, total_items, order_date, report_date, report_period)
-                    VALUES (:orderId, :userId, :userEmail, :orderStatus, :totalAmount, :totalItems, :orderDate, :reportDate, :reportPeriod)
-                    ON DUPLICATE KEY UPDATE
-                    order_status = VALUES(order_status),
-                    total_amount = VALUES(total_amount),
-                    total_items = VALUES(total_items),
-                    report_date = VALUES(report_date)
-                    """)
-                .beanMapped()
-                .build();
+    @StepScope
+    public OrderSketchingWriter orderReportWriter(@Value("#{stepExecution}") StepExecution stepExecution) {
+        return new OrderSketchingWriter(dataSource, new OrderSummaryAggregatingWriter(orderReportItemWriter()),
+                sketchProperties, !isIncremental(stepExecution));
     }
 
-    @Component
-    @RequiredArgsConstructor
-    public static class OrderReportJobScheduler {
-        
-        private final JobLauncher jobLauncher;
-        private final Job orderReportJob;
-
-        @Scheduled(cron = "0 30 1 * * ?") // 매일 오전 1:30 실행
-        public void runOrderReportJob() {
-            try {
-                log.info("Starting Order Report Job");
-                jobLauncher.run(orderReportJob, new JobParameters());
-                log.info("Order Report Job completed successfully");
-            } catch (JobExecutionAlreadyRunningException | JobRestartException |
-                     JobInstanceAlreadyCompleteException | JobParametersInvalidException e) {
-                log.error("Failed to run Order Report Job", e);
-            }
-        }
-    }
-}
\ No newline at end of file
+    @Bean
+    public UpsertItemWriter<OrderReport> orderReportItemWriter() {
+        return writerFactory.create("order_reports",
+                List.of("order_id", "user_id", "user_email", "order_status", "total_amount", "total_items",
+                        "order_date", "report_date", "report_period"),
+                List.of("order_id"),
+                List.of("user_email", "order_status", "total_amount", "total_items", "report_date"),
+                report -> new Object[]{
+                        report.getOrderId(), report.getUserId(), report.getUserEmail(), report.getOrderStatus(),
+                        report.getTotalAmount(), report.getTotalItems(), report.getOrderDate(),
+                        report.getReportDate(), report.getReportPeriod()});
+    }
+}
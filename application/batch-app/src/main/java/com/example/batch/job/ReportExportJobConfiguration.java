@@ -0,0 +1,39 @@
+package com.example.batch.job;
+
+import com.example.batch.export.ReportExportTasklet;
+import com.example.batch.export.ReportExporter;
+import com.example.batch.metrics.BatchMetricsListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@RequiredArgsConstructor
+public class ReportExportJobConfiguration {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final ReportExporter reportExporter;
+
+    @Bean
+    public Job reportExportJob() {
+        return new JobBuilder("reportExportJob", jobRepository)
+                .start(reportExportStep())
+                .build();
+    }
+
+    // 파일 기록은 커서로 한 행씩 스트리밍하므로 청크로 나누지 않고 단일 tasklet 으로 실행한다
+    @Bean
+    public Step reportExportStep() {
+        return batchMetrics.instrument(new StepBuilder("reportExportStep", jobRepository)
+                .tasklet(new ReportExportTasklet(reportExporter), transactionManager))
+                .build();
+    }
+}
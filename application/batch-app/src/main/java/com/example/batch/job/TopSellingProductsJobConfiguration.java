@@ -0,0 +1,43 @@
+package com.example.batch.job;
+
+import com.example.batch.bestseller.TopSellingProductsTasklet;
+import com.example.batch.metrics.BatchMetricsListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+@Configuration
+@RequiredArgsConstructor
+public class TopSellingProductsJobConfiguration {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final DataSource dataSource;
+
+    @Value("${app.batch.best-sellers.top-n:20}")
+    private int topN;
+
+    @Bean
+    public Job topSellingProductsJob() {
+        return new JobBuilder("topSellingProductsJob", jobRepository)
+                .start(topSellingProductsStep())
+                .build();
+    }
+
+    @Bean
+    public Step topSellingProductsStep() {
+        return batchMetrics.instrument(new StepBuilder("topSellingProductsStep", jobRepository)
+                .tasklet(new TopSellingProductsTasklet(dataSource, topN), transactionManager))
+                .build();
+    }
+}
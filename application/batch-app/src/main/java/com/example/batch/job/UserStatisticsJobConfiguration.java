@@ -1,36 +1,52 @@
 package com.example.batch.job;
 
+import com.example.batch.aggregate.LongCountSumMap;
+import com.example.batch.aggregate.UserOrderTotalsTasklet;
+import com.example.batch.chunk.AdaptiveChunkCompletionPolicy;
+import com.example.batch.chunk.AdaptiveChunkProperties;
+import com.example.batch.incremental.WatermarkJobListener;
+import com.example.batch.incremental.WatermarkRange;
+import com.example.batch.metrics.BatchMetricsListener;
 import com.example.batch.model.UserStatistics;
+import com.example.batch.reader.JdbcReaderFactory;
+import com.example.batch.reader.UserRowMapper;
+import com.example.batch.remote.ChunkWorkerPool;
+import com.example.batch.remote.RemoteChunkChannels;
+import com.example.batch.remote.RemoteChunkManagerWriter;
+import com.example.batch.remote.RemoteChunkingFactory;
+import com.example.batch.shard.JobShard;
+import com.example.batch.writer.UpsertItemWriterFactory;
 import com.example.user.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
 import org.springframework.batch.core.Job;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersInvalidException;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
-import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
-import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
 import org.springframework.batch.core.repository.JobRepository;
-import org.springframework.batch.core.repository.JobRestartException;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.database.JdbcCursorItemReader;
-import org.springframework.batch.item.database.JdbcBatchItemWriter;
-import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
-import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.support.PassThroughItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Configuration
@@ -39,42 +55,127 @@ public class UserStatisticsJobConfiguration {
 
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
+    private final BatchMetricsListener batchMetrics;
+    private final AdaptiveChunkProperties chunkProperties;
+    private final MeterRegistry meterRegistry;
     private final DataSource dataSource;
+    private final JdbcReaderFactory readerFactory;
+    private final UpsertItemWriterFactory writerFactory;
+    private final RemoteChunkingFactory remoteChunking;
 
-    private static final int CHUNK_SIZE = 100;
+    private static final int CHUNK_SIZE = 100; // 시작 크기 (adaptive policy 가 조정)
+
+    @Value("${app.batch.watermark.safety-lag:30s}")
+    private Duration watermarkSafetyLag;
 
     @Bean
     public Job userStatisticsJob() {
         return new JobBuilder("userStatisticsJob", jobRepository)
-                .start(userStatisticsStep())
+                .listener(userStatisticsWatermarkListener())
+                .start(userOrderTotalsStep())
+                .next(remoteChunking.isEnabled() ? userStatisticsManagerStep() : userStatisticsStep())
                 .build();
     }
 
+    @Bean
+    public WatermarkJobListener userStatisticsWatermarkListener() {
+        return new WatermarkJobListener(dataSource, watermarkSafetyLag, "users", "orders");
+    }
+
+    // 1차 스캔: 주문 합계를 user_id 별로 미리 집계한다.
+    // 맵은 메모리에만 있으므로 재시작 시에도 항상 다시 실행한다
+    @Bean
+    public Step userOrderTotalsStep() {
+        return batchMetrics.instrument(new StepBuilder("userOrderTotalsStep", jobRepository)
+                .tasklet(new UserOrderTotalsTasklet(dataSource, userOrderTotals()), transactionManager))
+                .allowStartIfComplete(true)
+                .build();
+    }
+
+    @Bean
+    @JobScope
+    public LongCountSumMap userOrderTotals() {
+        return new LongCountSumMap();
+    }
+
     @Bean
     public Step userStatisticsStep() {
-        return new StepBuilder("userStatisticsStep", jobRepository)
-                .<User, UserStatistics>chunk(CHUNK_SIZE, transactionManager)
-                .reader(userReader())
+        return batchMetrics.instrument(new StepBuilder("userStatisticsStep", jobRepository)
+                .<User, UserStatistics>chunk(userStatisticsChunkPolicy(), transactionManager))
+                .listener((ChunkListener) userStatisticsChunkPolicy())
+                .listener((StepExecutionListener) userStatisticsChunkPolicy())
+                .reader(userReader(null))
                 .processor(userStatisticsProcessor())
                 .writer(userStatisticsWriter())
                 .build();
     }
 
+    // remote chunking 모드: 주문 합계 맵은 job 스코프라 변환까지 manager 에서 하고, upsert 는 worker 가 맡는다
     @Bean
-    public ItemReader<User> userReader() {
-        return new JdbcCursorItemReaderBuilder<User>()
-                .name("userReader")
-                .dataSource(dataSource)
-                .sql("SELECT id, name, email, role, created_at, updated_at, is_active FROM users WHERE is_active = true")
-                .rowMapper(new BeanPropertyRowMapper<>(User.class))
+    public Step userStatisticsManagerStep() {
+        return batchMetrics.instrumentManager(new StepBuilder("userStatisticsManagerStep", jobRepository)
+                .<User, UserStatistics>chunk(userStatisticsChunkPolicy(), transactionManager))
+                .listener((ChunkListener) userStatisticsChunkPolicy())
+                .listener((StepExecutionListener) userStatisticsChunkPolicy())
+                .reader(userReader(null))
+                .processor(userStatisticsProcessor())
+                .writer(userStatisticsChunkWriter())
                 .build();
     }
 
+    @Bean
+    public RemoteChunkChannels userStatisticsChunkChannels() {
+        return remoteChunking.channels("userStatisticsManagerStep");
+    }
+
+    @Bean
+    @StepScope
+    public RemoteChunkManagerWriter<UserStatistics> userStatisticsChunkWriter() {
+        return remoteChunking.managerWriter(userStatisticsChunkChannels(), null);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.batch.remote-chunking.enabled", havingValue = "true")
+    public ChunkWorkerPool<UserStatistics> userStatisticsChunkWorkers() {
+        return remoteChunking.workers("user-statistics", userStatisticsChunkChannels(),
+                new SimpleChunkProcessor<>(new PassThroughItemProcessor<>(), userStatisticsWriter()));
+    }
+
+    @Bean
+    @StepScope
+    public AdaptiveChunkCompletionPolicy userStatisticsChunkPolicy() {
+        return new AdaptiveChunkCompletionPolicy(CHUNK_SIZE, chunkProperties, meterRegistry);
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamReader<User> userReader(@Value("#{stepExecution}") StepExecution stepExecution) {
+        ExecutionContext jobContext = stepExecution.getJobExecution().getExecutionContext();
+        WatermarkRange users = WatermarkRange.of(jobContext, "users");
+        WatermarkRange orders = WatermarkRange.of(jobContext, "orders");
+
+        String where = "status = 'ACTIVE'";
+        Object[] arguments = new Object[0];
+        if (UserOrderTotalsTasklet.isIncremental(users, orders)) {
+            // 증분 실행: 상태와 무관하게 바뀐 사용자를 모두 읽어 비활성화도 반영한다
+            where = "id IN (" + UserOrderTotalsTasklet.changedUserIds(users, orders) + ")";
+            arguments = UserOrderTotalsTasklet.changedUserIdArguments(users, orders);
+        }
+        // 여러 노드에 shard 로 나눠 실행된 경우 이 노드 몫의 사용자만 읽는다
+        JobShard shard = JobShard.of(stepExecution.getJobParameters());
+        return readerFactory.create("userReader", "id, name, email, role, status, created_at, updated_at", "users",
+                "(" + where + ") AND " + shard.condition("id"), shard.appendArguments(arguments), "id",
+                new UserRowMapper());
+    }
+
     @Bean
     public ItemProcessor<User, UserStatistics> userStatisticsProcessor() {
+        LongCountSumMap orderTotals = userOrderTotals();
         return user -> {
             log.debug("Processing user statistics for user: {}", user.getEmail());
             
+            // 2차 스캔: 미리 집계한 주문 합계와 해시 조인 (사용자별 추가 쿼리 없음)
+            long userId = user.getId();
             return UserStatistics.builder()
                     .userId(user.getId())
                     .userName(user.getName())
@@ -83,6 +184,8 @@ public class UserStatisticsJobConfiguration {
                     .registrationDate(user.getCreatedAt())
                     .lastActiveDate(user.getUpdatedAt())
                     .isActive(user.isActive())
+                    .totalOrders(orderTotals.getCount(userId))
+                    .totalSpent(BigDecimal.valueOf(orderTotals.getSum(userId), 2))
                     .statisticsDate(LocalDateTime.now())
                     .build();
         };
@@ -90,41 +193,16 @@ public class UserStatisticsJobConfiguration {
 
     @Bean
     public ItemWriter<UserStatistics> userStatisticsWriter() {
-        return new JdbcBatchItemWriterBuilder<UserStatistics>()
-                .dataSource(dataSource)
-                .sql("""
-                    INSERT INTO user_statistics 
-                    (user_id, user_name, user_email, user_role, registration_date, last_active_date, is_active, statistics_date)
-                    VALUES (:userId, :userName, :userEmail, :userRole, :registrationDate, :lastActiveDate, :isActive, :statisticsDate)
-                    ON DUPLICATE KEY UPDATE
-                    user_name = VALUES(user_name),
-                    user_email = VALUES(user_email),
-                    user_role = VALUES(user_role),
-                    last_active_date = VALUES(last_active_date),
-                    is_active = VALUES(is_active),
-                    statistics_date = VALUES(statistics_date)
-                    """)
-                .beanMapped()
-                .build();
-    }
-
-    @Component
-    @RequiredArgsConstructor
-    public static class UserStatisticsJobScheduler {
-        
-        private final JobLauncher jobLauncher;
-        private final Job userStatisticsJob;
-
-        @Scheduled(cron = "0 0 2 * * ?") // 매일 오전 2시 실행
-        public void runUserStatisticsJob() {
-            try {
-                log.info("Starting User Statistics Job");
-                jobLauncher.run(userStatisticsJob, new JobParameters());
-                log.info("User Statistics Job completed successfully");
-            } catch (JobExecutionAlreadyRunningException | JobRestartException |
-                     JobInstanceAlreadyCompleteException | JobParametersInvalidException e) {
-                log.error("Failed to run User Statistics Job", e);
-            }
-        }
+        return writerFactory.create("user_statistics",
+                List.of("user_id", "user_name", "user_email", "user_role", "registration_date", "last_active_date",
+                        "is_active", "total_orders", "total_spent", "statistics_date"),
+                List.of("user_id"),
+                List.of("user_name", "user_email", "user_role", "last_active_date", "is_active",
+                        "total_orders", "total_spent", "statistics_date"),
+                statistics -> new Object[]{
+                        statistics.getUserId(), statistics.getUserName(), statistics.getUserEmail(),
+                        statistics.getUserRole(), statistics.getRegistrationDate(), statistics.getLastActiveDate(),
+                        statistics.getIsActive(), statistics.getTotalOrders(), statistics.getTotalSpent(),
+                        statistics.getStatisticsDate()});
     }
-}
\ No newline at end of file
+}
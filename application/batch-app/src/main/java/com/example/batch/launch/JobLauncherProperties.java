@@ -0,0 +1,34 @@
+package com.example.batch.launch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.batch.launcher")
+public class JobLauncherProperties {
+
+    private int maxConcurrentJobs = 2;      // 동시에 실행되는 전체 job 수
+    private int queueCapacity = 20;         // 대기열 전체 크기 (초과 시 실행 거절)
+    private Map<String, JobLimit> jobs = new HashMap<>();
+
+    private final JobLimit defaultLimit = new JobLimit();
+
+    public JobLimit limitFor(String jobName) {
+        return jobs.getOrDefault(jobName, defaultLimit);
+    }
+
+    @Getter
+    @Setter
+    public static class JobLimit {
+        private int priority = 0;           // 클수록 먼저 실행
+        private int maxConcurrent = 1;      // 같은 job 의 동시 실행 수
+        private int maxQueued = 1;          // 같은 job 의 대기 수 (중복 트리거 / misfire 누적 방지)
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.batch.launch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+// job 실행 전용 executor.
+// - 전체 동시 실행 수와 job 별 동시 실행 수를 제한하고, 자리가 없으면 우선순위 대기열에 둔다
+// - 대기열이 가득 차거나 같은 job 이 이미 maxQueued 만큼 대기 중이면 거절한다 (launcher 가 실행을 FAILED 로 기록)
+// - 대기열에 들어간 뒤 시작하지 못한 실행(worker 거절, 종료 시 남은 대기열)은 여기서 FAILED 로 기록한다.
+//   STARTING 으로 남으면 같은 job instance 를 다시 실행할 수 없다
+// - 실제 스레드는 workers 에서 만들며, 동시 실행 수는 여기서 제한한다
+@Slf4j
+public class PrioritizedJobExecutor implements DisposableBean {
+
+    private final JobLauncherProperties properties;
+    private final TaskExecutor workers;
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final PriorityQueue<QueuedJob> queue = new PriorityQueue<>();
+    private final Map<String, Integer> running = new HashMap<>();
+    private final Map<String, Integer> queued = new HashMap<>();
+    private int runningTotal;
+    private long sequence;
+    private boolean shutdown;
+
+    public PrioritizedJobExecutor(JobLauncherProperties properties, TaskExecutor workers, JobRepository jobRepository,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.workers = workers;
+        this.jobRepository = jobRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("batch.launcher.queue.depth", this, executor -> executor.queueDepth())
+                .description("Job launches waiting for a free slot")
+                .register(meterRegistry);
+        Gauge.builder("batch.launcher.running", this, executor -> executor.runningJobs())
+                .description("Jobs currently running")
+                .register(meterRegistry);
+    }
+
+    // 거절하면 TaskRejectedException 을 던지고, 실행 기록은 호출한 launcher 가 FAILED 로 남긴다
+    public void execute(String jobName, JobExecution execution, Runnable task) {
+        JobLauncherProperties.JobLimit limit = properties.limitFor(jobName);
+        synchronized (this) {
+            if (shutdown) {
+                reject(jobName, "launcher is shutting down");
+            }
+            if (queue.size() >= properties.getQueueCapacity()) {
+                reject(jobName, "queue is full (" + queue.size() + ")");
+            }
+            if (queued.getOrDefault(jobName, 0) >= limit.getMaxQueued()) {
+                reject(jobName, "already queued " + queued.get(jobName) + " time(s)");
+            }
+            queue.add(new QueuedJob(jobName, execution, limit.getPriority(), sequence++, System.nanoTime(), task));
+            queued.merge(jobName, 1, Integer::sum);
+            dispatch();
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        shutdown = true;
+        if (!queue.isEmpty()) {
+            log.warn("Dropping {} queued job launch(es) on shutdown: {}", queue.size(), queued);
+            for (QueuedJob job : queue) {
+                markFailed(job, "launcher shut down before the job started");
+            }
+            queue.clear();
+            queued.clear();
+        }
+    }
+
+    // 우선순위 순으로 꺼내되, job 별 한도에 걸린 항목은 건너뛰고 다시 넣는다 (lock 보유 상태에서 호출)
+    private void dispatch() {
+        List<QueuedJob> blocked = new ArrayList<>();
+        while (runningTotal < properties.getMaxConcurrentJobs() && !queue.isEmpty()) {
+            QueuedJob next = queue.poll();
+            if (running.getOrDefault(next.jobName(), 0) >= properties.limitFor(next.jobName()).getMaxConcurrent()) {
+                blocked.add(next);
+                continue;
+            }
+            start(next);
+        }
+        queue.addAll(blocked);
+    }
+
+    private void start(QueuedJob job) {
+        decrement(queued, job.jobName());
+        running.merge(job.jobName(), 1, Integer::sum);
+        runningTotal++;
+        Timer.builder("batch.launcher.queue.wait")
+                .description("Time a job launch waited in the queue")
+                .tag("job", job.jobName())
+                .register(meterRegistry)
+                .record(System.nanoTime() - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            workers.execute(() -> {
+                try {
+                    job.task().run();
+                } finally {
+                    finished(job.jobName());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            decrement(running, job.jobName());
+            runningTotal--;
+            log.error("Worker executor rejected job {}", job.jobName(), e);
+            markFailed(job, "worker executor rejected the job: " + e.getMessage());
+        }
+    }
+
+    // 시작하지 못한 실행을 종료 시각과 함께 FAILED 로 기록해 재실행이 막히지 않게 한다
+    private void markFailed(QueuedJob job, String reason) {
+        JobExecution execution = job.execution();
+        if (execution == null) {
+            return;
+        }
+        try {
+            execution.upgradeStatus(BatchStatus.FAILED);
+            execution.setExitStatus(ExitStatus.FAILED.addExitDescription(reason));
+            execution.setEndTime(LocalDateTime.now());
+            jobRepository.update(execution);
+        } catch (Exception e) {
+            log.error("Failed to mark job execution {} of {} as FAILED", execution.getId(), job.jobName(), e);
+        }
+    }
+
+    private synchronized void finished(String jobName) {
+        decrement(running, jobName);
+        runningTotal--;
+        dispatch();
+    }
+
+    private void reject(String jobName, String reason) {
+        Counter.builder("batch.launcher.rejected")
+                .description("Job launches rejected by the launcher")
+                .tag("job", jobName)
+                .register(meterRegistry)
+                .increment();
+        throw new TaskRejectedException("Job " + jobName + " rejected: " + reason);
+    }
+
+    private synchronized int queueDepth() {
+        return queue.size();
+    }
+
+    private synchronized int runningJobs() {
+        return runningTotal;
+    }
+
+    private static void decrement(Map<String, Integer> counts, String jobName) {
+        counts.computeIfPresent(jobName, (name, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private record QueuedJob(String jobName, JobExecution execution, int priority, long sequence, long enqueuedAt,
+                             Runnable task)
+            implements Comparable<QueuedJob> {
+
+        @Override
+        public int compareTo(QueuedJob other) {
+            int byPriority = Integer.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.batch.launch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+
+import java.time.LocalDateTime;
+
+// 실행 생성/검증은 TaskExecutorJobLauncher 에 맡기고, 생성된 실행을 job 이름과 함께 PrioritizedJobExecutor 에 넘긴다.
+// 대기열에 들어간 실행은 STARTING 상태로 반환되고, 자리가 나면 시작된다
+@RequiredArgsConstructor
+public class PrioritizedJobLauncher implements JobLauncher {
+
+    private final JobRepository jobRepository;
+    private final PrioritizedJobExecutor executor;
+
+    @Override
+    public JobExecution run(Job job, JobParameters jobParameters) throws JobExecutionAlreadyRunningException,
+            JobRestartException, JobInstanceAlreadyCompleteException, JobParametersInvalidException {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        // execute 는 실행이 저장된 직후 호출되므로, 같은 파라미터의 마지막 실행이 방금 만든 실행이다
+        launcher.setTaskExecutor(task -> executor.execute(job.getName(),
+                jobRepository.getLastJobExecution(job.getName(), jobParameters), task));
+        JobExecution execution = launcher.run(job, jobParameters);
+        if (execution.getStatus() == BatchStatus.FAILED && execution.getEndTime() == null) {
+            // 대기열에서 거절된 실행: TaskExecutorJobLauncher 는 상태만 FAILED 로 바꾸므로 종료 시각을 채운다
+            execution.setEndTime(LocalDateTime.now());
+            jobRepository.update(execution);
+        }
+        return execution;
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.batch.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.TaskletStepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 스텝/청크 단위 Micrometer 지표. 실행 중에도 Prometheus 에서 느린 단계를 확인할 수 있다.
+// - batch.chunk.latency      : 청크 시작 ~ 커밋 완료 시간 (histogram)
+// - batch.step.stage         : read / process / write 단계별 소요 시간
+// - batch.step.throughput    : 실행 중인 스텝의 초당 기록 건수
+// - batch.step.items         : 실행 중인 스텝의 read / write 진행 건수
+// - batch.steps.active       : 실행 중인 스텝 수
+// 단계별 시작 시각은 ThreadLocal 로 보관하므로, read / process / write 가 스텝 스레드에서 실행되는 스텝만 잰다
+// (직렬 스텝, 스레드마다 스텝 하나를 실행하는 파티션 worker). 멀티 스레드 스텝에는 쓰지 않는다.
+// AsyncItemProcessor 를 쓰는 스텝은 process 가 Future 를 만들기만 하므로, delegate 를 timeProcess 로 감싸
+// 풀 스레드에서 실제 처리 시간을 PROCESS 로 기록하고 스텝 스레드의 제출 시간은 버린다.
+// remote chunking manager 는 write 가 요청을 큐에 넣기만 하므로 instrumentManager 로 write 단계를 빼고,
+// 실제 write 시간은 worker 쪽(batch.remote.chunk.duration)에서 잰다.
+// 실행 중인 스텝 목록은 대시보드(getRunningSteps)에서 DB 조회 없이 진행률을 보여 주는 데에도 쓴다
+@Slf4j
+@Component
+public class BatchMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object> {
+
+    // (job, step) 의 마지막 COMPLETED 스텝 실행. 이 프로세스에서 아직 완료된 적 없는 스텝의 예상 건수를 채운다
+    private static final String LAST_COMPLETED_READ_COUNT_SQL = """
+            SELECT s.READ_COUNT
+            FROM BATCH_STEP_EXECUTION s
+            JOIN BATCH_JOB_EXECUTION e ON e.JOB_EXECUTION_ID = s.JOB_EXECUTION_ID
+            JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID
+            WHERE s.STEP_NAME = ? AND s.STATUS = 'COMPLETED' AND i.JOB_NAME = ?
+            ORDER BY s.STEP_EXECUTION_ID DESC
+            FETCH FIRST 1 ROWS ONLY
+            """;
+
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, StepMeters> activeSteps = new ConcurrentHashMap<>();
+    private final ThreadLocal<StepMeters> currentStep = new ThreadLocal<>();
+    // (job, step) 별 마지막 COMPLETED 실행의 read 건수. 다음 실행의 남은 시간 추정에 쓴다 (스텝 시작 시 DB 에서 채움)
+    private final Map<String, Long> lastReadCounts = new ConcurrentHashMap<>();
+
+    public BatchMetricsListener(MeterRegistry meterRegistry, DataSource dataSource) {
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        Gauge.builder("batch.steps.active", activeSteps, Map::size)
+                .description("Number of batch steps currently running")
+                .register(meterRegistry);
+    }
+
+    // 청크 스텝에 스텝/청크/아이템 리스너를 모두 등록한다
+    public <I, O> SimpleStepBuilder<I, O> instrument(SimpleStepBuilder<I, O> builder) {
+        builder.listener((StepExecutionListener) this);
+        builder.listener((ChunkListener) this);
+        builder.listener((ItemReadListener<Object>) this);
+        builder.listener((ItemProcessListener<Object, Object>) this);
+        builder.listener((ItemWriteListener<Object>) this);
+        return builder;
+    }
+
+    public <I, O> SimpleStepBuilder<I, O> instrumentManager(SimpleStepBuilder<I, O> builder) {
+        builder.listener((StepExecutionListener) this);
+        builder.listener((ChunkListener) this);
+        builder.listener((ItemReadListener<Object>) this);
+        builder.listener((ItemProcessListener<Object, Object>) this);
+        return builder;
+    }
+
+    // AsyncItemProcessor 의 delegate 용. 풀 스레드에는 AsyncItemProcessor 가 스텝 컨텍스트를 등록해 둔다
+    public <I, O> ItemProcessor<I, O> timeProcess(ItemProcessor<I, O> delegate) {
+        return item -> {
+            StepContext context = StepSynchronizationManager.getContext();
+            StepMeters meters = context != null ? activeSteps.get(context.getStepExecution().getId()) : null;
+            long start = System.nanoTime();
+            try {
+                return delegate.process(item);
+            } finally {
+                if (meters != null) {
+                    meters.stageTimers[Stage.PROCESS.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+
+    public TaskletStepBuilder instrument(TaskletStepBuilder builder) {
+        builder.listener((StepExecutionListener) this);
+        builder.listener((ChunkListener) this);
+        return builder;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        StepMeters meters = new StepMeters(stepExecution);
+        activeSteps.put(stepExecution.getId(), meters);
+        currentStep.set(meters);
+        lastReadCounts.computeIfAbsent(progressKey(stepExecution), key -> lastCompletedReadCount(stepExecution));
+    }
+
+    private Long lastCompletedReadCount(StepExecution stepExecution) {
+        try {
+            List<Long> counts = jdbcTemplate.queryForList(LAST_COMPLETED_READ_COUNT_SQL, Long.class,
+                    stepExecution.getStepName(), stepExecution.getJobExecution().getJobInstance().getJobName());
+            return counts.isEmpty() ? null : counts.get(0);
+        } catch (DataAccessException e) {
+            log.debug("Failed to load last completed read count for {}", progressKey(stepExecution), e);
+            return null;
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        currentStep.remove();
+        StepMeters meters = activeSteps.remove(stepExecution.getId());
+        if (meters != null) {
+            meters.gauges.forEach(meterRegistry::remove);
+        }
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            lastReadCounts.put(progressKey(stepExecution), stepExecution.getReadCount());
+        }
+        return stepExecution.getExitStatus();
+    }
+
+    public List<StepProgress> getRunningSteps() {
+        List<StepProgress> running = new ArrayList<>(activeSteps.size());
+        for (StepMeters meters : activeSteps.values()) {
+            StepExecution execution = meters.stepExecution;
+            double seconds = (System.nanoTime() - meters.startNanos) / 1_000_000_000.0;
+            double readRate = seconds > 0 ? execution.getReadCount() / seconds : 0.0;
+            double writeRate = seconds > 0 ? execution.getWriteCount() / seconds : 0.0;
+            Long expected = lastReadCounts.get(progressKey(execution));
+            Long etaSeconds = expected != null && readRate > 0
+                    ? Math.round(Math.max(0, expected - execution.getReadCount()) / readRate)
+                    : null;
+            running.add(new StepProgress(execution.getJobExecution().getJobInstance().getJobName(),
+                    execution.getJobExecutionId(), execution.getStepName(), execution.getStartTime(),
+                    execution.getReadCount(), execution.getWriteCount(), execution.getCommitCount(),
+                    writeRate, expected, etaSeconds));
+        }
+        running.sort(Comparator.comparing(StepProgress::jobExecutionId).thenComparing(StepProgress::stepName));
+        return running;
+    }
+
+    private static String progressKey(StepExecution stepExecution) {
+        return stepExecution.getJobExecution().getJobInstance().getJobName() + "/" + stepExecution.getStepName();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.chunkStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        recordChunk(true);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        recordChunk(false);
+    }
+
+    @Override
+    public void beforeRead() {
+        StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.stageStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        recordStage(Stage.READ);
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        recordStage(Stage.READ);
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.stageStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        if (result instanceof Future<?>) {
+            skipStage();
+            return;
+        }
+        recordStage(Stage.PROCESS);
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+        recordStage(Stage.PROCESS);
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.stageStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        recordStage(Stage.WRITE);
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        recordStage(Stage.WRITE);
+    }
+
+    private void recordStage(Stage stage) {
+        StepMeters meters = currentStep.get();
+        if (meters != null && meters.stageStart != 0) {
+            meters.stageTimers[stage.ordinal()].record(System.nanoTime() - meters.stageStart, TimeUnit.NANOSECONDS);
+            meters.stageStart = 0;
+        }
+    }
+
+    private void skipStage() {
+        StepMeters meters = currentStep.get();
+        if (meters != null) {
+            meters.stageStart = 0;
+        }
+    }
+
+    private void recordChunk(boolean success) {
+        StepMeters meters = currentStep.get();
+        if (meters != null && meters.chunkStart != 0) {
+            Timer timer = success ? meters.chunkSuccess : meters.chunkFailure;
+            timer.record(System.nanoTime() - meters.chunkStart, TimeUnit.NANOSECONDS);
+            meters.chunkStart = 0;
+        }
+    }
+
+    private enum Stage {
+        READ, PROCESS, WRITE
+    }
+
+    private final class StepMeters {
+
+        private final StepExecution stepExecution;
+        private final long startNanos = System.nanoTime();
+        private final Tags tags;
+        private final Timer[] stageTimers = new Timer[Stage.values().length];
+        private final Timer chunkSuccess;
+        private final Timer chunkFailure;
+        private final List<Meter> gauges;
+        private long chunkStart;
+        private long stageStart;
+
+        private StepMeters(StepExecution stepExecution) {
+            this.stepExecution = stepExecution;
+            // 파티션 worker 스텝명(step:partitionN)은 기본 스텝명으로 묶어 누적 지표의 태그 수를 제한한다
+            String stepName = stepExecution.getStepName();
+            int separator = stepName.indexOf(':');
+            this.tags = Tags.of("job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                    "step", separator > 0 ? stepName.substring(0, separator) : stepName);
+            this.chunkSuccess = chunkTimer("success");
+            this.chunkFailure = chunkTimer("failure");
+            for (Stage stage : Stage.values()) {
+                stageTimers[stage.ordinal()] = Timer.builder("batch.step.stage")
+                        .description("Time spent per item in each chunk stage (write is per chunk)")
+                        .tags(tags.and("stage", stage.name().toLowerCase()))
+                        .register(meterRegistry);
+            }
+
+            // 실행 중 진행 상황 게이지는 스텝 실행 단위로 등록하고 종료 시 제거한다.
+            // 같은 스텝이 동시에 여러 번 실행될 수 있으므로 스텝명이 아니라 StepExecution id 로 구분한다
+            Tags executionTags = tags.and("execution", String.valueOf(stepExecution.getId()),
+                    "partition", stepName);
+            this.gauges = List.of(
+                    Gauge.builder("batch.step.items", stepExecution, StepExecution::getReadCount)
+                            .tags(executionTags.and("type", "read"))
+                            .register(meterRegistry),
+                    Gauge.builder("batch.step.items", stepExecution, StepExecution::getWriteCount)
+                            .tags(executionTags.and("type", "written"))
+                            .register(meterRegistry),
+                    Gauge.builder("batch.step.throughput", stepExecution, execution -> {
+                                double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+                                return seconds > 0 ? execution.getWriteCount() / seconds : 0.0;
+                            })
+                            .description("Items written per second by the running step")
+                            .tags(executionTags)
+                            .register(meterRegistry));
+        }
+
+        private Timer chunkTimer(String outcome) {
+            return Timer.builder("batch.chunk.latency")
+                    .description("Chunk duration from start to transaction commit")
+                    .tags(tags.and("outcome", outcome))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofMinutes(1))
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.batch.metrics;
+
+import java.time.LocalDateTime;
+
+// 실행 중인 스텝의 진행 상황. expectedItems / etaSeconds 는 같은 스텝의 직전 COMPLETED 실행 read 건수로 추정한다
+public record StepProgress(
+        String jobName,
+        Long jobExecutionId,
+        String stepName,
+        LocalDateTime startTime,
+        long readCount,
+        long writeCount,
+        long commitCount,
+        double itemsPerSecond,
+        Long expectedItems,
+        Long etaSeconds) {
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -24,7 +25,7 @@ public class UserStatistics {
     
     // 추가 통계 필드들
     private Long totalOrders;
-    private Double totalSpent;
+    private BigDecimal totalSpent;
     private Integer loginCount;
     private LocalDateTime lastLoginDate;
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.example.batch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+// MIN(id) ~ MAX(id) 구간을 gridSize 개의 겹치지 않는 id 범위로 나눈다.
+// 각 파티션은 ExecutionContext 의 minId / maxId 로 자신의 범위만 읽는다
+@Slf4j
+public class IdRangePartitioner implements Partitioner {
+
+    public static final String MIN_ID = "minId";
+    public static final String MAX_ID = "maxId";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String table;
+    private final String whereClause;
+    private final Object[] arguments;
+
+    public IdRangePartitioner(DataSource dataSource, String table, String whereClause, Object... arguments) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.table = table;
+        this.whereClause = whereClause;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM " + table + " WHERE " + whereClause, arguments);
+        Number min = (Number) bounds.get("min_id");
+        Number max = (Number) bounds.get("max_id");
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        if (min == null || max == null) {
+            partitions.put("partition0", range(1L, 0L));
+            return partitions;
+        }
+
+        long minId = min.longValue();
+        long maxId = max.longValue();
+        long rangeSize = Math.max(1L, (maxId - minId) / gridSize + 1);
+
+        int index = 0;
+        for (long start = minId; start <= maxId; start += rangeSize) {
+            long end = Math.min(maxId, start + rangeSize - 1);
+            partitions.put("partition" + index++, range(start, end));
+        }
+        log.info("Partitioned {} ids [{} ~ {}] into {} ranges", table, minId, maxId, partitions.size());
+        return partitions;
+    }
+
+    private ExecutionContext range(long minId, long maxId) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(MIN_ID, minId);
+        context.putLong(MAX_ID, maxId);
+        return context;
+    }
+}
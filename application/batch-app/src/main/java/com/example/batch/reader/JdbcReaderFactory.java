@@ -0,0 +1,69 @@
+package com.example.batch.reader;
+
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
+import org.springframework.batch.item.database.builder.JdbcPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// app.batch.reader.type 에 따라 커서 리더 또는 id 기준 keyset 페이징 리더를 만든다.
+// - cursor : 스텝 전체 동안 커서와 커넥션 하나를 유지한다. 재시작 시 처음부터 다시 읽으며 건너뛴다
+// - paging : 페이지마다 짧은 쿼리(WHERE id > 마지막 키 ORDER BY id LIMIT n)를 실행하고 커넥션을 반납한다.
+//            마지막으로 커밋된 키가 ExecutionContext 에 저장되어 재시작 시 그 지점부터 이어서 읽는다
+@Component
+public class JdbcReaderFactory {
+
+    private static final String SORT_KEY = "id";
+
+    private final DataSource dataSource;
+    private final boolean paging;
+    private final int pageSize;
+
+    public JdbcReaderFactory(DataSource dataSource,
+                             @Value("${app.batch.reader.type:cursor}") String type,
+                             @Value("${app.batch.reader.page-size:500}") int pageSize) {
+        this.dataSource = dataSource;
+        this.paging = "paging".equalsIgnoreCase(type);
+        this.pageSize = pageSize;
+    }
+
+    // whereClause 는 ? 위치 파라미터를 사용하고 arguments 가 순서대로 바인딩된다.
+    // cursorOrderBy 는 커서 모드에서만 사용하며, 페이징 모드는 항상 id 오름차순이다
+    public <T> ItemStreamReader<T> create(String name, String selectClause, String fromClause, String whereClause,
+                                          Object[] arguments, String cursorOrderBy, RowMapper<T> rowMapper) {
+        if (!paging) {
+            return new JdbcCursorItemReaderBuilder<T>()
+                    .name(name)
+                    .dataSource(dataSource)
+                    .sql("SELECT " + selectClause + " FROM " + fromClause + " WHERE " + whereClause
+                            + " ORDER BY " + cursorOrderBy)
+                    .queryArguments(arguments)
+                    .rowMapper(rowMapper)
+                    .build();
+        }
+
+        // 위치 파라미터는 키 정렬 순서대로 바인딩되므로 자릿수를 맞춘 키를 사용한다
+        Map<String, Object> parameterValues = new LinkedHashMap<>();
+        for (int i = 0; i < arguments.length; i++) {
+            parameterValues.put(String.format("%03d", i), arguments[i]);
+        }
+        return new JdbcPagingItemReaderBuilder<T>()
+                .name(name)
+                .dataSource(dataSource)
+                .selectClause(selectClause)
+                .fromClause(fromClause)
+                .whereClause(whereClause)
+                .sortKeys(Map.of(SORT_KEY, Order.ASCENDING))
+                .parameterValues(parameterValues)
+                .pageSize(pageSize)
+                .fetchSize(pageSize)
+                .rowMapper(rowMapper)
+                .build();
+    }
+}
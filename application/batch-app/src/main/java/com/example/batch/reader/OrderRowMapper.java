@@ -0,0 +1,26 @@
+package com.example.batch.reader;
+
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// Order 도메인은 setter가 없으므로 BeanPropertyRowMapper 대신 빌더로 매핑한다
+public class OrderRowMapper implements RowMapper<Order> {
+
+    @Override
+    public Order mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return Order.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .status(OrderStatus.valueOf(rs.getString("status")))
+                .totalAmount(rs.getBigDecimal("total_amount"))
+                .orderDate(rs.getObject("order_date", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
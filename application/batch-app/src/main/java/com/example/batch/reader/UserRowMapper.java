@@ -0,0 +1,27 @@
+package com.example.batch.reader;
+
+import com.example.user.domain.User;
+import com.example.user.domain.UserRole;
+import com.example.user.domain.UserStatus;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// User 도메인은 setter/기본 생성자가 없으므로 BeanPropertyRowMapper 대신 빌더로 매핑한다
+public class UserRowMapper implements RowMapper<User> {
+
+    @Override
+    public User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return User.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .role(UserRole.valueOf(rs.getString("role")))
+                .status(UserStatus.valueOf(rs.getString("status")))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.batch.remote;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.integration.chunk.ChunkHandler;
+import org.springframework.batch.integration.chunk.ChunkRequest;
+import org.springframework.batch.integration.chunk.ChunkResponse;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.support.MessageBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.PollableChannel;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 요청 채널에서 청크를 꺼내 처리하고 결과를 응답 채널로 보내는 worker 스레드 묶음.
+// worker 는 서로 독립적으로 요청 큐를 소비하므로 수를 늘리면 처리량이 늘어난다.
+// 응답 채널이 등록되어 있지 않은 요청은 끝난 실행이 남긴 것이므로 처리하지 않고 버린다.
+// manager 스텝의 write 지표는 큐에 넣는 시간뿐이므로, 청크 처리(process + write + 커밋) 시간은 여기서 잰다
+@Slf4j
+public class ChunkWorkerPool<T> implements SmartLifecycle {
+
+    private static final long RECEIVE_TIMEOUT_MS = 1000;
+
+    private final String name;
+    private final int workers;
+    private final RemoteChunkChannels channels;
+    private final PollableChannel requests;
+    private final ChunkHandler<T> handler;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer chunkSuccess;
+    private final Timer chunkFailure;
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public ChunkWorkerPool(String name, int workers, RemoteChunkChannels channels, ChunkHandler<T> handler,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.workers = workers;
+        this.channels = channels;
+        this.requests = channels.requestQueue();
+        this.handler = handler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSuccess = chunkTimer(meterRegistry, "success");
+        this.chunkFailure = chunkTimer(meterRegistry, "failure");
+    }
+
+    private Timer chunkTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("batch.remote.chunk.duration")
+                .description("Time a remote chunking worker spent processing and committing one chunk")
+                .tags("workers", name, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::poll, name + "-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Started {} remote chunk workers for {}", workers, name);
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join(RECEIVE_TIMEOUT_MS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void poll() {
+        while (running) {
+            Message<?> message = requests.receive(RECEIVE_TIMEOUT_MS);
+            if (message == null) {
+                continue;
+            }
+            ChunkRequest<T> request = (ChunkRequest<T>) message.getPayload();
+            MessageChannel replies = channels.replies(request.getJobId());
+            if (replies == null) {
+                log.warn("{} dropped chunk {} of job instance {} with no running manager step", name,
+                        request.getSequence(), request.getJobId());
+                continue;
+            }
+            long start = System.nanoTime();
+            ChunkResponse response = handle(request);
+            (response.isSuccessful() ? chunkSuccess : chunkFailure)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            replies.send(MessageBuilder.withPayload(response).build());
+        }
+    }
+
+    // 청크 하나를 worker 트랜잭션 안에서 처리하고, 실패 응답이면 롤백한다
+    private ChunkResponse handle(ChunkRequest<T> request) {
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    ChunkResponse response = handler.handleChunk(request);
+                    if (!response.isSuccessful()) {
+                        status.setRollbackOnly();
+                    }
+                    return response;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("{} worker failed on chunk {}", name, request.getSequence(), e);
+            return new ChunkResponse(false, request.getSequence(), request.getJobId(),
+                    request.getStepContribution(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.batch.remote;
+
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.PollableChannel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// manager -> worker 요청 채널과 실행별 worker -> manager 응답 채널.
+// 요청 큐는 worker 들이 함께 소비하고, 응답은 요청의 job instance id 로 찾은 그 실행의 응답 채널로 보낸다.
+// 기본은 같은 JVM 안의 큐 채널이며, 브로커 기반 채널로 바꾸면 worker 를 다른 프로세스로 옮길 수 있다
+public class RemoteChunkChannels {
+
+    private final MessageChannel requests;
+    private final PollableChannel requestQueue;
+    private final Map<Long, MessageChannel> replies = new ConcurrentHashMap<>();
+
+    private RemoteChunkChannels(MessageChannel requests, PollableChannel requestQueue) {
+        this.requests = requests;
+        this.requestQueue = requestQueue;
+    }
+
+    // 요청 큐가 가득 차면 manager 의 send 가 막혀 읽기 속도가 worker 처리 속도에 맞춰진다
+    public static RemoteChunkChannels inMemory(int capacity) {
+        QueueChannel requests = new QueueChannel(capacity);
+        return new RemoteChunkChannels(requests, requests);
+    }
+
+    public MessageChannel requests() {
+        return requests;
+    }
+
+    public PollableChannel requestQueue() {
+        return requestQueue;
+    }
+
+    // manager 스텝이 시작할 때 자기 응답 채널을 등록하고 끝나면 지운다
+    public void registerReplies(Long jobId, MessageChannel replyChannel) {
+        replies.put(jobId, replyChannel);
+    }
+
+    public void unregisterReplies(Long jobId) {
+        replies.remove(jobId);
+    }
+
+    // 없으면 이미 끝난(실패한) 실행이 남긴 요청이다
+    public MessageChannel replies(Long jobId) {
+        return replies.get(jobId);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.batch.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.integration.chunk.ChunkMessageChannelItemWriter;
+import org.springframework.batch.integration.chunk.ChunkResponse;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.ChannelInterceptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+// manager 스텝의 writer. 청크를 요청 채널로 보내고, worker 가 커밋했다는 성공 응답을 받은 청크만 acknowledged 로 넘긴다.
+// 응답 채널은 스텝 실행마다 새로 만들어 등록하므로 동시에 도는 다른 실행과 응답이 섞이지 않는다.
+// 요청 sequence 는 ChunkMessageChannelItemWriter 가 비어 있지 않은 청크마다 0 부터 매기는 번호와 같게 센다
+@Slf4j
+public class RemoteChunkManagerWriter<T> implements ItemStreamWriter<T>, StepExecutionListener {
+
+    private final RemoteChunkChannels channels;
+    private final ChunkMessageChannelItemWriter<T> remote;
+    private final ItemWriter<T> acknowledged;
+    private final QueueChannel replies = new QueueChannel();
+    private final Map<Integer, Chunk<T>> pending = new HashMap<>();
+    private int sequence;
+    private Long jobId;
+
+    public RemoteChunkManagerWriter(RemoteChunkChannels channels, ChunkMessageChannelItemWriter<T> remote,
+                                    ItemWriter<T> acknowledged) {
+        this.channels = channels;
+        this.remote = remote;
+        this.acknowledged = acknowledged;
+        // 응답은 manager 스텝 스레드가 write / afterStep 안에서 꺼낸다
+        replies.addInterceptor(new ChannelInterceptor() {
+            @Override
+            public Message<?> postReceive(Message<?> message, MessageChannel channel) {
+                if (message != null && message.getPayload() instanceof ChunkResponse response) {
+                    acknowledge(response);
+                }
+                return message;
+            }
+        });
+        remote.setReplyChannel(replies);
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (!chunk.isEmpty()) {
+            if (acknowledged != null) {
+                pending.put(sequence, new Chunk<>(new ArrayList<>(chunk.getItems())));
+            }
+            sequence++;
+        }
+        remote.write(chunk);
+    }
+
+    private void acknowledge(ChunkResponse response) {
+        Chunk<T> chunk = pending.remove(response.getSequence());
+        if (chunk == null || !response.isSuccessful()) {
+            return;
+        }
+        try {
+            acknowledged.write(chunk);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to accumulate acknowledged chunk " + response.getSequence(), e);
+        }
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        jobId = stepExecution.getJobExecution().getJobId();
+        channels.registerReplies(jobId, replies);
+        remote.beforeStep(stepExecution);
+        if (acknowledged instanceof StepExecutionListener listener) {
+            listener.beforeStep(stepExecution);
+        }
+    }
+
+    // 남은 응답을 모두 받은 뒤에 acknowledged 의 afterStep 을 부른다
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        try {
+            ExitStatus exitStatus = remote.afterStep(stepExecution);
+            if (acknowledged instanceof StepExecutionListener listener) {
+                ExitStatus acknowledgedStatus = listener.afterStep(stepExecution);
+                if (acknowledgedStatus != null) {
+                    exitStatus = exitStatus == null ? acknowledgedStatus : exitStatus.and(acknowledgedStatus);
+                }
+            }
+            return exitStatus;
+        } finally {
+            channels.unregisterReplies(jobId);
+            if (!pending.isEmpty()) {
+                log.warn("{} chunks of job instance {} were never acknowledged", pending.size(), jobId);
+                pending.clear();
+            }
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        remote.open(executionContext);
+        if (acknowledged instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        remote.update(executionContext);
+        if (acknowledged instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() {
+        remote.close();
+        if (acknowledged instanceof ItemStream stream) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.batch.remote;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.step.item.ChunkProcessor;
+import org.springframework.batch.integration.chunk.ChunkMessageChannelItemWriter;
+import org.springframework.batch.integration.chunk.ChunkProcessorChunkHandler;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.integration.channel.QueueChannel;
+import org.springframework.integration.core.MessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// remote chunking 의 manager writer / worker pool / 채널을 같은 설정으로 만든다
+@Component
+@RequiredArgsConstructor
+public class RemoteChunkingFactory {
+
+    private static final long REPLY_POLL_MS = 1000;
+
+    private final RemoteChunkingProperties properties;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public RemoteChunkChannels channels(String name) {
+        RemoteChunkChannels channels = RemoteChunkChannels.inMemory(properties.getQueueCapacity());
+        if (channels.requestQueue() instanceof QueueChannel queue) {
+            Gauge.builder("batch.remote.chunk.queue", queue, QueueChannel::getQueueSize)
+                    .description("Chunks waiting for a remote chunking worker")
+                    .tag("step", name)
+                    .register(meterRegistry);
+        }
+        return channels;
+    }
+
+    // 처리 중인 청크가 (큐 크기 + worker 수) 를 넘으면 write 가 응답을 기다린다.
+    // acknowledged 는 worker 가 성공 응답을 보낸 청크만 받는다 (없으면 null). 스텝 실행마다 새로 만들어야 한다
+    public <T> RemoteChunkManagerWriter<T> managerWriter(RemoteChunkChannels channels, ItemWriter<T> acknowledged) {
+        MessagingTemplate template = new MessagingTemplate();
+        template.setDefaultChannel(channels.requests());
+        template.setReceiveTimeout(REPLY_POLL_MS);
+
+        ChunkMessageChannelItemWriter<T> writer = new ChunkMessageChannelItemWriter<>();
+        writer.setMessagingOperations(template);
+        writer.setThrottleLimit(properties.getQueueCapacity() + properties.getWorkers());
+        writer.setMaxWaitTimeouts((int) Math.max(1, properties.getReplyTimeout().toMillis() / REPLY_POLL_MS));
+        return new RemoteChunkManagerWriter<>(channels, writer, acknowledged);
+    }
+
+    public <T> ChunkWorkerPool<T> workers(String name, RemoteChunkChannels channels, ChunkProcessor<T> processor) {
+        ChunkProcessorChunkHandler<T> handler = new ChunkProcessorChunkHandler<>();
+        handler.setChunkProcessor(processor);
+        return new ChunkWorkerPool<>(name, properties.getWorkers(), channels, handler, transactionManager,
+                meterRegistry);
+    }
+}
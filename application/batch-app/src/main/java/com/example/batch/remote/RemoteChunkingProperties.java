@@ -0,0 +1,20 @@
+package com.example.batch.remote;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.batch.remote-chunking")
+public class RemoteChunkingProperties {
+
+    private boolean enabled = false;
+    private int workers = 4;
+    private int queueCapacity = 8;
+    private Duration replyTimeout = Duration.ofMinutes(10);
+}
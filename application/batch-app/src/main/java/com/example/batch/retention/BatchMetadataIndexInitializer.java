@@ -0,0 +1,33 @@
+package com.example.batch.retention;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// BATCH_* 테이블은 Spring Batch 가 만들므로 schema.sql 이 아니라 기동이 끝난 뒤 조회용 인덱스를 추가한다.
+// 이미 있거나 지원하지 않는 DB 이면 경고만 남기고 넘어간다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchMetadataIndexInitializer {
+
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("batch-metadata-indexes.sql"));
+        populator.setContinueOnError(true);
+        try {
+            populator.execute(dataSource);
+        } catch (Exception e) {
+            log.warn("Failed to create batch metadata indexes", e);
+        }
+    }
+}
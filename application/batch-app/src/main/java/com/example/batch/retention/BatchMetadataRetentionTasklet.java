@@ -0,0 +1,178 @@
+package com.example.batch.retention;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 보관 기간이 지난 job 실행을 job 별로 batchSize 건씩 지운다. tasklet 반복 한 번이 한 트랜잭션이다.
+// - 지우기 전에 (job, 일자, 상태)별 실행 수/소요 시간/읽기·쓰기 건수를 batch_job_history_summaries 에 더한다
+// - job 마다 최근 keepLast 개 인스턴스와 실행 중인 실행은 남긴다 (실패한 최근 인스턴스의 재시작과 실행 이력 조회용.
+//   워터마크는 batch_watermarks 에 있으므로 실행 기록을 지워도 영향이 없다)
+// - 지울 수 있는 가장 최근 인스턴스 id 는 스텝 시작 때 job 별로 한 번 구해 ChunkContext 에 두고 반복마다 재사용한다
+@Slf4j
+public class BatchMetadataRetentionTasklet implements Tasklet {
+
+    private static final String CUTOFFS_KEY = "retention.cutoffs";
+
+    // job 별 (keepLast + 1) 번째로 최근 인스턴스. 이 id 이하의 인스턴스만 지울 수 있다
+    private static final String CUTOFFS_SQL = """
+            SELECT r.JOB_NAME, r.JOB_INSTANCE_ID FROM (
+                SELECT JOB_NAME, JOB_INSTANCE_ID,
+                       ROW_NUMBER() OVER (PARTITION BY JOB_NAME ORDER BY JOB_INSTANCE_ID DESC) AS RN
+                FROM BATCH_JOB_INSTANCE) r
+            WHERE r.RN = ?
+            ORDER BY r.JOB_NAME
+            """;
+
+    private static final String CANDIDATES_SQL = """
+            SELECT e.JOB_EXECUTION_ID, e.JOB_INSTANCE_ID, i.JOB_NAME, e.STATUS, e.START_TIME, e.END_TIME,
+                   (SELECT COALESCE(SUM(s.READ_COUNT), 0) FROM BATCH_STEP_EXECUTION s
+                     WHERE s.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID) AS READ_COUNT,
+                   (SELECT COALESCE(SUM(s.WRITE_COUNT), 0) FROM BATCH_STEP_EXECUTION s
+                     WHERE s.JOB_EXECUTION_ID = e.JOB_EXECUTION_ID) AS WRITE_COUNT
+            FROM BATCH_JOB_EXECUTION e
+            JOIN BATCH_JOB_INSTANCE i ON i.JOB_INSTANCE_ID = e.JOB_INSTANCE_ID
+            WHERE i.JOB_NAME = ?
+              AND e.JOB_INSTANCE_ID <= ?
+              AND e.END_TIME < ?
+              AND e.STATUS NOT IN ('STARTING', 'STARTED', 'STOPPING')
+            ORDER BY e.JOB_EXECUTION_ID
+            FETCH FIRST ? ROWS ONLY
+            """;
+
+    private static final String UPDATE_SUMMARY_SQL = """
+            UPDATE batch_job_history_summaries
+            SET execution_count = execution_count + ?, total_duration_ms = total_duration_ms + ?,
+                max_duration_ms = GREATEST(max_duration_ms, ?), read_count = read_count + ?, write_count = write_count + ?
+            WHERE job_name = ? AND execution_date = ? AND status = ?
+            """;
+
+    private static final String INSERT_SUMMARY_SQL = """
+            INSERT INTO batch_job_history_summaries
+            (job_name, execution_date, status, execution_count, total_duration_ms, max_duration_ms, read_count, write_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // FK 순서대로 지운다
+    private static final List<String> DELETE_BY_EXECUTION = List.of(
+            "DELETE FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN "
+                    + "(SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (%s))",
+            "DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (%s)",
+            "DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (%s)",
+            "DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (%s)",
+            "DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (%s)");
+
+    private static final String DELETE_ORPHAN_INSTANCES_SQL = """
+            DELETE FROM BATCH_JOB_INSTANCE i
+            WHERE i.JOB_INSTANCE_ID IN (%s)
+              AND NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = i.JOB_INSTANCE_ID)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchRetentionProperties properties;
+
+    public BatchMetadataRetentionTasklet(DataSource dataSource, BatchRetentionProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        // CONTINUABLE 을 반환하는 동안 같은 ChunkContext 가 다음 반복에 넘어온다
+        @SuppressWarnings("unchecked")
+        Deque<JobCutoff> cutoffs = (Deque<JobCutoff>) chunkContext.getAttribute(CUTOFFS_KEY);
+        if (cutoffs == null) {
+            cutoffs = new ArrayDeque<>(jdbcTemplate.query(CUTOFFS_SQL, (rs, rowNum) ->
+                    new JobCutoff(rs.getString("JOB_NAME"), rs.getLong("JOB_INSTANCE_ID")),
+                    Math.max(0, properties.getKeepLast()) + 1));
+            chunkContext.setAttribute(CUTOFFS_KEY, cutoffs);
+        }
+        JobCutoff job = cutoffs.peek();
+        if (job == null) {
+            return RepeatStatus.FINISHED;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        List<Map<String, Object>> executions = jdbcTemplate.queryForList(CANDIDATES_SQL,
+                job.jobName(), job.maxInstanceId(), Timestamp.valueOf(cutoff), properties.getBatchSize());
+        if (executions.size() < properties.getBatchSize()) {
+            cutoffs.poll();
+        }
+        if (executions.isEmpty()) {
+            return cutoffs.isEmpty() ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+        }
+
+        Set<Long> executionIds = new LinkedHashSet<>();
+        Set<Long> instanceIds = new LinkedHashSet<>();
+        Map<HistoryKey, long[]> history = new HashMap<>();
+        for (Map<String, Object> row : executions) {
+            executionIds.add(((Number) row.get("JOB_EXECUTION_ID")).longValue());
+            instanceIds.add(((Number) row.get("JOB_INSTANCE_ID")).longValue());
+            accumulate(history, row);
+        }
+
+        history.forEach(this::addHistory);
+        String executionPlaceholders = placeholders(executionIds.size());
+        for (String sql : DELETE_BY_EXECUTION) {
+            jdbcTemplate.update(sql.formatted(executionPlaceholders), executionIds.toArray());
+        }
+        int instances = jdbcTemplate.update(DELETE_ORPHAN_INSTANCES_SQL.formatted(placeholders(instanceIds.size())),
+                instanceIds.toArray());
+
+        contribution.incrementWriteCount(executionIds.size());
+        log.info("Purged {} {} executions and {} job instances older than {}",
+                executionIds.size(), job.jobName(), instances, cutoff);
+        return cutoffs.isEmpty() ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    // 값 배열: [실행 수, 총 소요(ms), 최대 소요(ms), 읽기 건수, 쓰기 건수]
+    private void accumulate(Map<HistoryKey, long[]> history, Map<String, Object> row) {
+        Timestamp start = (Timestamp) row.get("START_TIME");
+        Timestamp end = (Timestamp) row.get("END_TIME");
+        LocalDateTime day = start != null ? start.toLocalDateTime() : end.toLocalDateTime();
+        long duration = start != null ? Math.max(0, end.getTime() - start.getTime()) : 0;
+
+        long[] values = history.computeIfAbsent(new HistoryKey((String) row.get("JOB_NAME"),
+                Date.valueOf(day.toLocalDate()), (String) row.get("STATUS")), key -> new long[5]);
+        values[0]++;
+        values[1] += duration;
+        values[2] = Math.max(values[2], duration);
+        values[3] += ((Number) row.get("READ_COUNT")).longValue();
+        values[4] += ((Number) row.get("WRITE_COUNT")).longValue();
+    }
+
+    private void addHistory(HistoryKey key, long[] values) {
+        int updated = jdbcTemplate.update(UPDATE_SUMMARY_SQL, values[0], values[1], values[2], values[3], values[4],
+                key.jobName(), key.day(), key.status());
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_SUMMARY_SQL, key.jobName(), key.day(), key.status(),
+                    values[0], values[1], values[2], values[3], values[4]);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private record HistoryKey(String jobName, Date day, String status) {
+    }
+
+    private record JobCutoff(String jobName, long maxInstanceId) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.batch.retention;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.batch.retention")
+public class BatchRetentionProperties {
+
+    private Duration retention = Duration.ofDays(30);
+    private int keepLast = 20;
+    private int batchSize = 500;
+}
@@ -0,0 +1,35 @@
+package com.example.batch.scheduler;
+
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// 클러스터 Quartz 가 체크인하는 SCHEDULER_STATE 테이블로 현재 살아 있는 배치 노드 수를 센다
+@Component
+public class BatchClusterNodes {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String tablePrefix;
+
+    public BatchClusterNodes(DataSource dataSource,
+                             @Value("${spring.quartz.properties.org.quartz.jobStore.tablePrefix:QRTZ_}") String tablePrefix) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.tablePrefix = tablePrefix;
+    }
+
+    public int liveNodeCount(Scheduler scheduler) throws SchedulerException {
+        if (!scheduler.getMetaData().isJobStoreClustered()) {
+            return 1;
+        }
+        // 체크인 간격의 두 배 안에 체크인한 인스턴스만 살아 있는 것으로 본다 (Quartz 의 장애 감지 기준과 동일)
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + tablePrefix + "SCHEDULER_STATE"
+                        + " WHERE SCHED_NAME = ? AND LAST_CHECKIN_TIME + CHECKIN_INTERVAL * 2 >= ?",
+                Integer.class, scheduler.getSchedulerName(), System.currentTimeMillis());
+        return count != null ? Math.max(count, 1) : 1;
+    }
+}
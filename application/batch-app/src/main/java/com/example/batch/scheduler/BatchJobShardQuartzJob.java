@@ -0,0 +1,100 @@
+package com.example.batch.scheduler;
+
+import com.example.batch.shard.JobShard;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobKey;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+
+// ShardedJobDispatcher 가 예약한 1회성 트리거로 실행된다. 클러스터의 어느 노드에서든 자기 shard 하나를 실행한다.
+// - shard 는 Quartz 스레드에서 동기로 실행하므로, 실행 중인 노드는 그만큼 슬롯이 찬 상태로 남는다
+// - 노드당 동시 shard 수(concurrency-per-node, ShardSlots)를 넘으면 실행하지 않고 retry-delay 뒤로 다시 예약한다.
+//   그 사이 여유 있는 다른 노드가 가져가며, shard 를 버리거나 FAILED 로 남기지 않는다
+@Slf4j
+@Component
+public class BatchJobShardQuartzJob implements Job {
+
+    public static final JobKey KEY = JobKey.jobKey("batchJobShard");
+
+    static final String JOB_NAME = "jobName";
+    static final String TIMESTAMP = "timestamp";
+
+    private final ShardSlots slots;
+    private final Map<String, org.springframework.batch.core.Job> batchJobs;
+    private final Duration retryDelay;
+
+    public BatchJobShardQuartzJob(ShardSlots slots,
+                                  Map<String, org.springframework.batch.core.Job> batchJobs,
+                                  @Value("${app.batch.schedule.shard.retry-delay:30s}") Duration retryDelay) {
+        this.slots = slots;
+        this.batchJobs = batchJobs;
+        this.retryDelay = retryDelay;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        JobDataMap data = context.getMergedJobDataMap();
+        String jobName = data.getString(JOB_NAME);
+        JobShard shard = new JobShard(data.getLong(JobShard.INDEX_PARAM), data.getLong(JobShard.COUNT_PARAM));
+        org.springframework.batch.core.Job job = batchJobs.get(jobName);
+        if (job == null) {
+            throw new JobExecutionException("Unknown batch job: " + jobName);
+        }
+        if (!slots.tryAcquire()) {
+            defer(context, jobName, shard);
+            return;
+        }
+        try {
+            log.info("Starting {} shard {}/{} on {}", jobName, shard.index(), shard.count(),
+                    context.getScheduler().getSchedulerInstanceId());
+
+            // 같은 회차의 shard 들은 timestamp 를 공유하고 shard 파라미터로 서로 다른 job instance 가 된다
+            JobParameters jobParameters = shard.addTo(new JobParametersBuilder()
+                            .addLong(TIMESTAMP, data.getLong(TIMESTAMP)))
+                    .toJobParameters();
+
+            JobExecution execution = slots.run(job, jobParameters);
+            log.info("Finished {} shard {}/{} with status {}", jobName, shard.index(), shard.count(),
+                    execution.getStatus());
+        } catch (Exception e) {
+            log.error("Failed to execute {} shard {}/{}", jobName, shard.index(), shard.count(), e);
+            throw new JobExecutionException(e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    // 같은 데이터로 1회성 트리거를 다시 만든다. 클러스터의 어느 노드든 가져갈 수 있다
+    private void defer(JobExecutionContext context, String jobName, JobShard shard) throws JobExecutionException {
+        Trigger retry = TriggerBuilder.newTrigger()
+                .forJob(KEY)
+                .withIdentity(ShardedJobDispatcher.triggerName(jobName, shard, context.getMergedJobDataMap().getLong(TIMESTAMP))
+                        + "-retry-" + System.currentTimeMillis())
+                .usingJobData(context.getTrigger().getJobDataMap())
+                .startAt(new Date(System.currentTimeMillis() + retryDelay.toMillis()))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        try {
+            context.getScheduler().scheduleJob(retry);
+            log.info("Deferred {} shard {}/{} by {}: no free shard slot on this node",
+                    jobName, shard.index(), shard.count(), retryDelay);
+        } catch (SchedulerException e) {
+            throw new JobExecutionException(e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.batch.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DisallowConcurrentExecution
+public class BatchMetadataRetentionQuartzJob implements Job {
+
+    private final JobLauncher jobLauncher;
+    private final org.springframework.batch.core.Job batchMetadataRetentionJob;
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            log.info("Starting Batch Metadata Retention Quartz Job");
+            
+            JobParameters jobParameters = new JobParametersBuilder()
+                    .addLong("timestamp", System.currentTimeMillis())
+                    .toJobParameters();
+                    
+            jobLauncher.run(batchMetadataRetentionJob, jobParameters);
+            
+            log.info("Batch Metadata Retention Quartz Job launched successfully");
+        } catch (Exception e) {
+            log.error("Failed to execute Batch Metadata Retention Quartz Job", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.batch.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@DisallowConcurrentExecution
 public class OrderReportQuartzJob implements Job {
 
     private final JobLauncher jobLauncher;
@@ -23,13 +25,14 @@ public class OrderReportQuartzJob implements Job {
         try {
             log.info("Starting Order Report Quartz Job");
             
+            // 요약 스텝이 전체 주문을 한 번에 집계하므로 shard 로 나누지 않고 (노드 안에서 파티션 병렬 처리) 한 노드에서만 실행한다
             JobParameters jobParameters = new JobParametersBuilder()
                     .addLong("timestamp", System.currentTimeMillis())
                     .toJobParameters();
                     
             jobLauncher.run(orderReportJob, jobParameters);
             
-            log.info("Order Report Quartz Job completed successfully");
+            log.info("Order Report Quartz Job launched successfully");
         } catch (Exception e) {
             log.error("Failed to execute Order Report Quartz Job", e);
             throw new JobExecutionException(e);
@@ -0,0 +1,54 @@
+package com.example.batch.scheduler;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+// 이 노드에서 동시에 실행하는 shard 수를 제한한다.
+// Quartz 는 트리거가 발화할 때마다 Job 인스턴스를 새로 만들므로, 슬롯과 launcher 는 싱글턴인 이 빈이 가진다
+@Component
+public class ShardSlots {
+
+    private final Semaphore slots;
+    private final JobLauncher launcher;
+
+    @Autowired
+    public ShardSlots(JobRepository jobRepository,
+                      @Value("${app.batch.schedule.shard.concurrency-per-node:1}") int concurrencyPerNode) throws Exception {
+        // 공용 launcher 는 대기열/거절이 있는 비동기 executor 를 쓰므로, shard 는 동기 launcher 로 직접 실행한다
+        this(synchronousLauncher(jobRepository), concurrencyPerNode);
+    }
+
+    ShardSlots(JobLauncher launcher, int concurrencyPerNode) {
+        this.launcher = launcher;
+        this.slots = new Semaphore(Math.max(1, concurrencyPerNode));
+    }
+
+    private static JobLauncher synchronousLauncher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+
+    public boolean tryAcquire() {
+        return slots.tryAcquire();
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    // 호출한 (Quartz) 스레드에서 끝날 때까지 실행한다
+    public JobExecution run(Job job, JobParameters jobParameters) throws Exception {
+        return launcher.run(job, jobParameters);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.batch.scheduler;
+
+import com.example.batch.shard.JobShard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.stereotype.Component;
+
+// 살아 있는 노드 수만큼 job 을 shard 로 나누고, shard 마다 1회성 Quartz 트리거를 예약한다.
+// 클러스터 Quartz 는 트리거 하나를 한 노드에서만 실행하며, 여러 트리거는 여유가 있는 노드들이 나눠 가져간다.
+// 노드마다 동시에 실행하는 shard 수는 BatchJobShardQuartzJob 이 제한한다 (넘치는 shard 는 다시 예약)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShardedJobDispatcher {
+
+    private final BatchClusterNodes clusterNodes;
+
+    // maxShards 가 0 이면 노드 수만큼, 1 이면 shard 없이 한 번에 실행한다
+    public int dispatch(Scheduler scheduler, String jobName, int maxShards) throws SchedulerException {
+        int nodes = clusterNodes.liveNodeCount(scheduler);
+        int shards = maxShards > 0 ? Math.min(maxShards, nodes) : nodes;
+        long timestamp = System.currentTimeMillis();
+
+        for (int index = 0; index < shards; index++) {
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .forJob(BatchJobShardQuartzJob.KEY)
+                    .withIdentity(triggerName(jobName, new JobShard(index, shards), timestamp))
+                    .usingJobData(BatchJobShardQuartzJob.JOB_NAME, jobName)
+                    .usingJobData(BatchJobShardQuartzJob.TIMESTAMP, timestamp)
+                    .usingJobData(JobShard.INDEX_PARAM, (long) index)
+                    .usingJobData(JobShard.COUNT_PARAM, (long) shards)
+                    .startNow()
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                    .build();
+            scheduler.scheduleJob(trigger);
+        }
+        log.info("Dispatched {} in {} shard(s) across {} live node(s)", jobName, shards, nodes);
+        return shards;
+    }
+
+    static String triggerName(String jobName, JobShard shard, long timestamp) {
+        return jobName + "-shard-" + shard.index() + "-of-" + shard.count() + "-" + timestamp;
+    }
+}
@@ -2,34 +2,33 @@ package com.example.batch.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
-import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
-import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@DisallowConcurrentExecution
 public class UserStatisticsQuartzJob implements Job {
 
-    private final JobLauncher jobLauncher;
-    private final org.springframework.batch.core.Job userStatisticsJob;
+    private final ShardedJobDispatcher shardedJobDispatcher;
+
+    @Value("${app.batch.schedule.user-statistics.max-shards:0}")
+    private int maxShards;
 
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
         try {
             log.info("Starting User Statistics Quartz Job");
             
-            JobParameters jobParameters = new JobParametersBuilder()
-                    .addLong("timestamp", System.currentTimeMillis())
-                    .toJobParameters();
-                    
-            jobLauncher.run(userStatisticsJob, jobParameters);
+            // 사용자 단위로 독립적으로 갱신되므로 살아 있는 노드 수만큼 나눠 실행한다
+            shardedJobDispatcher.dispatch(context.getScheduler(), "userStatisticsJob", maxShards);
             
-            log.info("User Statistics Quartz Job completed successfully");
+            log.info("User Statistics Quartz Job dispatched successfully");
         } catch (Exception e) {
             log.error("Failed to execute User Statistics Quartz Job", e);
             throw new JobExecutionException(e);
@@ -0,0 +1,45 @@
+package com.example.batch.shard;
+
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+
+import java.util.Arrays;
+
+// 여러 배치 노드가 같은 job 을 나눠 실행할 때 이번 실행이 맡는 몫.
+// 키(id) 를 shard 수로 나눈 나머지가 index 인 행만 처리하므로 shard 끼리 겹치지 않는다
+public record JobShard(long index, long count) {
+
+    public static final String INDEX_PARAM = "shard.index";
+    public static final String COUNT_PARAM = "shard.count";
+
+    public static final JobShard ALL = new JobShard(0, 1);
+
+    public static JobShard of(JobParameters parameters) {
+        Long count = parameters.getLong(COUNT_PARAM);
+        Long index = parameters.getLong(INDEX_PARAM);
+        return count != null && count > 1 ? new JobShard(index != null ? index : 0, count) : ALL;
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public String condition(String column) {
+        return isSharded() ? "MOD(" + column + ", ?) = ?" : "1 = 1";
+    }
+
+    // 앞선 조건의 인자 뒤에 shard 조건 인자를 붙인다
+    public Object[] appendArguments(Object[] arguments) {
+        if (!isSharded()) {
+            return arguments;
+        }
+        Object[] appended = Arrays.copyOf(arguments, arguments.length + 2);
+        appended[arguments.length] = count;
+        appended[arguments.length + 1] = index;
+        return appended;
+    }
+
+    public JobParametersBuilder addTo(JobParametersBuilder builder) {
+        return builder.addLong(INDEX_PARAM, index).addLong(COUNT_PARAM, count);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.batch.sketch;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 스텝(파티션) 하나가 처리한 주문의 (일자, 카테고리)별 스케치. 스케치는 커밋 때 일정 수를 넘으면, 그리고 스텝이 끝날 때
+// order_value_sketch_parts 에 내보내고 메모리에서 비운다. ExecutionContext 에는 일자 목록만 남는다.
+// 스케치를 모으지 않는 일자(증분 실행, 재시작 이전 구간)는 다시 스캔할 일자로만 기록한다
+public class OrderSketchAccumulator {
+
+    // 청크 커밋마다 갱신되는 처리 일자 (재시작 시 다시 스캔할 일자)
+    public static final String DAYS_CONTEXT_KEY = "orderSketchDays";
+    // 스텝이 COMPLETED 될 때만 기록된다. 이 키가 있는 스텝 실행의 부분 스케치만 병합한다
+    public static final String RESCAN_DAYS_CONTEXT_KEY = "orderSketchRescanDays";
+
+    private final double compression;
+    private final int hllPrecision;
+    private final HashMap<OrderSketchKey, OrderValueSketch> sketches = new HashMap<>();
+    private final TreeSet<LocalDate> days = new TreeSet<>();
+    private final TreeSet<LocalDate> rescanDays = new TreeSet<>();
+
+    public OrderSketchAccumulator(double compression, int hllPrecision) {
+        this.compression = compression;
+        this.hllPrecision = hllPrecision;
+    }
+
+    public void touch(LocalDate day) {
+        days.add(day);
+    }
+
+    public void markForRescan(LocalDate day) {
+        days.add(day);
+        rescanDays.add(day);
+    }
+
+    public void add(LocalDate day, long categoryId, double amount, Long userId) {
+        days.add(day);
+        sketches.computeIfAbsent(new OrderSketchKey(day, categoryId), key -> newSketch()).add(amount, userId);
+    }
+
+    public Map<OrderSketchKey, OrderValueSketch> getSketches() {
+        return Collections.unmodifiableMap(sketches);
+    }
+
+    // 내보낸 스케치를 버린다. 일자 목록은 유지한다
+    public void clearSketches() {
+        sketches.clear();
+    }
+
+    public Set<LocalDate> getDays() {
+        return Collections.unmodifiableSet(days);
+    }
+
+    public Set<LocalDate> getRescanDays() {
+        return Collections.unmodifiableSet(rescanDays);
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+
+    private OrderValueSketch newSketch() {
+        return new OrderValueSketch(compression, hllPrecision);
+    }
+}
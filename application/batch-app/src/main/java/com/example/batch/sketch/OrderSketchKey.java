@@ -0,0 +1,10 @@
+package com.example.batch.sketch;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// 일 단위 + 카테고리별 스케치 키. categoryId 가 ALL_CATEGORIES 이면 카테고리 구분 없는 주문 전체
+public record OrderSketchKey(LocalDate day, long categoryId) implements Serializable {
+
+    public static final long ALL_CATEGORIES = 0L;
+}
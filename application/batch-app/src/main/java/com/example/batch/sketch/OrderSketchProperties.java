@@ -0,0 +1,23 @@
+package com.example.batch.sketch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.batch.sketch")
+public class OrderSketchProperties {
+
+    // t-digest 압축 계수. 클수록 centroid 가 많아지고(최대 약 compression 개) 분위수가 정확해진다
+    private double compression = 100;
+
+    // HyperLogLog 레지스터 수 = 2^hllPrecision. 12 이면 4KB, 표준 오차 약 1.6%
+    private int hllPrecision = 12;
+
+    // 스텝이 메모리에 들고 있는 (일자, 카테고리) 스케치 수 상한. 넘으면 커밋 때 order_value_sketch_parts 로 내보낸다
+    // (스케치 하나에 HLL 2^hllPrecision bytes + t-digest 최대 약 compression x 16 bytes)
+    private int flushSketches = 1000;
+}
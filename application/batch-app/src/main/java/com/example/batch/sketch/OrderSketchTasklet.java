@@ -0,0 +1,175 @@
+package com.example.batch.sketch;
+
+import com.example.batch.aggregate.LatestStepExecutions;
+import com.example.batch.incremental.WatermarkRange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// 앞선 스텝(또는 파티션 worker)들이 order_value_sketch_parts 에 남긴 부분 스케치를 일자별로 합쳐 order_value_sketches 행을 교체한다.
+// 재시작된 job 이면 이전 실행에서 COMPLETED 된 스텝의 부분 스케치도 job instance 의 최신 StepExecution 으로 찾는다.
+// 메모리에는 한 번에 하루치 스케치만 올리고, 끝나면 job instance 의 부분 스케치를 모두 지운다.
+// t-digest/HLL 은 삭제를 지원하지 않으므로, 증분 실행(또는 재시작된 스텝)의 일자는 주문을 다시 스캔해 그 날의 스케치를 새로 만든다
+@Slf4j
+public class OrderSketchTasklet implements Tasklet {
+
+    private static final String ORDERS_SQL = """
+            SELECT user_id, total_amount FROM orders
+            WHERE order_date >= ? AND order_date < ? AND status <> 'CANCELLED'
+            """;
+
+    private static final String CATEGORY_AMOUNTS_SQL = """
+            SELECT o.user_id, p.category_id, SUM(oi.total_price) AS amount
+            FROM order_items oi
+            JOIN orders o ON o.id = oi.order_id
+            JOIN products p ON p.id = oi.product_id
+            WHERE o.order_date >= ? AND o.order_date < ? AND o.status <> 'CANCELLED' AND p.category_id IS NOT NULL
+            GROUP BY o.id, o.user_id, p.category_id
+            """;
+
+    private static final String PARTS_SQL = """
+            SELECT category_id, value_digest, buyer_hll FROM order_value_sketch_parts
+            WHERE sketch_date = ? AND step_execution_id IN (%s)
+            """;
+
+    private static final String DELETE_PARTS_SQL = "DELETE FROM order_value_sketch_parts WHERE step_execution_id IN (%s)";
+
+    private static final String DELETE_SQL = "DELETE FROM order_value_sketches WHERE sketch_date = ?";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO order_value_sketches
+            (sketch_date, category_id, order_count, p50, p95, p99, distinct_buyers, value_digest, buyer_hll, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobExplorer jobExplorer;
+    private final OrderSketchProperties properties;
+
+    public OrderSketchTasklet(DataSource dataSource, JobExplorer jobExplorer, OrderSketchProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1000);
+        this.jobExplorer = jobExplorer;
+        this.properties = properties;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        StepExecution current = chunkContext.getStepContext().getStepExecution();
+        TreeSet<LocalDate> days = new TreeSet<>();
+        Set<LocalDate> rescanDays = new HashSet<>();
+        List<Long> sketchedSteps = new ArrayList<>();
+        for (StepExecution stepExecution : LatestStepExecutions.of(jobExplorer, current.getJobExecution())) {
+            ExecutionContext context = stepExecution.getExecutionContext();
+            if (context.containsKey(OrderSketchAccumulator.RESCAN_DAYS_CONTEXT_KEY)) {
+                days.addAll((Collection<LocalDate>) context.get(OrderSketchAccumulator.DAYS_CONTEXT_KEY));
+                rescanDays.addAll((Collection<LocalDate>) context.get(OrderSketchAccumulator.RESCAN_DAYS_CONTEXT_KEY));
+                sketchedSteps.add(stepExecution.getId());
+            }
+        }
+
+        if (days.isEmpty()) {
+            log.info("No orders sketched, skipping sketch update");
+            deleteStagedSketches(current);
+            return RepeatStatus.FINISHED;
+        }
+
+        boolean incremental = WatermarkRange.of(current.getJobExecution().getExecutionContext(), "orders")
+                .isIncremental();
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        int rows = 0;
+        for (LocalDate day : days) {
+            Map<OrderSketchKey, OrderValueSketch> sketches = rescanDays.contains(day)
+                    ? rescan(day).getSketches() : stagedSketches(day, sketchedSteps);
+            List<Object[]> batch = new ArrayList<>(sketches.size());
+            sketches.forEach((key, sketch) -> batch.add(toRow(key, sketch, updatedAt)));
+            jdbcTemplate.update(DELETE_SQL, day);
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            rows += batch.size();
+        }
+        deleteStagedSketches(current);
+
+        contribution.incrementWriteCount(rows);
+        log.info("Order value sketches updated ({}): {} days ({} rescanned), {} rows",
+                incremental ? "incremental" : "full", days.size(), rescanDays.size(), rows);
+        return RepeatStatus.FINISHED;
+    }
+
+    private Map<OrderSketchKey, OrderValueSketch> stagedSketches(LocalDate day, List<Long> stepExecutionIds) {
+        Map<OrderSketchKey, OrderValueSketch> sketches = new HashMap<>();
+        Object[] args = new Object[stepExecutionIds.size() + 1];
+        args[0] = day;
+        for (int i = 0; i < stepExecutionIds.size(); i++) {
+            args[i + 1] = stepExecutionIds.get(i);
+        }
+        String placeholders = String.join(", ", Collections.nCopies(stepExecutionIds.size(), "?"));
+        jdbcTemplate.query(PARTS_SQL.formatted(placeholders), rs -> {
+            OrderValueSketch part = OrderValueSketch.read(rs);
+            sketches.merge(new OrderSketchKey(day, rs.getLong("category_id")), part, (merged, other) -> {
+                merged.merge(other);
+                return merged;
+            });
+        }, args);
+        return sketches;
+    }
+
+    // 실패한 실행이 청크 커밋 때 내보낸 부분 스케치도 함께 지운다
+    private void deleteStagedSketches(StepExecution current) {
+        List<Long> stepExecutionIds = new ArrayList<>();
+        for (JobExecution execution : jobExplorer.getJobExecutions(current.getJobExecution().getJobInstance())) {
+            for (StepExecution stepExecution : execution.getStepExecutions()) {
+                stepExecutionIds.add(stepExecution.getId());
+            }
+        }
+        if (!stepExecutionIds.isEmpty()) {
+            String placeholders = String.join(", ", Collections.nCopies(stepExecutionIds.size(), "?"));
+            jdbcTemplate.update(DELETE_PARTS_SQL.formatted(placeholders), stepExecutionIds.toArray());
+        }
+    }
+
+    private OrderSketchAccumulator rescan(LocalDate day) {
+        OrderSketchAccumulator accumulator = newAccumulator();
+        Object[] range = {day.atStartOfDay(), day.plusDays(1).atStartOfDay()};
+        jdbcTemplate.query(ORDERS_SQL, rs -> {
+            accumulator.add(day, OrderSketchKey.ALL_CATEGORIES, rs.getBigDecimal("total_amount").doubleValue(),
+                    rs.getLong("user_id"));
+        }, range);
+        jdbcTemplate.query(CATEGORY_AMOUNTS_SQL, rs -> {
+            accumulator.add(day, rs.getLong("category_id"), rs.getBigDecimal("amount").doubleValue(),
+                    rs.getLong("user_id"));
+        }, range);
+        return accumulator;
+    }
+
+    private OrderSketchAccumulator newAccumulator() {
+        return new OrderSketchAccumulator(properties.getCompression(), properties.getHllPrecision());
+    }
+
+    private static Object[] toRow(OrderSketchKey key, OrderValueSketch sketch, Timestamp updatedAt) {
+        return new Object[]{key.day(), key.categoryId(), sketch.getOrderCount(),
+                sketch.quantileAmount(0.5), sketch.quantileAmount(0.95), sketch.quantileAmount(0.99),
+                sketch.getDistinctBuyers(), sketch.getValues().toBytes(), sketch.getBuyers().toBytes(), updatedAt};
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.batch.sketch;
+
+import com.example.batch.model.OrderReport;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// 주문별 리포트를 delegate 로 넘기면서 같은 패스에서 (일자, 카테고리)별 주문 금액/구매자 스케치를 누적한다.
+// 카테고리별 금액은 청크의 order_id 를 모아 order_items 를 IN (...) 쿼리로 한 번에 읽는다. 취소 주문은 스케치에서 제외한다.
+// 스케치는 ExecutionContext 에 넣지 않는다. 메모리의 스케치가 flush-sketches 개를 넘으면 청크 커밋(update)에서,
+// 나머지는 스텝이 COMPLETED 될 때 order_value_sketch_parts 에 스텝 실행 id 로 내보낸다. ExecutionContext 에는 일자 목록만 남긴다.
+// 재시작된 스텝은 이전 실행의 스케치가 없으므로 남은 청크까지 일자만 기록하고 스케치 스텝이 그 일자를 다시 스캔한다
+public class OrderSketchingWriter implements ItemStreamWriter<OrderReport>, StepExecutionListener {
+
+    private static final int MAX_IN_PARAMETERS = 1000;
+
+    private static final String CATEGORY_AMOUNTS_SQL = """
+            SELECT oi.order_id, p.category_id, SUM(oi.total_price) AS amount
+            FROM order_items oi
+            JOIN products p ON p.id = oi.product_id
+            WHERE p.category_id IS NOT NULL AND oi.order_id IN (%s)
+            GROUP BY oi.order_id, p.category_id
+            """;
+
+    private static final String INSERT_PART_SQL = """
+            INSERT INTO order_value_sketch_parts (step_execution_id, sketch_date, category_id, value_digest, buyer_hll)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemWriter<OrderReport> delegate;
+    private final int flushSketches;
+    private boolean collectSketches;
+    private Long stepExecutionId;
+    private OrderSketchAccumulator accumulator;
+
+    // collectSketches 가 false 이면(증분 실행) 변경된 일자만 기록하고, 스케치 스텝이 그 일자를 다시 스캔한다
+    public OrderSketchingWriter(DataSource dataSource, ItemWriter<OrderReport> delegate,
+                                OrderSketchProperties properties, boolean collectSketches) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.delegate = delegate;
+        this.collectSketches = collectSketches;
+        this.flushSketches = properties.getFlushSketches();
+        this.accumulator = new OrderSketchAccumulator(properties.getCompression(), properties.getHllPrecision());
+    }
+
+    @Override
+    public void write(Chunk<? extends OrderReport> chunk) throws Exception {
+        delegate.write(chunk);
+        Map<Long, OrderReport> sketched = new HashMap<>(chunk.size() * 2);
+        for (OrderReport report : chunk) {
+            LocalDate day = report.getOrderDate().toLocalDate();
+            if (!collectSketches) {
+                accumulator.markForRescan(day);
+                continue;
+            }
+            if ("CANCELLED".equals(report.getOrderStatus())) {
+                accumulator.touch(day);
+                continue;
+            }
+            accumulator.add(day, OrderSketchKey.ALL_CATEGORIES, report.getTotalAmount().doubleValue(),
+                    report.getUserId());
+            sketched.put(report.getOrderId(), report);
+        }
+        addCategoryAmounts(sketched);
+    }
+
+    private void addCategoryAmounts(Map<Long, OrderReport> reports) {
+        List<Long> orderIds = new ArrayList<>(reports.keySet());
+        for (int from = 0; from < orderIds.size(); from += MAX_IN_PARAMETERS) {
+            List<Long> batch = orderIds.subList(from, Math.min(from + MAX_IN_PARAMETERS, orderIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.query(CATEGORY_AMOUNTS_SQL.formatted(placeholders), rs -> {
+                OrderReport report = reports.get(rs.getLong("order_id"));
+                accumulator.add(report.getOrderDate().toLocalDate(), rs.getLong("category_id"),
+                        rs.getBigDecimal("amount").doubleValue(), report.getUserId());
+            }, batch.toArray());
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        if (executionContext.containsKey(OrderSketchAccumulator.DAYS_CONTEXT_KEY)) {
+            // 재시작: 이전 실행이 내보낸 부분 스케치는 병합하지 않으므로 그 일자와 이후 일자를 모두 다시 스캔 대상으로 둔다
+            @SuppressWarnings("unchecked")
+            TreeSet<LocalDate> days = (TreeSet<LocalDate>) executionContext.get(OrderSketchAccumulator.DAYS_CONTEXT_KEY);
+            days.forEach(accumulator::markForRescan);
+            collectSketches = false;
+        }
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        // 청크 트랜잭션 안에서 호출되므로 내보낸 스케치는 청크와 함께 커밋된다
+        if (accumulator.getSketches().size() >= flushSketches) {
+            flushSketches();
+        }
+        executionContext.put(OrderSketchAccumulator.DAYS_CONTEXT_KEY, new TreeSet<>(accumulator.getDays()));
+        if (delegate instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        stepExecutionId = stepExecution.getId();
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus() == BatchStatus.COMPLETED) {
+            flushSketches();
+            ExecutionContext context = stepExecution.getExecutionContext();
+            context.put(OrderSketchAccumulator.DAYS_CONTEXT_KEY, new TreeSet<>(accumulator.getDays()));
+            context.put(OrderSketchAccumulator.RESCAN_DAYS_CONTEXT_KEY, new TreeSet<>(accumulator.getRescanDays()));
+        }
+        return null;
+    }
+
+    private void flushSketches() {
+        List<Object[]> rows = new ArrayList<>(accumulator.getSketches().size());
+        accumulator.getSketches().forEach((key, sketch) -> rows.add(new Object[]{stepExecutionId, key.day(),
+                key.categoryId(), sketch.getValues().toBytes(), sketch.getBuyers().toBytes()}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PART_SQL, rows);
+        }
+        accumulator.clearSketches();
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+    }
+}
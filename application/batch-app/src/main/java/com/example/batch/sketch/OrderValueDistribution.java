@@ -0,0 +1,22 @@
+package com.example.batch.sketch;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// 기간(일자 스케치 병합) x 카테고리의 주문 금액 분위수와 구매자 수 추정치
+public record OrderValueDistribution(
+        LocalDate from,
+        LocalDate to,
+        long categoryId,
+        long orderCount,
+        BigDecimal p50,
+        BigDecimal p95,
+        BigDecimal p99,
+        long distinctBuyers) {
+
+    static OrderValueDistribution of(LocalDate from, LocalDate to, long categoryId, OrderValueSketch sketch) {
+        return new OrderValueDistribution(from, to, categoryId, sketch.getOrderCount(),
+                sketch.quantileAmount(0.5), sketch.quantileAmount(0.95), sketch.quantileAmount(0.99),
+                sketch.getDistinctBuyers());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.batch.sketch;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// (일자, 카테고리) 하나의 주문 금액 분위수 + 구매자 수 스케치
+public class OrderValueSketch implements Serializable {
+
+    private final TDigest values;
+    private final HyperLogLog buyers;
+
+    public OrderValueSketch(double compression, int hllPrecision) {
+        this(new TDigest(compression), new HyperLogLog(hllPrecision));
+    }
+
+    public OrderValueSketch(TDigest values, HyperLogLog buyers) {
+        this.values = values;
+        this.buyers = buyers;
+    }
+
+    // value_digest / buyer_hll 컬럼 (order_value_sketches, order_value_sketch_parts)
+    public static OrderValueSketch read(ResultSet rs) throws SQLException {
+        return new OrderValueSketch(TDigest.fromBytes(rs.getBytes("value_digest")),
+                HyperLogLog.fromBytes(rs.getBytes("buyer_hll")));
+    }
+
+    public void add(double amount, Long userId) {
+        values.add(amount);
+        if (userId != null) {
+            buyers.add(userId);
+        }
+    }
+
+    public void merge(OrderValueSketch other) {
+        values.merge(other.values);
+        buyers.merge(other.buyers);
+    }
+
+    public long getOrderCount() {
+        return values.size();
+    }
+
+    public double quantile(double q) {
+        return values.quantile(q);
+    }
+
+    // 금액 컬럼(DECIMAL(19, 2))과 같은 단위로 반올림한다. 빈 스케치는 null
+    public BigDecimal quantileAmount(double q) {
+        return getOrderCount() == 0 ? null : BigDecimal.valueOf(values.quantile(q)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public long getDistinctBuyers() {
+        return buyers.estimate();
+    }
+
+    public TDigest getValues() {
+        return values;
+    }
+
+    public HyperLogLog getBuyers() {
+        return buyers;
+    }
+}
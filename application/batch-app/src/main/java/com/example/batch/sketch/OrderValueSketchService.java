@@ -0,0 +1,54 @@
+package com.example.batch.sketch;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// order_value_sketches 의 일자별 스케치를 읽어 요청한 기간으로 병합한다.
+// 주문 원본을 정렬/distinct 스캔하지 않고, 기간의 일수 x 카테고리 수만큼의 작은 행만 읽는다
+@Service
+public class OrderValueSketchService {
+
+    private static final String SKETCHES_SQL = """
+            SELECT category_id, value_digest, buyer_hll
+            FROM order_value_sketches
+            WHERE sketch_date BETWEEN ? AND ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderSketchProperties properties;
+
+    public OrderValueSketchService(DataSource dataSource, OrderSketchProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    public OrderValueDistribution distribution(LocalDate from, LocalDate to, long categoryId) {
+        OrderValueSketch merged = newSketch();
+        jdbcTemplate.query(SKETCHES_SQL + " AND category_id = ?", rs -> {
+            merged.merge(OrderValueSketch.read(rs));
+        }, from, to, categoryId);
+        return OrderValueDistribution.of(from, to, categoryId, merged);
+    }
+
+    public List<OrderValueDistribution> distributionsByCategory(LocalDate from, LocalDate to) {
+        Map<Long, OrderValueSketch> byCategory = new TreeMap<>();
+        jdbcTemplate.query(SKETCHES_SQL + " AND category_id <> ?", rs -> {
+            byCategory.computeIfAbsent(rs.getLong("category_id"), id -> newSketch()).merge(OrderValueSketch.read(rs));
+        }, from, to, OrderSketchKey.ALL_CATEGORIES);
+        List<OrderValueDistribution> distributions = new ArrayList<>(byCategory.size());
+        byCategory.forEach((categoryId, sketch) ->
+                distributions.add(OrderValueDistribution.of(from, to, categoryId, sketch)));
+        return distributions;
+    }
+
+    private OrderValueSketch newSketch() {
+        return new OrderValueSketch(properties.getCompression(), properties.getHllPrecision());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.batch.sketch;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+
+// 병합 가능한 분위수 스케치 (merging t-digest, k1 스케일 함수).
+// 값은 버퍼에 모았다가 가득 차면 정렬해 centroid 로 합치며, 꼬리 구간일수록 centroid 를 작게 유지해 p95/p99 가 정확하다.
+// 단일 스레드에서 채우고 읽는 용도이며 동기화하지 않는다
+public class TDigest implements Serializable {
+
+    private final double compression;
+    private double[] means = new double[0];
+    private double[] weights = new double[0];
+    private int centroids;
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private transient double[] bufferMeans;
+    private transient double[] bufferWeights;
+    private transient int buffered;
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be at least 10: " + compression);
+        }
+        this.compression = compression;
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void merge(TDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long size() {
+        return Math.round(totalWeight);
+    }
+
+    public double quantile(double q) {
+        compress();
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double target = q * totalWeight;
+        // 첫 centroid 중심 이전은 최솟값과, 마지막 centroid 중심 이후는 최댓값과 보간한다
+        if (target < weights[0] / 2) {
+            return min + (means[0] - min) * target / (weights[0] / 2);
+        }
+        double cumulative = 0;
+        for (int i = 0; i < centroids - 1; i++) {
+            double center = cumulative + weights[i] / 2;
+            double nextCenter = cumulative + weights[i] + weights[i + 1] / 2;
+            if (target <= nextCenter) {
+                return means[i] + (means[i + 1] - means[i]) * (target - center) / (nextCenter - center);
+            }
+            cumulative += weights[i];
+        }
+        int last = centroids - 1;
+        double lastCenter = totalWeight - weights[last] / 2;
+        return Math.min(max, means[last] + (max - means[last]) * (target - lastCenter) / (weights[last] / 2));
+    }
+
+    public byte[] toBytes() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * 4 + Integer.BYTES + centroids * Double.BYTES * 2);
+        buffer.putDouble(compression).putDouble(totalWeight).putDouble(min).putDouble(max).putInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]).putDouble(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    public static TDigest fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        TDigest digest = new TDigest(buffer.getDouble());
+        digest.totalWeight = buffer.getDouble();
+        digest.min = buffer.getDouble();
+        digest.max = buffer.getDouble();
+        digest.centroids = buffer.getInt();
+        digest.means = new double[digest.centroids];
+        digest.weights = new double[digest.centroids];
+        for (int i = 0; i < digest.centroids; i++) {
+            digest.means[i] = buffer.getDouble();
+            digest.weights[i] = buffer.getDouble();
+        }
+        return digest;
+    }
+
+    private void add(double mean, double weight) {
+        if (bufferMeans == null) {
+            int capacity = (int) (compression * 5);
+            bufferMeans = new double[capacity];
+            bufferWeights = new double[capacity];
+        }
+        if (buffered == bufferMeans.length) {
+            compress();
+        }
+        bufferMeans[buffered] = mean;
+        bufferWeights[buffered++] = weight;
+        totalWeight += weight;
+        min = Math.min(min, mean);
+        max = Math.max(max, mean);
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int count = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, count);
+        double[] allWeights = Arrays.copyOf(weights, count);
+        System.arraycopy(bufferMeans, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> allMeans[i]));
+
+        double[] newMeans = new double[count];
+        double[] newWeights = new double[count];
+        int n = 0;
+        newMeans[0] = allMeans[order[0]];
+        newWeights[0] = allWeights[order[0]];
+        double weightSoFar = 0;
+        double limit = totalWeight * quantileLimit(0);
+        for (int k = 1; k < count; k++) {
+            int i = order[k];
+            double proposed = newWeights[n] + allWeights[i];
+            if (weightSoFar + proposed <= limit) {
+                newWeights[n] = proposed;
+                newMeans[n] += (allMeans[i] - newMeans[n]) * allWeights[i] / proposed;
+            } else {
+                weightSoFar += newWeights[n];
+                limit = totalWeight * quantileLimit(weightSoFar / totalWeight);
+                n++;
+                newMeans[n] = allMeans[i];
+                newWeights[n] = allWeights[i];
+            }
+        }
+        centroids = n + 1;
+        means = Arrays.copyOf(newMeans, centroids);
+        weights = Arrays.copyOf(newWeights, centroids);
+        buffered = 0;
+    }
+
+    // k1(q) = δ/2π · asin(2q - 1). centroid 하나가 k 축에서 1 을 넘지 않도록 q 의 상한을 구한다
+    private double quantileLimit(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        return k >= compression / 4 ? 1 : (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        compress();
+        out.defaultWriteObject();
+    }
+}
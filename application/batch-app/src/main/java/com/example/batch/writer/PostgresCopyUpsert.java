@@ -0,0 +1,73 @@
+package com.example.batch.writer;
+
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// PostgreSQL 전용 경로: COPY FROM STDIN (CSV) 로 세션 임시 테이블에 적재한 뒤 INSERT ... SELECT ... ON CONFLICT 로 merge 한다.
+// 현재 트랜잭션의 커넥션을 사용하므로 청크 롤백 시 함께 롤백된다.
+// PostgreSQL 드라이버 클래스를 참조하므로 copy 경로가 활성화된 경우에만 로딩된다
+final class PostgresCopyUpsert {
+
+    private PostgresCopyUpsert() {
+    }
+
+    static void write(DataSource dataSource, String table, List<String> columns, List<String> keyColumns,
+                      List<String> updateColumns, List<Object[]> rows) throws Exception {
+        String staging = table + "_upsert_staging";
+        String columnList = String.join(", ", columns);
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                // 제약 조건 없이 컬럼만 복사한 임시 테이블. 커밋 시 비워진다
+                statement.execute("CREATE TEMP TABLE IF NOT EXISTS " + staging + " ON COMMIT DELETE ROWS AS"
+                        + " SELECT " + columnList + " FROM " + table + " WITH NO DATA");
+            }
+
+            StringBuilder csv = new StringBuilder(rows.size() * columns.size() * 16);
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    if (i > 0) {
+                        csv.append(',');
+                    }
+                    csv.append(csvValue(row[i]));
+                }
+                csv.append('\n');
+            }
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + staging + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO " + table + " (" + columnList + ")"
+                        + " SELECT " + columnList + " FROM " + staging
+                        + " ON CONFLICT (" + String.join(", ", keyColumns) + ") DO UPDATE SET "
+                        + updateColumns.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", ")));
+                // 같은 트랜잭션에서 다시 호출되어도 중복 merge 하지 않도록 비운다
+                statement.executeUpdate("DELETE FROM " + staging);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // CSV 형식에서 따옴표 없는 빈 값은 NULL, 빈 문자열은 "" 로 구분된다
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        if (text.isEmpty() || text.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
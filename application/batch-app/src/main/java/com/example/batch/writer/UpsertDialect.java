@@ -0,0 +1,113 @@
+package com.example.batch.writer;
+
+import org.springframework.batch.support.DatabaseType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// DB 별 다중 행 upsert 문 생성
+public enum UpsertDialect {
+
+    // MERGE ... KEY 는 일치하는 행의 모든 컬럼을 덮어쓰므로 MERGE ... USING 으로 updateColumns 만 갱신한다.
+    // VALUES 파생 테이블의 파라미터는 타입을 추론하지 못하므로 대상 컬럼 타입으로 CAST 한다
+    H2 {
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> placeholders, List<String> keyColumns,
+                         List<String> updateColumns, int rowCount) {
+            String sql = "MERGE INTO " + table + " t USING (VALUES " + valuesClause(placeholders, rowCount) + ")"
+                    + " s(" + String.join(", ", columns) + ")"
+                    + " ON " + keyColumns.stream().map(c -> "t." + c + " = s." + c).collect(Collectors.joining(" AND "));
+            if (!updateColumns.isEmpty()) {
+                sql += " WHEN MATCHED THEN UPDATE SET "
+                        + updateColumns.stream().map(c -> c + " = s." + c).collect(Collectors.joining(", "));
+            }
+            return sql + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ")"
+                    + " VALUES (" + columns.stream().map(c -> "s." + c).collect(Collectors.joining(", ")) + ")";
+        }
+
+        @Override
+        List<String> placeholders(DataSource dataSource, String table, List<String> columns) {
+            return new JdbcTemplate(dataSource).query(
+                    "SELECT " + String.join(", ", columns) + " FROM " + table + " WHERE 1 = 0",
+                    (ResultSetExtractor<List<String>>) rs -> {
+                        ResultSetMetaData metaData = rs.getMetaData();
+                        List<String> casts = new ArrayList<>(columns.size());
+                        for (int i = 1; i <= columns.size(); i++) {
+                            casts.add("CAST(? AS " + h2Type(metaData, i) + ")");
+                        }
+                        return casts;
+                    });
+        }
+    },
+
+    POSTGRESQL {
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> placeholders, List<String> keyColumns,
+                         List<String> updateColumns, int rowCount) {
+            return insertSql(table, columns, placeholders, rowCount)
+                    + " ON CONFLICT (" + String.join(", ", keyColumns) + ") DO UPDATE SET "
+                    + updateColumns.stream().map(c -> c + " = EXCLUDED." + c).collect(Collectors.joining(", "));
+        }
+    },
+
+    MYSQL {
+        @Override
+        String upsertSql(String table, List<String> columns, List<String> placeholders, List<String> keyColumns,
+                         List<String> updateColumns, int rowCount) {
+            return insertSql(table, columns, placeholders, rowCount)
+                    + " ON DUPLICATE KEY UPDATE "
+                    + updateColumns.stream().map(c -> c + " = VALUES(" + c + ")").collect(Collectors.joining(", "));
+        }
+    };
+
+    abstract String upsertSql(String table, List<String> columns, List<String> placeholders, List<String> keyColumns,
+                              List<String> updateColumns, int rowCount);
+
+    // VALUES 의 컬럼별 파라미터 표현식
+    List<String> placeholders(DataSource dataSource, String table, List<String> columns) {
+        return Collections.nCopies(columns.size(), "?");
+    }
+
+    public static UpsertDialect from(DataSource dataSource) {
+        DatabaseType databaseType;
+        try {
+            databaseType = DatabaseType.fromMetaData(dataSource);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Failed to detect database type for upsert writer", e);
+        }
+        return switch (databaseType) {
+            case H2 -> H2;
+            case POSTGRES -> POSTGRESQL;
+            case MYSQL, MARIADB -> MYSQL;
+            default -> throw new IllegalStateException("Unsupported database for upsert writer: " + databaseType);
+        };
+    }
+
+    static String insertSql(String table, List<String> columns, List<String> placeholders, int rowCount) {
+        return "INSERT INTO " + table + " (" + String.join(", ", columns) + ")"
+                + " VALUES " + valuesClause(placeholders, rowCount);
+    }
+
+    static String valuesClause(List<String> placeholders, int rowCount) {
+        String row = "(" + String.join(", ", placeholders) + ")";
+        return String.join(", ", Collections.nCopies(rowCount, row));
+    }
+
+    private static String h2Type(ResultSetMetaData metaData, int column) throws SQLException {
+        String type = metaData.getColumnTypeName(column);
+        return switch (type) {
+            case "NUMERIC", "DECIMAL" -> type + "(" + metaData.getPrecision(column) + ", " + metaData.getScale(column) + ")";
+            case "CHARACTER VARYING", "VARCHAR", "CHARACTER", "CHAR", "BINARY VARYING", "VARBINARY" ->
+                    type + "(" + metaData.getPrecision(column) + ")";
+            default -> type;
+        };
+    }
+}
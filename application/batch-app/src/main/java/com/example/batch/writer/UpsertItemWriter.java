@@ -0,0 +1,106 @@
+package com.example.batch.writer;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// 청크를 rowsPerStatement 행씩 묶어 다중 행 VALUES upsert 문 하나로 기록한다.
+// 행마다 문장을 실행하는 JdbcBatchItemWriter 보다 왕복/파싱 횟수가 줄어든다.
+// PostgreSQL 에서 copyEnabled 이면 COPY 로 임시 테이블에 적재한 뒤 한 번에 merge 한다
+public class UpsertItemWriter<T> implements ItemWriter<T> {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final UpsertDialect dialect;
+    private final String table;
+    private final List<String> columns;
+    private final List<String> keyColumns;
+    private final List<String> updateColumns;
+    private final Function<T, Object[]> valuesExtractor;
+    private final int rowsPerStatement;
+    private final boolean copyEnabled;
+    private final int[] keyIndexes;
+
+    // 행 수별 SQL (보통 rowsPerStatement 와 마지막 나머지 두 가지)
+    private final Map<Integer, String> sqlCache = new ConcurrentHashMap<>();
+    // 컬럼별 파라미터 표현식. H2 는 테이블 컬럼 타입을 조회하므로 첫 SQL 을 만들 때 한 번 구한다
+    private volatile List<String> placeholders;
+
+    public UpsertItemWriter(DataSource dataSource, UpsertDialect dialect, String table,
+                            List<String> columns, List<String> keyColumns, List<String> updateColumns,
+                            Function<T, Object[]> valuesExtractor, int rowsPerStatement, boolean copyEnabled) {
+        if (!columns.containsAll(keyColumns) || !columns.containsAll(updateColumns)) {
+            throw new IllegalArgumentException("Key and update columns must be part of columns: " + table);
+        }
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dialect = dialect;
+        this.table = table;
+        this.columns = List.copyOf(columns);
+        this.keyColumns = List.copyOf(keyColumns);
+        this.updateColumns = List.copyOf(updateColumns);
+        this.valuesExtractor = valuesExtractor;
+        this.rowsPerStatement = Math.max(1, rowsPerStatement);
+        this.copyEnabled = copyEnabled && dialect == UpsertDialect.POSTGRESQL;
+        this.keyIndexes = keyColumns.stream().mapToInt(columns::indexOf).toArray();
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        List<Object[]> rows = deduplicate(chunk);
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (copyEnabled) {
+            PostgresCopyUpsert.write(dataSource, table, columns, keyColumns, updateColumns, rows);
+            return;
+        }
+        for (int from = 0; from < rows.size(); from += rowsPerStatement) {
+            List<Object[]> slice = rows.subList(from, Math.min(rows.size(), from + rowsPerStatement));
+            Object[] arguments = new Object[slice.size() * columns.size()];
+            for (int i = 0; i < slice.size(); i++) {
+                System.arraycopy(slice.get(i), 0, arguments, i * columns.size(), columns.size());
+            }
+            jdbcTemplate.update(getSql(slice.size()), arguments);
+        }
+    }
+
+    public String getSql(int rowCount) {
+        return sqlCache.computeIfAbsent(rowCount,
+                count -> dialect.upsertSql(table, columns, placeholders(), keyColumns, updateColumns, count));
+    }
+
+    private List<String> placeholders() {
+        if (placeholders == null) {
+            placeholders = List.copyOf(dialect.placeholders(dataSource, table, columns));
+        }
+        return placeholders;
+    }
+
+    // 한 문장 안에 같은 키가 두 번 나오면 PostgreSQL ON CONFLICT / H2 MERGE USING 이 실패하므로 마지막 값만 남긴다
+    private List<Object[]> deduplicate(Chunk<? extends T> chunk) {
+        Map<List<Object>, Object[]> byKey = new LinkedHashMap<>();
+        for (T item : chunk) {
+            Object[] values = valuesExtractor.apply(item);
+            if (values.length != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " values for " + table
+                        + " but got " + values.length);
+            }
+            Object[] key = new Object[keyIndexes.length];
+            for (int i = 0; i < keyIndexes.length; i++) {
+                key[i] = values[keyIndexes[i]];
+            }
+            byKey.put(Arrays.asList(key), values);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+}
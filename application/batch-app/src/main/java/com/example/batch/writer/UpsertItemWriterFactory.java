@@ -0,0 +1,43 @@
+package com.example.batch.writer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.Function;
+
+// 현재 DataSource 의 DB 종류에 맞는 UpsertItemWriter 를 만든다
+@Component
+public class UpsertItemWriterFactory {
+
+    private final DataSource dataSource;
+    private final UpsertDialect dialect;
+    private final int rowsPerStatement;
+    private final boolean postgresCopy;
+
+    public UpsertItemWriterFactory(DataSource dataSource,
+                                   @Value("${app.batch.writer.rows-per-statement:200}") int rowsPerStatement,
+                                   @Value("${app.batch.writer.postgres-copy:false}") boolean postgresCopy) {
+        this.dataSource = dataSource;
+        this.dialect = UpsertDialect.from(dataSource);
+        this.rowsPerStatement = rowsPerStatement;
+        this.postgresCopy = postgresCopy;
+    }
+
+    public <T> UpsertItemWriter<T> create(String table, List<String> columns, List<String> keyColumns,
+                                          List<String> updateColumns, Function<T, Object[]> valuesExtractor) {
+        return create(table, columns, keyColumns, updateColumns, valuesExtractor, rowsPerStatement, postgresCopy);
+    }
+
+    public <T> UpsertItemWriter<T> create(String table, List<String> columns, List<String> keyColumns,
+                                          List<String> updateColumns, Function<T, Object[]> valuesExtractor,
+                                          int rowsPerStatement, boolean copyEnabled) {
+        return new UpsertItemWriter<>(dataSource, dialect, table, columns, keyColumns, updateColumns,
+                valuesExtractor, rowsPerStatement, copyEnabled);
+    }
+
+    public UpsertDialect getDialect() {
+        return dialect;
+    }
+}
@@ -0,0 +1,11 @@
+-- Spring Batch 기본 스키마에 없는 조회용 인덱스
+-- JobExplorer.getJobInstances(jobName, start, count): JOB_NAME 으로 거른 뒤 JOB_INSTANCE_ID 역순 정렬
+CREATE INDEX IF NOT EXISTS IDX_JOB_INST_NAME_ID ON BATCH_JOB_INSTANCE (JOB_NAME, JOB_INSTANCE_ID);
+-- 인스턴스별 실행 조회 / 실행 중인 job 조회 / 보관 기간 정리
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXEC_INST_ID ON BATCH_JOB_EXECUTION (JOB_INSTANCE_ID, JOB_EXECUTION_ID);
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXEC_STATUS ON BATCH_JOB_EXECUTION (STATUS, JOB_INSTANCE_ID);
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXEC_END_TIME ON BATCH_JOB_EXECUTION (END_TIME);
+-- 실행별 스텝 조회
+CREATE INDEX IF NOT EXISTS IDX_STEP_EXEC_JOB_EXEC_ID ON BATCH_STEP_EXECUTION (JOB_EXECUTION_ID, STEP_EXECUTION_ID);
+-- 스텝별 마지막 COMPLETED 실행 조회 (대시보드 남은 시간 추정)
+CREATE INDEX IF NOT EXISTS IDX_STEP_EXEC_NAME_STATUS ON BATCH_STEP_EXECUTION (STEP_NAME, STATUS, STEP_EXECUTION_ID);
@@ -0,0 +1,124 @@
+-- 배치 리포트 결과 테이블 (CREATE TABLE IF NOT EXISTS 로 재실행에 안전)
+
+CREATE TABLE IF NOT EXISTS order_reports (
+    order_id            BIGINT         NOT NULL,
+    user_id             BIGINT         NOT NULL,
+    user_email          VARCHAR(255),
+    order_status        VARCHAR(20)    NOT NULL,
+    total_amount        DECIMAL(19, 2) NOT NULL,
+    total_items         INT,
+    order_date          TIMESTAMP      NOT NULL,
+    report_date         TIMESTAMP      NOT NULL,
+    report_period       VARCHAR(10)    NOT NULL,
+    PRIMARY KEY (order_id)
+);
+
+-- 기간(DAILY/WEEKLY/MONTHLY) x 주문 상태별 요약. 대시보드는 이 테이블의 몇 행만 읽는다
+CREATE TABLE IF NOT EXISTS order_report_summaries (
+    report_period       VARCHAR(10)    NOT NULL,
+    period_start        DATE           NOT NULL,
+    order_status        VARCHAR(20)    NOT NULL,
+    total_order_count   BIGINT         NOT NULL,
+    total_revenue       DECIMAL(19, 2) NOT NULL,
+    average_order_value DECIMAL(19, 2) NOT NULL,
+    report_date         TIMESTAMP      NOT NULL,
+    PRIMARY KEY (report_period, period_start, order_status)
+);
+
+CREATE TABLE IF NOT EXISTS user_statistics (
+    user_id             BIGINT         NOT NULL,
+    user_name           VARCHAR(255),
+    user_email          VARCHAR(255),
+    user_role           VARCHAR(20),
+    registration_date   TIMESTAMP,
+    last_active_date    TIMESTAMP,
+    is_active           BOOLEAN,
+    total_orders        BIGINT,
+    total_spent         DECIMAL(19, 2),
+    statistics_date     TIMESTAMP      NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+-- 정리된 Spring Batch 메타데이터의 (job, 일자, 상태)별 실행 통계
+CREATE TABLE IF NOT EXISTS batch_job_history_summaries (
+    job_name            VARCHAR(100)   NOT NULL,
+    execution_date      DATE           NOT NULL,
+    status              VARCHAR(10)    NOT NULL,
+    execution_count     BIGINT         NOT NULL,
+    total_duration_ms   BIGINT         NOT NULL,
+    max_duration_ms     BIGINT         NOT NULL,
+    read_count          BIGINT         NOT NULL,
+    write_count         BIGINT         NOT NULL,
+    PRIMARY KEY (job_name, execution_date, status)
+);
+
+-- 증분 job 의 테이블별 updated_at 워터마크 (마지막 COMPLETED 실행의 상한). PK 조회 한 번으로 다음 구간의 시작을 찾는다
+CREATE TABLE IF NOT EXISTS batch_watermarks (
+    job_name            VARCHAR(100)   NOT NULL,
+    table_name          VARCHAR(100)   NOT NULL,
+    shard_count         BIGINT         NOT NULL,
+    shard_index         BIGINT         NOT NULL,
+    watermark           TIMESTAMP      NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (job_name, table_name, shard_count, shard_index)
+);
+
+-- 카테고리별 판매 순위 읽기 테이블. API 는 PK (category_id, rank_no) 범위 조회 한 번으로 읽는다
+CREATE TABLE IF NOT EXISTS product_best_sellers (
+    category_id         BIGINT         NOT NULL,
+    rank_no             INT            NOT NULL,
+    product_id          BIGINT         NOT NULL,
+    quantity_sold       BIGINT         NOT NULL,
+    revenue             DECIMAL(19, 2) NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (category_id, rank_no)
+);
+
+-- 상품별 함께 구매된 상위 K 개 상품 (API 가 메모리 인덱스로 적재)
+CREATE TABLE IF NOT EXISTS product_co_purchases (
+    product_id          BIGINT         NOT NULL,
+    rank_no             INT            NOT NULL,
+    related_product_id  BIGINT         NOT NULL,
+    co_count            BIGINT         NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (product_id, rank_no)
+);
+
+-- 가입 주 코호트별 주차 재구매율
+CREATE TABLE IF NOT EXISTS user_cohort_retention (
+    cohort_week         DATE           NOT NULL,
+    week_offset         INT            NOT NULL,
+    cohort_size         INT            NOT NULL,
+    active_users        INT            NOT NULL,
+    returning_users     INT            NOT NULL,
+    retention_rate      DECIMAL(7, 4)  NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (cohort_week, week_offset)
+);
+
+-- 일자 x 카테고리별 주문 금액 t-digest / 구매자 HyperLogLog 스케치 (category_id = 0 은 전체 주문).
+-- 기간 조회는 일자 스케치를 병합해 분위수와 구매자 수를 추정한다
+CREATE TABLE IF NOT EXISTS order_value_sketches (
+    sketch_date         DATE           NOT NULL,
+    category_id         BIGINT         NOT NULL,
+    order_count         BIGINT         NOT NULL,
+    p50                 DECIMAL(19, 2),
+    p95                 DECIMAL(19, 2),
+    p99                 DECIMAL(19, 2),
+    distinct_buyers     BIGINT         NOT NULL,
+    value_digest        BLOB           NOT NULL,
+    buyer_hll           BLOB           NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (sketch_date, category_id)
+);
+
+-- orderReportJob 스텝(파티션)이 내보낸 부분 스케치. 스케치 스텝이 일자별로 병합해 order_value_sketches 에 쓰고 지운다
+CREATE TABLE IF NOT EXISTS order_value_sketch_parts (
+    step_execution_id   BIGINT         NOT NULL,
+    sketch_date         DATE           NOT NULL,
+    category_id         BIGINT         NOT NULL,
+    value_digest        BLOB           NOT NULL,
+    buyer_hll           BLOB           NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_value_sketch_parts_date ON order_value_sketch_parts (sketch_date, step_execution_id);
@@ -0,0 +1,133 @@
+package com.example.batch.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongCountSumMapTest {
+
+    @Test
+    void addAccumulatesCountAndSumPerKey() {
+        LongCountSumMap map = new LongCountSumMap();
+        map.add(42L, 1, 1_000);
+        map.add(7L, 2, 300);
+        map.add(42L, 3, 500);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.getCount(42L)).isEqualTo(4);
+        assertThat(map.getSum(42L)).isEqualTo(1_500);
+        assertThat(map.getCount(7L)).isEqualTo(2);
+        assertThat(map.containsKey(8L)).isFalse();
+        assertThat(map.getCount(8L)).isZero();
+        assertThat(map.getSum(8L)).isZero();
+    }
+
+    @Test
+    void zeroAndNegativeKeysAreOrdinaryKeys() {
+        LongCountSumMap map = new LongCountSumMap();
+        assertThat(map.containsKey(0L)).isFalse();
+
+        map.add(0L, 1, 10);
+        map.add(-1L, 2, 20);
+        map.add(Long.MIN_VALUE, 3, 30);
+        map.add(0L, 1, 5);
+
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.containsKey(0L)).isTrue();
+        assertThat(map.getCount(0L)).isEqualTo(2);
+        assertThat(map.getSum(0L)).isEqualTo(15);
+        assertThat(map.getSum(-1L)).isEqualTo(20);
+        assertThat(map.getCount(Long.MIN_VALUE)).isEqualTo(3);
+    }
+
+    // 초기 용량을 훨씬 넘겨 여러 번 resize 되고, 연속 id 와 같은 슬롯으로 모이는 키가 섞여도 값이 유지된다
+    @Test
+    void matchesHashMapAcrossResizesAndCollisions() {
+        LongCountSumMap map = new LongCountSumMap(16);
+        Map<Long, long[]> expected = new HashMap<>();
+        Random random = new Random(31);
+        for (int i = 0; i < 50_000; i++) {
+            long key = i % 3 == 0 ? random.nextInt(20_000) : (long) random.nextInt(1_000) << 32;
+            long sum = random.nextInt(10_000);
+            map.add(key, 1, sum);
+            long[] values = expected.computeIfAbsent(key, k -> new long[2]);
+            values[0]++;
+            values[1] += sum;
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, values) -> {
+            assertThat(map.getCount(key)).as("count of %d", key).isEqualTo(values[0]);
+            assertThat(map.getSum(key)).as("sum of %d", key).isEqualTo(values[1]);
+        });
+        Map<Long, long[]> visited = new HashMap<>();
+        map.forEach((key, count, sum) -> visited.put(key, new long[]{count, sum}));
+        assertThat(visited).containsOnlyKeys(expected.keySet());
+    }
+
+    @Test
+    void removeCountsBelowDropsRareKeysAndKeepsTheRest() {
+        LongCountSumMap map = new LongCountSumMap();
+        map.add(1L, 1, 10);
+        map.add(2L, 2, 20);
+        map.add(3L, 5, 50);
+        map.add(0L, 1, 1);
+
+        int removed = map.removeCountsBelow(2);
+
+        assertThat(removed).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.containsKey(1L)).isFalse();
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.getCount(2L)).isEqualTo(2);
+        assertThat(map.getSum(3L)).isEqualTo(50);
+    }
+
+    // 지운 슬롯 때문에 선형 탐사 체인이 끊기면 뒤쪽 키를 찾지 못한다. 남은 키는 모두 조회되고 다시 더할 수 있어야 한다
+    @Test
+    void removeCountsBelowKeepsProbeChainsIntact() {
+        LongCountSumMap map = new LongCountSumMap(16);
+        Map<Long, Long> kept = new HashMap<>();
+        for (long key = 1; key <= 20_000; key++) {
+            long count = key % 4 == 0 ? 3 : 1;
+            map.add(key, count, key);
+            if (count >= 2) {
+                kept.put(key, count);
+            }
+        }
+
+        int removed = map.removeCountsBelow(2);
+
+        assertThat(removed).isEqualTo(20_000 - kept.size());
+        assertThat(map.size()).isEqualTo(kept.size());
+        kept.forEach((key, count) -> assertThat(map.getCount(key)).as("count of %d", key).isEqualTo(count));
+        for (long key = 1; key <= 20_000; key += 4) {
+            assertThat(map.containsKey(key)).isFalse();
+        }
+
+        map.add(8L, 1, 0);
+        map.add(9L, 1, 9);
+        assertThat(map.getCount(8L)).isEqualTo(4);
+        assertThat(map.getCount(9L)).isEqualTo(1);
+        assertThat(map.size()).isEqualTo(kept.size() + 1);
+    }
+
+    @Test
+    void clearRemovesEveryKey() {
+        LongCountSumMap map = new LongCountSumMap();
+        map.add(0L, 1, 1);
+        map.add(5L, 1, 1);
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.containsKey(5L)).isFalse();
+        map.add(5L, 2, 3);
+        assertThat(map.getCount(5L)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.batch.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongLongMapTest {
+
+    private static final long MISSING = -1L;
+
+    @Test
+    void putOverwritesAndMissingKeysReturnTheMissingValue() {
+        LongLongMap map = new LongLongMap(16, MISSING);
+        map.put(10L, 100L);
+        map.put(10L, 200L);
+        map.put(0L, 7L);
+
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(10L)).isEqualTo(200L);
+        assertThat(map.get(0L)).isEqualTo(7L);
+        assertThat(map.get(11L)).isEqualTo(MISSING);
+        assertThat(new LongLongMap(16, MISSING).get(0L)).isEqualTo(MISSING);
+    }
+
+    // resize 를 일으키는 put 의 값도 새 테이블로 옮겨져야 한다
+    @Test
+    void matchesHashMapAcrossResizesAndCollisions() {
+        LongLongMap map = new LongLongMap(16, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 40_000; i++) {
+            long key = i % 2 == 0 ? i : (long) random.nextInt(2_000) << 32;
+            long value = random.nextLong();
+            map.put(key, value);
+            expected.put(key, value);
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).as("value of %d", key).isEqualTo(value));
+    }
+}
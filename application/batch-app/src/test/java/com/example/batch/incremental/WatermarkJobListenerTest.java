@@ -0,0 +1,109 @@
+package com.example.batch.incremental;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WatermarkJobListenerTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private WatermarkJobListener listener;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, updated_at TIMESTAMP NOT NULL)");
+        listener = new WatermarkJobListener(dataSource, Duration.ZERO, "orders");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void restartKeepsTheRangeOfTheFailedExecutionSoNoRowIsSkipped() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        insertOrder(1, base);
+        insertOrder(2, base);
+
+        JobExecution failed = execution(1L, new ExecutionContext());
+        listener.beforeJob(failed);
+        WatermarkRange first = WatermarkRange.of(failed.getExecutionContext(), "orders");
+        assertThat(first.to()).isEqualTo(base);
+
+        // 실패한 실행이 id 2 까지 읽은 뒤, 이미 지나간 id 1 이 다시 바뀐다
+        LocalDateTime later = base.plusMinutes(10);
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = 1", Timestamp.valueOf(later));
+        failed.setStatus(BatchStatus.FAILED);
+        listener.afterJob(failed);
+
+        // 재시작은 이전 실행의 job ExecutionContext 를 이어받는다
+        JobExecution restarted = execution(2L, new ExecutionContext(failed.getExecutionContext()));
+        listener.beforeJob(restarted);
+        assertThat(WatermarkRange.of(restarted.getExecutionContext(), "orders")).isEqualTo(first);
+        restarted.setStatus(BatchStatus.COMPLETED);
+        listener.afterJob(restarted);
+
+        // 다음 실행은 재시작이 마친 구간 뒤부터 읽으므로 id 1 의 변경이 포함된다
+        JobExecution next = execution(3L, new ExecutionContext());
+        listener.beforeJob(next);
+        WatermarkRange range = WatermarkRange.of(next.getExecutionContext(), "orders");
+        assertThat(range.from()).isEqualTo(base);
+        assertThat(range.to()).isEqualTo(later);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE " + range.condition("updated_at"), Long.class, range.arguments());
+        assertThat(ids).containsExactly(1L);
+    }
+
+    @Test
+    void freshExecutionStartsFromTheCommittedWatermark() {
+        LocalDateTime base = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        insertOrder(1, base);
+
+        JobExecution first = execution(1L, new ExecutionContext());
+        listener.beforeJob(first);
+        first.setStatus(BatchStatus.COMPLETED);
+        listener.afterJob(first);
+
+        insertOrder(2, base.plusMinutes(5));
+        JobExecution second = execution(2L, new ExecutionContext());
+        listener.beforeJob(second);
+        WatermarkRange range = WatermarkRange.of(second.getExecutionContext(), "orders");
+        assertThat(range.from()).isEqualTo(base);
+        assertThat(range.to()).isEqualTo(base.plusMinutes(5));
+    }
+
+    private void insertOrder(long id, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO orders (id, updated_at) VALUES (?, ?)", id, Timestamp.valueOf(updatedAt));
+    }
+
+    private JobExecution execution(long id, ExecutionContext context) {
+        JobExecution execution = new JobExecution(new JobInstance(1L, "orderReportJob"), id, new JobParameters());
+        execution.setExecutionContext(context);
+        return execution;
+    }
+}
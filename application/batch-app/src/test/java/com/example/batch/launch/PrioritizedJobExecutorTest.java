@@ -0,0 +1,164 @@
+package com.example.batch.launch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class PrioritizedJobExecutorTest {
+
+    private final JobLauncherProperties properties = new JobLauncherProperties();
+    private final JobRepository jobRepository = mock(JobRepository.class);
+    // 넘겨받은 작업을 바로 실행하지 않고 쌓아 두어, 테스트가 job 종료 시점을 정한다
+    private final Deque<Runnable> workerTasks = new ArrayDeque<>();
+    private final List<String> started = new ArrayList<>();
+    private long executionId;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxConcurrentJobs(1);
+        properties.setQueueCapacity(10);
+    }
+
+    @Test
+    void queuedJobsStartByPriorityThenArrivalOrder() {
+        limit("nightlyReport", 0, 1, 1);
+        limit("cleanup", 0, 1, 1);
+        limit("orderReport", 10, 1, 1);
+        PrioritizedJobExecutor executor = executor(workerTasks::add);
+
+        submit(executor, "userStatistics");
+        submit(executor, "nightlyReport");
+        submit(executor, "cleanup");
+        submit(executor, "orderReport");
+        assertThat(started).isEmpty();
+        assertThat(workerTasks).hasSize(1);
+
+        finishAll();
+
+        assertThat(started).containsExactly("userStatistics", "orderReport", "nightlyReport", "cleanup");
+    }
+
+    // 한도에 걸린 job 은 건너뛰고 뒤의 다른 job 이 먼저 시작한다
+    @Test
+    void perJobConcurrencyLimitLetsOtherJobsOvertake() {
+        properties.setMaxConcurrentJobs(3);
+        limit("orderReport", 10, 1, 2);
+        PrioritizedJobExecutor executor = executor(workerTasks::add);
+
+        submit(executor, "orderReport");
+        submit(executor, "orderReport");
+        submit(executor, "cleanup");
+        assertThat(workerTasks).hasSize(2);
+
+        workerTasks.poll().run();
+        assertThat(started).containsExactly("orderReport");
+        workerTasks.poll().run();
+        assertThat(started).containsExactly("orderReport", "cleanup");
+        assertThat(workerTasks).hasSize(1);
+
+        finishAll();
+        assertThat(started).containsExactly("orderReport", "cleanup", "orderReport");
+    }
+
+    @Test
+    void rejectsWhenTheJobIsAlreadyQueuedOrTheQueueIsFull() {
+        properties.setQueueCapacity(2);
+        PrioritizedJobExecutor executor = executor(workerTasks::add);
+        submit(executor, "running");
+        submit(executor, "first");
+
+        assertThatThrownBy(() -> submit(executor, "first")).isInstanceOf(TaskRejectedException.class);
+
+        submit(executor, "second");
+        assertThatThrownBy(() -> submit(executor, "third")).isInstanceOf(TaskRejectedException.class);
+        // 거절된 실행은 호출한 launcher 가 기록한다
+        verify(jobRepository, never()).update(any(JobExecution.class));
+    }
+
+    @Test
+    void workerRejectionMarksTheExecutionFailedAndFreesTheSlot() {
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        PrioritizedJobExecutor executor = executor(task -> {
+            if (rejectNext.getAndSet(false)) {
+                throw new TaskRejectedException("pool exhausted");
+            }
+            workerTasks.add(task);
+        });
+        JobExecution execution = execution("orderReport");
+
+        executor.execute("orderReport", execution, () -> started.add("orderReport"));
+
+        assertThat(started).isEmpty();
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.FAILED);
+        assertThat(execution.getExitStatus().getExitDescription()).contains("pool exhausted");
+        assertThat(execution.getEndTime()).isNotNull();
+        verify(jobRepository).update(execution);
+
+        // 시작하지 못한 실행은 자리를 차지하지 않으므로 다음 실행은 바로 시작된다
+        submit(executor, "orderReport");
+        assertThat(workerTasks).hasSize(1);
+    }
+
+    @Test
+    void shutdownMarksQueuedExecutionsFailedAndRejectsNewOnes() {
+        PrioritizedJobExecutor executor = executor(workerTasks::add);
+        submit(executor, "running");
+        JobExecution queued = execution("queued");
+        executor.execute("queued", queued, () -> started.add("queued"));
+
+        executor.destroy();
+
+        assertThat(queued.getStatus()).isEqualTo(BatchStatus.FAILED);
+        verify(jobRepository).update(queued);
+        assertThatThrownBy(() -> submit(executor, "late")).isInstanceOf(TaskRejectedException.class);
+        finishAll();
+        assertThat(started).containsExactly("running");
+    }
+
+    private PrioritizedJobExecutor executor(TaskExecutor workers) {
+        return new PrioritizedJobExecutor(properties, workers, jobRepository, new SimpleMeterRegistry());
+    }
+
+    private void submit(PrioritizedJobExecutor executor, String jobName) {
+        executor.execute(jobName, execution(jobName), () -> started.add(jobName));
+    }
+
+    private void finishAll() {
+        while (!workerTasks.isEmpty()) {
+            workerTasks.poll().run();
+        }
+    }
+
+    private void limit(String jobName, int priority, int maxConcurrent, int maxQueued) {
+        JobLauncherProperties.JobLimit limit = new JobLauncherProperties.JobLimit();
+        limit.setPriority(priority);
+        limit.setMaxConcurrent(maxConcurrent);
+        limit.setMaxQueued(maxQueued);
+        properties.getJobs().put(jobName, limit);
+    }
+
+    private JobExecution execution(String jobName) {
+        long id = ++executionId;
+        return new JobExecution(new JobInstance(id, jobName), id, new JobParameters());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.batch.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdRangePartitionerTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, status VARCHAR(20) NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void splitsTheIdSpanIntoEqualRanges() {
+        insertOrders(1, 100, "DELIVERED");
+
+        List<long[]> ranges = ranges(new IdRangePartitioner(dataSource, "orders", "1 = 1").partition(4));
+
+        assertThat(ranges).containsExactly(
+                new long[]{1, 25}, new long[]{26, 50}, new long[]{51, 75}, new long[]{76, 100});
+    }
+
+    // 나누어떨어지지 않으면 마지막 범위가 MAX(id) 에서 잘린다
+    @Test
+    void rangesCoverTheSpanWithoutGapsOrOverlaps() {
+        insertOrders(1, 10, "DELIVERED");
+
+        List<long[]> ranges = ranges(new IdRangePartitioner(dataSource, "orders", "1 = 1").partition(3));
+
+        assertThat(ranges).containsExactly(new long[]{1, 4}, new long[]{5, 8}, new long[]{9, 10});
+    }
+
+    // 조건에 맞는 행의 MIN / MAX 만 보고 나눈다
+    @Test
+    void boundsComeFromRowsMatchingTheCondition() {
+        insertOrders(1, 9, "CANCELLED");
+        insertOrders(10, 29, "DELIVERED");
+        insertOrders(30, 50, "CANCELLED");
+
+        List<long[]> ranges = ranges(new IdRangePartitioner(dataSource, "orders", "status = ?", "DELIVERED")
+                .partition(2));
+
+        assertThat(ranges).containsExactly(new long[]{10, 19}, new long[]{20, 29});
+    }
+
+    @Test
+    void gridLargerThanTheSpanYieldsSingleIdRanges() {
+        insertOrders(5, 7, "DELIVERED");
+
+        List<long[]> ranges = ranges(new IdRangePartitioner(dataSource, "orders", "1 = 1").partition(10));
+
+        assertThat(ranges).containsExactly(new long[]{5, 5}, new long[]{6, 6}, new long[]{7, 7});
+    }
+
+    // 읽을 행이 없어도 step 이 끝날 수 있도록 아무 id 도 포함하지 않는 파티션 하나를 만든다
+    @Test
+    void noMatchingRowsYieldsOneEmptyPartition() {
+        insertOrders(1, 10, "CANCELLED");
+
+        Map<String, ExecutionContext> partitions =
+                new IdRangePartitioner(dataSource, "orders", "status = ?", "DELIVERED").partition(4);
+
+        assertThat(partitions).containsOnlyKeys("partition0");
+        long[] range = ranges(partitions).get(0);
+        assertThat(range[0]).isGreaterThan(range[1]);
+    }
+
+    private void insertOrders(long fromId, long toId, String status) {
+        for (long id = fromId; id <= toId; id++) {
+            jdbcTemplate.update("INSERT INTO orders (id, status) VALUES (?, ?)", id, status);
+        }
+    }
+
+    private static List<long[]> ranges(Map<String, ExecutionContext> partitions) {
+        List<long[]> ranges = new ArrayList<>();
+        partitions.values().forEach(context -> ranges.add(
+                new long[]{context.getLong(IdRangePartitioner.MIN_ID), context.getLong(IdRangePartitioner.MAX_ID)}));
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        return ranges;
+    }
+}
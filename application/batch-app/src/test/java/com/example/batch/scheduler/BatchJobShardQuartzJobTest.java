@@ -0,0 +1,88 @@
+package com.example.batch.scheduler;
+
+import com.example.batch.shard.JobShard;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchJobShardQuartzJobTest {
+
+    @Test
+    void secondConcurrentFiringOnTheSameNodeIsDeferred() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger launches = new AtomicInteger();
+        ShardSlots slots = new ShardSlots((job, parameters) -> {
+            launches.incrementAndGet();
+            started.countDown();
+            try {
+                finish.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new JobExecution(1L);
+        }, 1);
+        Map<String, Job> jobs = Map.of("userStatisticsJob", mock(Job.class));
+
+        // Quartz 는 발화마다 Job 인스턴스를 새로 만든다
+        Scheduler firstScheduler = mock(Scheduler.class);
+        JobExecutionContext first = firing(firstScheduler, 0);
+        Thread running = new Thread(() -> {
+            try {
+                new BatchJobShardQuartzJob(slots, jobs, Duration.ofSeconds(30)).execute(first);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        running.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Scheduler secondScheduler = mock(Scheduler.class);
+        new BatchJobShardQuartzJob(slots, jobs, Duration.ofSeconds(30)).execute(firing(secondScheduler, 1));
+
+        finish.countDown();
+        running.join(5000);
+
+        assertThat(launches).hasValue(1);
+        verify(secondScheduler, times(1)).scheduleJob(any(Trigger.class));
+        verify(firstScheduler, never()).scheduleJob(any(Trigger.class));
+        // 첫 shard 가 끝나면 슬롯이 돌아온다
+        assertThat(slots.tryAcquire()).isTrue();
+    }
+
+    private JobExecutionContext firing(Scheduler scheduler, long shardIndex) throws Exception {
+        JobDataMap data = new JobDataMap();
+        data.put(BatchJobShardQuartzJob.JOB_NAME, "userStatisticsJob");
+        data.put(BatchJobShardQuartzJob.TIMESTAMP, 1000L);
+        data.put(JobShard.INDEX_PARAM, shardIndex);
+        data.put(JobShard.COUNT_PARAM, 2L);
+
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getJobDataMap()).thenReturn(data);
+        when(scheduler.getSchedulerInstanceId()).thenReturn("node-1");
+
+        JobExecutionContext context = mock(JobExecutionContext.class);
+        when(context.getMergedJobDataMap()).thenReturn(data);
+        when(context.getTrigger()).thenReturn(trigger);
+        when(context.getScheduler()).thenReturn(scheduler);
+        return context;
+    }
+}
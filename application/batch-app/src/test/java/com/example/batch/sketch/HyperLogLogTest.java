@@ -0,0 +1,85 @@
+package com.example.batch.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    // precision 12 의 표준 오차는 약 1.6%. 3 시그마 정도를 허용한다
+    @Test
+    void estimateIsWithinTheStandardErrorBound() {
+        for (int distinct : new int[]{100_000, 1_000_000}) {
+            HyperLogLog hll = new HyperLogLog(12);
+            for (long userId = 1; userId <= distinct; userId++) {
+                hll.add(userId);
+            }
+
+            assertThat(relativeError(hll.estimate(), distinct)).as("error for %d buyers", distinct)
+                    .isCloseTo(0, within(0.05));
+        }
+    }
+
+    // 빈 레지스터가 많은 작은 카디널리티는 linear counting 으로 보정된다
+    @Test
+    void smallCardinalityUsesLinearCounting() {
+        HyperLogLog hll = new HyperLogLog(12);
+        assertThat(hll.estimate()).isZero();
+
+        for (long userId = 1; userId <= 1_000; userId++) {
+            hll.add(userId);
+        }
+
+        assertThat(relativeError(hll.estimate(), 1_000)).isCloseTo(0, within(0.02));
+    }
+
+    @Test
+    void repeatedValuesDoNotChangeTheEstimate() {
+        HyperLogLog once = new HyperLogLog(12);
+        HyperLogLog repeated = new HyperLogLog(12);
+        for (long userId = 1; userId <= 10_000; userId++) {
+            once.add(userId);
+            for (int i = 0; i < 3; i++) {
+                repeated.add(userId);
+            }
+        }
+
+        assertThat(repeated.toBytes()).isEqualTo(once.toBytes());
+    }
+
+    // 레지스터별 최댓값 병합이므로 겹치는 부분 스케치를 합치면 합집합을 직접 센 스케치와 같다
+    @Test
+    void mergeOfOverlappingSketchesEqualsTheSketchOfTheUnion() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (long userId = 0; userId < 60_000; userId++) {
+            first.add(userId);
+            union.add(userId);
+        }
+        for (long userId = 40_000; userId < 100_000; userId++) {
+            second.add(userId);
+            union.add(userId);
+        }
+
+        first.merge(HyperLogLog.fromBytes(second.toBytes()));
+
+        assertThat(first.toBytes()).isEqualTo(union.toBytes());
+        assertThat(relativeError(first.estimate(), 100_000)).isCloseTo(0, within(0.05));
+    }
+
+    @Test
+    void rejectsMismatchedPrecisionAndInvalidRegisters() {
+        HyperLogLog hll = new HyperLogLog(12);
+
+        assertThatThrownBy(() -> hll.merge(new HyperLogLog(14))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[1000])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static double relativeError(long estimate, long actual) {
+        return (double) estimate / actual - 1;
+    }
+}
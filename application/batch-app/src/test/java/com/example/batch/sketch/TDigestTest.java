@@ -0,0 +1,123 @@
+package com.example.batch.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TDigestTest {
+
+    private static final double[] TAIL_QUANTILES = {0.01, 0.05, 0.95, 0.99};
+    private static final double[] MIDDLE_QUANTILES = {0.25, 0.5, 0.75};
+
+    // 주문 금액처럼 오른쪽 꼬리가 긴 분포. 오차는 값이 아니라 순위(분위)로 본다
+    @Test
+    void quantileRankErrorIsSmallAndTighterInTheTails() {
+        double[] values = skewedValues(100_000, 1);
+        TDigest digest = new TDigest(100);
+        for (double value : values) {
+            digest.add(value);
+        }
+
+        assertThat(digest.size()).isEqualTo(values.length);
+        assertRankError(digest, sorted(values), TAIL_QUANTILES, 0.002);
+        assertRankError(digest, sorted(values), MIDDLE_QUANTILES, 0.005);
+    }
+
+    @Test
+    void extremeQuantilesAreTheObservedMinAndMax() {
+        double[] values = skewedValues(10_000, 2);
+        TDigest digest = new TDigest(100);
+        for (double value : values) {
+            digest.add(value);
+        }
+        double[] sorted = sorted(values);
+
+        assertThat(digest.quantile(0)).isEqualTo(sorted[0]);
+        assertThat(digest.quantile(1)).isEqualTo(sorted[sorted.length - 1]);
+    }
+
+    // 파티션별 부분 스케치를 합친 결과도 같은 오차 범위 안에 있어야 한다
+    @Test
+    void mergedPartialDigestsKeepTheQuantileError() {
+        double[] values = skewedValues(100_000, 3);
+        TDigest merged = new TDigest(100);
+        int partitions = 8;
+        for (int p = 0; p < partitions; p++) {
+            TDigest partial = new TDigest(100);
+            for (int i = p; i < values.length; i += partitions) {
+                partial.add(values[i]);
+            }
+            merged.merge(TDigest.fromBytes(partial.toBytes()));
+        }
+
+        assertThat(merged.size()).isEqualTo(values.length);
+        assertRankError(merged, sorted(values), TAIL_QUANTILES, 0.003);
+        assertRankError(merged, sorted(values), MIDDLE_QUANTILES, 0.01);
+        assertThat(merged.quantile(1)).isEqualTo(sorted(values)[values.length - 1]);
+    }
+
+    @Test
+    void bytesRoundTripKeepsQuantiles() {
+        TDigest digest = new TDigest(100);
+        for (double value : skewedValues(5_000, 4)) {
+            digest.add(value);
+        }
+
+        TDigest restored = TDigest.fromBytes(digest.toBytes());
+
+        assertThat(restored.size()).isEqualTo(digest.size());
+        for (double q : new double[]{0, 0.5, 0.95, 0.99, 1}) {
+            assertThat(restored.quantile(q)).isEqualTo(digest.quantile(q));
+        }
+    }
+
+    @Test
+    void emptyAndSingleValueDigests() {
+        TDigest digest = new TDigest(100);
+        assertThat(digest.quantile(0.5)).isNaN();
+
+        digest.add(42.0);
+        assertThat(digest.quantile(0.01)).isEqualTo(42.0);
+        assertThat(digest.quantile(0.99)).isEqualTo(42.0);
+    }
+
+    @Test
+    void rejectsTooSmallCompression() {
+        assertThatThrownBy(() -> new TDigest(5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertRankError(TDigest digest, double[] sorted, double[] quantiles, double tolerance) {
+        for (double q : quantiles) {
+            double estimate = digest.quantile(q);
+            assertThat(rank(sorted, estimate)).as("rank of p%s estimate %s", q * 100, estimate)
+                    .isCloseTo(q, within(tolerance));
+        }
+    }
+
+    // estimate 이하 값의 비율
+    private static double rank(double[] sorted, double estimate) {
+        int index = Arrays.binarySearch(sorted, estimate);
+        int below = index >= 0 ? index + 1 : -index - 1;
+        return (double) below / sorted.length;
+    }
+
+    private static double[] skewedValues(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.round(Math.exp(10 + random.nextGaussian()) * 100) / 100.0;
+        }
+        return values;
+    }
+
+    private static double[] sorted(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
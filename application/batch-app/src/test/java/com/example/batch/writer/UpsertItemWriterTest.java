@@ -0,0 +1,101 @@
+package com.example.batch.writer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 청크를 각 dialect 의 upsert 문으로 기록한다. H2 는 그대로, MySQL 문은 H2 의 MySQL 모드에서 실행한다.
+// H2 의 PostgreSQL 모드는 ON CONFLICT DO UPDATE 를 지원하지 않으므로 PostgreSQL 은 생성된 문장을 확인한다
+class UpsertItemWriterTest {
+
+    private static final String TABLE = "order_reports_upsert";
+    private static final List<String> COLUMNS = List.of("order_id", "order_status", "total_amount", "created_at");
+    private static final List<String> KEYS = List.of("order_id");
+    private static final List<String> UPDATES = List.of("order_status", "total_amount");
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime RECREATED = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    @Test
+    void h2MergeUpdatesOnlyUpdateColumns() throws Exception {
+        EmbeddedDatabase dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            writeChunk(dataSource, UpsertDialect.H2);
+        } finally {
+            dataSource.shutdown();
+        }
+    }
+
+    @Test
+    void mysqlOnDuplicateKeyUpdatesOnlyUpdateColumns() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try {
+            writeChunk(dataSource, UpsertDialect.MYSQL);
+        } finally {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void postgresqlOnConflictUpdatesOnlyUpdateColumns() {
+        String sql = UpsertDialect.POSTGRESQL.upsertSql(TABLE, COLUMNS,
+                UpsertDialect.POSTGRESQL.placeholders(null, TABLE, COLUMNS), KEYS, UPDATES, 2);
+
+        assertThat(sql).isEqualTo("INSERT INTO " + TABLE + " (order_id, order_status, total_amount, created_at)"
+                + " VALUES (?, ?, ?, ?), (?, ?, ?, ?)"
+                + " ON CONFLICT (order_id) DO UPDATE SET order_status = EXCLUDED.order_status,"
+                + " total_amount = EXCLUDED.total_amount");
+    }
+
+    private void writeChunk(DataSource dataSource, UpsertDialect dialect) throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (order_id BIGINT NOT NULL PRIMARY KEY,"
+                + " order_status VARCHAR(20) NOT NULL, total_amount DECIMAL(19, 2) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.update("INSERT INTO " + TABLE + " VALUES (1, 'PENDING', 10.00, ?)", Timestamp.valueOf(CREATED));
+
+        // 2 행씩 나눠 실행해 나머지 1 행 문장도 지나가게 한다. 청크 안의 중복 키(2)는 마지막 값이 남는다
+        UpsertItemWriter<Object[]> writer = new UpsertItemWriter<>(dataSource, dialect, TABLE, COLUMNS, KEYS, UPDATES,
+                row -> row, 2, false);
+        writer.write(new Chunk<>(List.of(
+                row(1, "CONFIRMED", "12.50"),
+                row(2, "PENDING", "20.00"),
+                row(3, "PENDING", "30.00"),
+                row(2, "CANCELLED", "21.00"))));
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT order_id, order_status, total_amount, created_at FROM " + TABLE + " ORDER BY order_id");
+        assertThat(rows).hasSize(3);
+        assertRow(rows.get(0), "CONFIRMED", "12.50", CREATED);
+        assertRow(rows.get(1), "CANCELLED", "21.00", RECREATED);
+        assertRow(rows.get(2), "PENDING", "30.00", RECREATED);
+    }
+
+    private static Object[] row(long orderId, String status, String amount) {
+        return new Object[]{orderId, status, new BigDecimal(amount), Timestamp.valueOf(RECREATED)};
+    }
+
+    private static void assertRow(Map<String, Object> row, String status, String amount, LocalDateTime createdAt) {
+        assertThat(row.get("order_status")).isEqualTo(status);
+        assertThat((BigDecimal) row.get("total_amount")).isEqualByComparingTo(amount);
+        // updateColumns 에 없는 created_at 은 기존 행에서 바뀌지 않는다
+        assertThat(((Timestamp) row.get("created_at")).toLocalDateTime()).isEqualTo(createdAt);
+    }
+}
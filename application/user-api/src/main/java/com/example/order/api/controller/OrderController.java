@@ -196,6 +196,14 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response, "주문이 배송완료되었습니다"));
     }
 
+    // 주문 집계 카운터(order_counters)를 orders 전체 집계로 다시 만든다
+    @PostMapping("/admin/counters/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuildOrderCounters() {
+        int counters = orderService.rebuildCounters();
+        return ResponseEntity.ok(ApiResponse.success(counters, "주문 집계 카운터를 다시 계산했습니다"));
+    }
+
     @GetMapping("/admin/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByStatus(@PathVariable OrderStatus status) {
@@ -4,8 +4,10 @@ import com.example.common.security.jwt.UserPrincipal;
 import com.example.common.web.response.ApiResponse;
 import com.example.product.api.dto.ProductCreateRequest;
 import com.example.product.api.dto.ProductResponse;
+import com.example.product.api.dto.ProductSalesRankResponse;
 import com.example.product.api.dto.ProductUpdateRequest;
 import com.example.product.domain.Product;
+import com.example.product.domain.ProductSalesRank;
 import com.example.product.domain.ProductStatus;
 import com.example.product.service.ProductService;
 import jakarta.validation.Valid;
@@ -168,4 +170,26 @@ public class ProductController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success(responses));
     }
+
+    @GetMapping("/best-sellers")
+    public ResponseEntity<ApiResponse<List<ProductSalesRankResponse>>> getBestSellers(
+            @RequestParam Long categoryId,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        List<ProductSalesRank> ranks = productService.findBestSellers(categoryId, limit);
+        List<ProductSalesRankResponse> responses = ranks.stream()
+                .map(ProductSalesRankResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(responses));
+    }
+
+    @GetMapping("/{id}/frequently-bought-together")
+    public ResponseEntity<ApiResponse<List<ProductResponse>>> getFrequentlyBoughtTogether(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") Integer limit) {
+        List<Product> products = productService.findFrequentlyBoughtTogether(id, limit);
+        List<ProductResponse> responses = products.stream()
+                .map(ProductResponse::from)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ApiResponse.success(responses));
+    }
 }
\ No newline at end of file
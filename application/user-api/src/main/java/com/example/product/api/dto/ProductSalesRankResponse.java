@@ -0,0 +1,35 @@
+package com.example.product.api.dto;
+
+import com.example.product.domain.ProductSalesRank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSalesRankResponse {
+
+    private Long categoryId;
+    private Integer rank;
+    private Long productId;
+    private Long quantitySold;
+    private BigDecimal revenue;
+    private LocalDateTime updatedAt;
+
+    public static ProductSalesRankResponse from(ProductSalesRank rank) {
+        return ProductSalesRankResponse.builder()
+                .categoryId(rank.getCategoryId())
+                .rank(rank.getRank())
+                .productId(rank.getProductId())
+                .quantitySold(rank.getQuantitySold())
+                .revenue(rank.getRevenue())
+                .updatedAt(rank.getUpdatedAt())
+                .build();
+    }
+}
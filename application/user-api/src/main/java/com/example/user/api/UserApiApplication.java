@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @SpringBootApplication(scanBasePackages = {
         "com.example.common",
         "com.example.user",
+        "com.example.product",
         "com.example.infrastructure"
 })
 @EntityScan("com.example.infrastructure")
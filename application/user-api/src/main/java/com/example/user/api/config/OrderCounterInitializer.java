@@ -0,0 +1,29 @@
+package com.example.user.api.config;
+
+import com.example.order.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// 배포 직후 order_counters 가 비어 있으면 집계 조회가 0 을 돌려주므로, 기동이 끝나면 한 번 채운다.
+// 카운터 테이블(schema.sql)과 주문 API 를 가진 user-api 에서만 등록한다 (OrderService 가 구성된 경우에만 실행)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderCounterInitializer {
+
+    private final ObjectProvider<OrderService> orderService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeCounters() {
+        orderService.ifAvailable(service -> {
+            int keys = service.initializeCounters();
+            if (keys > 0) {
+                log.info("Initialized order counters: {} keys", keys);
+            }
+        });
+    }
+}
@@ -7,6 +7,7 @@ import com.example.common.security.service.AuthService;
 import com.example.common.web.response.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,8 +31,11 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout() {
-        // JWT는 stateless하므로 클라이언트에서 토큰을 삭제하도록 안내
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        // 액세스 토큰과 (전달된 경우) 리프레시 토큰을 만료 시각까지 폐기 목록에 등록
+        authService.logout(authorization, request != null ? request.getRefreshToken() : null);
         return ResponseEntity.ok(ApiResponse.success(null, "로그아웃이 완료되었습니다"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+-- JPA 엔티티가 아닌 읽기/집계 테이블 (CREATE TABLE IF NOT EXISTS 로 재실행에 안전)
+
+-- OrderService 의 상태 전이와 같은 트랜잭션에서 갱신되는 상태별/사용자별 주문 수와 금액 합계.
+-- counter_key 는 'status:PAID', 'user:42' 형식이며, 조회는 같은 키의 stripe 행들을 합산한다
+CREATE TABLE IF NOT EXISTS order_counters (
+    counter_key         VARCHAR(64)    NOT NULL,
+    stripe              INT            NOT NULL,
+    order_count         BIGINT         NOT NULL DEFAULT 0,
+    total_amount        DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (counter_key, stripe)
+);
+
+-- batch-app(topSellingProductsJob)이 게시하는 카테고리별 판매 순위 (batch-app schema.sql 과 같은 정의).
+-- 두 앱이 같은 데이터베이스(DB_URL)를 가리켜야 API 에서 보인다. 기본 H2 메모리 설정에서는 각자 DB 를 쓰므로 비어 있다
+CREATE TABLE IF NOT EXISTS product_best_sellers (
+    category_id         BIGINT         NOT NULL,
+    rank_no             INT            NOT NULL,
+    product_id          BIGINT         NOT NULL,
+    quantity_sold       BIGINT         NOT NULL,
+    revenue             DECIMAL(19, 2) NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (category_id, rank_no)
+);
+
+-- batch-app(coPurchaseJob)이 게시하는 상품별 함께 구매한 상위 K 개 상품 (product_best_sellers 와 같은 조건)
+CREATE TABLE IF NOT EXISTS product_co_purchases (
+    product_id          BIGINT         NOT NULL,
+    rank_no             INT            NOT NULL,
+    related_product_id  BIGINT         NOT NULL,
+    co_count            BIGINT         NOT NULL,
+    updated_at          TIMESTAMP      NOT NULL,
+    PRIMARY KEY (product_id, rank_no)
+);
@@ -11,6 +11,8 @@ public enum ErrorCode {
     INVALID_INPUT_VALUE("COMMON_001", "잘못된 입력값입니다"),
     SYSTEM_ERROR("COMMON_002", "시스템 에러가 발생했습니다"),
     ENTITY_NOT_FOUND("COMMON_003", "요청한 리소스를 찾을 수 없습니다"),
+    TOO_MANY_REQUESTS("COMMON_004", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요"),
+    SERVICE_OVERLOADED("COMMON_005", "서버가 혼잡합니다. 잠시 후 다시 시도해주세요"),
     
     // User errors
     USER_NOT_FOUND("USER_001", "사용자를 찾을 수 없습니다"),
@@ -1,5 +1,8 @@
 package com.example.common.security.jwt;
 
+import com.example.common.security.service.AuthUserCache;
+import com.example.common.security.token.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,22 +27,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthUserCache authUserCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            Claims claims = resolveClaims(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userEmail = tokenProvider.getEmailFromToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-                UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (claims != null) {
+                if (tokenRevocationStore.isRevoked(claims.getId())) {
+                    log.debug("Rejected revoked JWT token: {}", claims.getId());
+                } else {
+                    String userEmail = claims.get("email", String.class);
+                    
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+                    if (userDetails instanceof UserPrincipal principal
+                            && JwtTokenProvider.isPasswordVersionAhead(claims, principal.getPasswordVersion())) {
+                        // 다른 노드에서 비밀번호가 바뀌어 로컬 캐시가 뒤처진 경우 다시 읽는다
+                        authUserCache.evict(userEmail);
+                        userDetails = userDetailsService.loadUserByUsername(userEmail);
+                    }
+                    
+                    if (isCurrent(userDetails, claims)) {
+                        UsernamePasswordAuthenticationToken authentication = 
+                                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -48,6 +66,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    // 비활성화되었거나 토큰 발급 이후 비밀번호가 변경된 사용자는 인증하지 않는다
+    private boolean isCurrent(UserDetails userDetails, Claims claims) {
+        if (!userDetails.isEnabled()) {
+            log.debug("Rejected JWT token for disabled user: {}", userDetails.getUsername());
+            return false;
+        }
+        if (userDetails instanceof UserPrincipal principal
+                && !JwtTokenProvider.isPasswordVersionCurrent(claims, principal.getPasswordVersion())) {
+            log.debug("Rejected JWT token issued before password change: {}", userDetails.getUsername());
+            return false;
+        }
+        return true;
+    }
+    
+    // rate limit 단계에서 이미 검증했으면 그 Claims 를 쓰고, 아니면 여기서 한 번만 파싱/검증한다
+    private Claims resolveClaims(HttpServletRequest request) {
+        if (request.getAttribute(JwtTokenProvider.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+            return claims;
+        }
+        String jwt = getJwtFromRequest(request);
+        return StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt).orElse(null) : null;
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
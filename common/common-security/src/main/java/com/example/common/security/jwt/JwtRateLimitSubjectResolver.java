@@ -0,0 +1,32 @@
+package com.example.common.security.jwt;
+
+import com.example.common.web.ratelimit.RateLimitSubjectResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Optional;
+
+// rate limit 의 USER 키를 서명이 검증된 JWT subject 로 정한다.
+// 검증한 Claims 는 request attribute 에 남겨 JwtAuthenticationFilter 가 다시 파싱하지 않게 한다
+@Component
+@RequiredArgsConstructor
+public class JwtRateLimitSubjectResolver implements RateLimitSubjectResolver {
+
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    public Optional<String> resolveSubject(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return tokenProvider.parseClaims(bearerToken.substring(7))
+                .map(claims -> {
+                    request.setAttribute(JwtTokenProvider.CLAIMS_ATTRIBUTE, claims);
+                    return claims.getSubject();
+                });
+    }
+}
@@ -10,12 +10,17 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
     
+    // 같은 요청 안에서 한 번 검증한 Claims 를 재사용하기 위한 request attribute
+    public static final String CLAIMS_ATTRIBUTE = JwtTokenProvider.class.getName() + ".claims";
+    
     private final SecretKey key;
     private final int jwtExpirationInMs;
     private final int refreshExpirationInMs;
@@ -37,9 +42,11 @@ public class JwtTokenProvider {
                 .collect(Collectors.joining(","));
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
                 .claim("email", userPrincipal.getEmail())
                 .claim("authorities", authorities)
+                .claim("pv", userPrincipal.getPasswordVersion())
                 .issuedAt(new Date())
                 .expiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
@@ -51,14 +58,46 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(System.currentTimeMillis() + refreshExpirationInMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
                 .claim("type", "refresh")
+                .claim("pv", userPrincipal.getPasswordVersion())
                 .issuedAt(new Date())
                 .expiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    public Claims getClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+    
+    // 서명/만료를 검증해 Claims 를 반환한다. 검증에 실패하면 empty (클라이언트가 임의 값을 보낼 수 있으므로 debug 로만 남긴다)
+    public Optional<Claims> parseClaims(String token) {
+        try {
+            return Optional.of(getClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            log.debug("Rejected JWT token: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    // 토큰의 pv 가 현재 비밀번호 버전과 같은지. pv 가 없는 토큰(버전 도입 이전 발급)은 통과시킨다
+    public static boolean isPasswordVersionCurrent(Claims claims, int currentVersion) {
+        Object passwordVersion = claims.get("pv");
+        return passwordVersion == null
+                || passwordVersion instanceof Number number && number.intValue() == currentVersion;
+    }
+    
+    // 토큰의 pv 가 현재 값보다 크면 이 노드가 들고 있는 사용자 정보가 오래된 것이다
+    public static boolean isPasswordVersionAhead(Claims claims, int currentVersion) {
+        return claims.get("pv") instanceof Number number && number.intValue() > currentVersion;
+    }
+    
     public Long getUserIdFromToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(key)
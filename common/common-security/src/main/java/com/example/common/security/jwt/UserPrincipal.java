@@ -17,7 +17,9 @@ public class UserPrincipal implements UserDetails {
     
     private Long id;
     private String email;
+    private String name;
     private String password;
+    private int passwordVersion;
     private UserRole role;
     private boolean active;
     
@@ -25,7 +27,9 @@ public class UserPrincipal implements UserDetails {
         return new UserPrincipal(
                 user.getId(),
                 user.getEmail(),
+                user.getName(),
                 user.getPassword(),
+                user.getPasswordVersion(),
                 user.getRole(),
                 user.isActive()
         );
@@ -7,17 +7,18 @@ import com.example.common.security.dto.LoginRequest;
 import com.example.common.security.dto.RefreshTokenRequest;
 import com.example.common.security.jwt.JwtTokenProvider;
 import com.example.common.security.jwt.UserPrincipal;
+import com.example.common.security.token.TokenRevocationStore;
 import com.example.user.domain.User;
 import com.example.user.domain.service.UserService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 @Slf4j
 @Service
@@ -27,8 +28,8 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
+    private final TokenRevocationStore tokenRevocationStore;
     
-    @Cacheable(value = "users", key = "'auth:' + #loginRequest.email", unless = "#result == null")
     public AuthResponse login(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
@@ -52,7 +53,7 @@ public class AuthService {
                 .userInfo(AuthResponse.UserInfo.builder()
                         .id(userPrincipal.getId())
                         .email(userPrincipal.getEmail())
-                        .name(userPrincipal.getUsername())
+                        .name(userPrincipal.getName())
                         .role(userPrincipal.getRole().name())
                         .build())
                 .build();
@@ -69,7 +70,14 @@ public class AuthService {
             throw new BusinessException(ErrorCode.INVALID_CREDENTIALS.getCode(), "Invalid refresh token type");
         }
         
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
+        // Refresh token rotation: 사용된 리프레시 토큰은 즉시 폐기되어 재사용할 수 없다
+        Claims claims = tokenProvider.getClaims(refreshToken);
+        if (!tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant())) {
+            log.warn("Refresh token reuse detected for user: {}", claims.getSubject());
+            throw new BusinessException(ErrorCode.INVALID_CREDENTIALS.getCode(), "Revoked refresh token");
+        }
+        
+        Long userId = Long.parseLong(claims.getSubject());
         User user = userService.findById(userId);
         
         if (!user.isActive()) {
@@ -77,6 +85,10 @@ public class AuthService {
                     ErrorCode.ACCOUNT_LOCKED.getMessage());
         }
         
+        if (!JwtTokenProvider.isPasswordVersionCurrent(claims, user.getPasswordVersion())) {
+            throw new BusinessException(ErrorCode.INVALID_CREDENTIALS.getCode(), "Password has been changed");
+        }
+        
         UserPrincipal userPrincipal = UserPrincipal.create(user);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userPrincipal, null, userPrincipal.getAuthorities());
@@ -97,4 +109,22 @@ public class AuthService {
                         .build())
                 .build();
     }
+    
+    public void logout(String authorizationHeader, String refreshToken) {
+        if (StringUtils.hasText(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
+            revokeToken(authorizationHeader.substring(7));
+        }
+        if (StringUtils.hasText(refreshToken)) {
+            revokeToken(refreshToken);
+        }
+        SecurityContextHolder.clearContext();
+    }
+    
+    private void revokeToken(String token) {
+        if (!tokenProvider.validateToken(token)) {
+            return;
+        }
+        Claims claims = tokenProvider.getClaims(token);
+        tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.example.common.security.service;
+
+import com.example.common.security.jwt.UserPrincipal;
+import com.example.user.domain.event.UserAuthChangedEvent;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+// 이메일별 인증 메타데이터(역할, 상태, 비밀번호 버전) 캐시.
+// 로그인 시 BCrypt 검증은 매번 수행하지만, 로그인과 JWT 필터의 사용자 조회는 이 캐시를 거친다.
+// 변경 시 evict 는 이 노드에서만 일어난다. 다중 인스턴스에서는 revocation-store=redis 이면 RedisAuthCacheEvictionRelay 가
+// 다른 노드에도 전파하고, memory 모드에서는 TTL 이내에 반영된다 (더 새 비밀번호 버전의 토큰을 보면 JWT 필터가 즉시 다시 읽는다)
+@Slf4j
+@Component
+public class AuthUserCache {
+
+    private final Cache<String, UserPrincipal> cache;
+
+    public AuthUserCache(@Value("${app.security.auth-cache.ttl:5m}") Duration ttl,
+                         @Value("${app.security.auth-cache.max-size:10000}") long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    public UserPrincipal get(String email, Supplier<UserPrincipal> loader) {
+        try {
+            return cache.get(email, loader::get);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load auth user: " + email, e.getCause());
+        } catch (UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+            log.debug("Evicted auth cache entry - Email: {}", email);
+        }
+    }
+
+    @EventListener
+    public void onUserAuthChanged(UserAuthChangedEvent event) {
+        evict(event.getEmail());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.common.security.service;
+
+import com.example.user.domain.event.UserAuthChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+// 인증 정보 변경(비밀번호, 활성 상태)을 pub/sub 으로 다른 인스턴스에 알려 각자의 AuthUserCache 항목을 지우게 한다.
+// 자기 자신이 보낸 메시지도 받지만 같은 이메일을 한 번 더 지울 뿐이다
+@RequiredArgsConstructor
+public class RedisAuthCacheEvictionRelay implements MessageListener {
+
+    public static final String CHANNEL = "auth-user-evict";
+
+    private final StringRedisTemplate redisTemplate;
+    private final AuthUserCache authUserCache;
+
+    @EventListener
+    public void onUserAuthChanged(UserAuthChangedEvent event) {
+        if (event.getEmail() != null) {
+            redisTemplate.convertAndSend(CHANNEL, event.getEmail());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        authUserCache.evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.common.security.token;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// jti -> 만료 시각(epoch millis). 조회는 해시 한 번으로 끝나며, 만료된 항목은 주기적으로 제거된다
+@Slf4j
+public class InMemoryTokenRevocationStore implements TokenRevocationStore, AutoCloseable {
+
+    private static final long PURGE_INTERVAL_SECONDS = 30;
+
+    private final ConcurrentMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purgeExecutor;
+
+    public InMemoryTokenRevocationStore() {
+        this.purgeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.purgeExecutor.scheduleWithFixedDelay(this::purgeExpired,
+                PURGE_INTERVAL_SECONDS, PURGE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return false;
+        }
+        return revokedTokens.putIfAbsent(tokenId, expiresAt.toEpochMilli()) == null;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokens.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        int purged = before - revokedTokens.size();
+        if (purged > 0) {
+            log.debug("Purged {} expired revoked tokens", purged);
+        }
+    }
+
+    @Override
+    public void close() {
+        purgeExecutor.shutdownNow();
+    }
+}
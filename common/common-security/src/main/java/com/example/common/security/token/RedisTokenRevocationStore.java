@@ -0,0 +1,92 @@
+package com.example.common.security.token;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+// Redis를 인스턴스 간 공유 저장소로 사용하고, 조회는 항상 로컬 사본에서 처리한다.
+// 폐기 이벤트는 pub/sub 으로 전파되며 Redis 키는 토큰 만료 시각에 TTL로 자동 삭제된다
+@Slf4j
+public class RedisTokenRevocationStore implements TokenRevocationStore, MessageListener, AutoCloseable {
+
+    public static final String CHANNEL = "token-revocation";
+    private static final String KEY_PREFIX = "revoked-token::";
+
+    private final StringRedisTemplate redisTemplate;
+    private final InMemoryTokenRevocationStore localStore;
+
+    public RedisTokenRevocationStore(StringRedisTemplate redisTemplate, InMemoryTokenRevocationStore localStore) {
+        this.redisTemplate = redisTemplate;
+        this.localStore = localStore;
+    }
+
+    @Override
+    public boolean revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return false;
+        }
+
+        Boolean newlyRevoked = redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + tokenId, Long.toString(expiresAt.toEpochMilli()), ttl);
+        localStore.revoke(tokenId, expiresAt);
+
+        if (Boolean.TRUE.equals(newlyRevoked)) {
+            redisTemplate.convertAndSend(CHANNEL, tokenId + ":" + expiresAt.toEpochMilli());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return localStore.isRevoked(tokenId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed token revocation message: {}", body);
+            return;
+        }
+        String tokenId = body.substring(0, separator);
+        long expiresAt = Long.parseLong(body.substring(separator + 1));
+        localStore.revoke(tokenId, Instant.ofEpochMilli(expiresAt));
+    }
+
+    // 기동 시 다른 인스턴스가 이미 폐기한 토큰을 로컬 사본으로 적재한다
+    public void loadExisting() {
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+        int loaded = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                String expiresAt = redisTemplate.opsForValue().get(key);
+                if (expiresAt != null
+                        && localStore.revoke(key.substring(KEY_PREFIX.length()), Instant.ofEpochMilli(Long.parseLong(expiresAt)))) {
+                    loaded++;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load revoked tokens from Redis", e);
+        }
+        log.info("Loaded {} revoked tokens from Redis", loaded);
+    }
+
+    @Override
+    public void close() {
+        localStore.close();
+    }
+}
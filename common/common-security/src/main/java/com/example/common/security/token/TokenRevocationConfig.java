@@ -0,0 +1,53 @@
+package com.example.common.security.token;
+
+import com.example.common.security.service.AuthUserCache;
+import com.example.common.security.service.RedisAuthCacheEvictionRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "memory", matchIfMissing = true)
+    public TokenRevocationStore inMemoryTokenRevocationStore() {
+        return new InMemoryTokenRevocationStore();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.jwt.revocation-store", havingValue = "redis")
+    static class RedisTokenRevocationConfig {
+
+        @Bean
+        public RedisTokenRevocationStore redisTokenRevocationStore(StringRedisTemplate stringRedisTemplate) {
+            RedisTokenRevocationStore store =
+                    new RedisTokenRevocationStore(stringRedisTemplate, new InMemoryTokenRevocationStore());
+            store.loadExisting();
+            return store;
+        }
+
+        @Bean
+        public RedisAuthCacheEvictionRelay redisAuthCacheEvictionRelay(StringRedisTemplate stringRedisTemplate,
+                                                                       AuthUserCache authUserCache) {
+            return new RedisAuthCacheEvictionRelay(stringRedisTemplate, authUserCache);
+        }
+
+        @Bean
+        public RedisMessageListenerContainer tokenRevocationListenerContainer(
+                RedisConnectionFactory connectionFactory, RedisTokenRevocationStore redisTokenRevocationStore,
+                RedisAuthCacheEvictionRelay redisAuthCacheEvictionRelay) {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener(redisTokenRevocationStore,
+                    new ChannelTopic(RedisTokenRevocationStore.CHANNEL));
+            container.addMessageListener(redisAuthCacheEvictionRelay,
+                    new ChannelTopic(RedisAuthCacheEvictionRelay.CHANNEL));
+            return container;
+        }
+    }
+}
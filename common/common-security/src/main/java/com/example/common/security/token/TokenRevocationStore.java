@@ -0,0 +1,11 @@
+package com.example.common.security.token;
+
+import java.time.Instant;
+
+public interface TokenRevocationStore {
+
+    // 새로 폐기된 경우에만 true (이미 폐기된 토큰이면 false)
+    boolean revoke(String tokenId, Instant expiresAt);
+
+    boolean isRevoked(String tokenId);
+}
@@ -0,0 +1,54 @@
+package com.example.common.web.concurrency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimiter {
+
+    private final GradientConcurrencyLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this.limit = new GradientConcurrencyLimit(properties);
+    }
+
+    public boolean tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit.getLimit() * priority.getLimitShare()));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 예외로 끝난 요청은 지연 시간을 대표하지 않으므로 샘플에서 제외한다
+    public void release(long startNanos, boolean sample) {
+        int current = inflight.getAndDecrement();
+        if (sample) {
+            limit.onSample(System.nanoTime() - startNanos, current);
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.common.web.concurrency;
+
+import com.example.common.exception.ErrorCode;
+import com.example.common.web.response.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 관측된 지연 시간으로 동시 처리 한도를 조정하고, 한도를 넘는 요청은 Tomcat 큐에 쌓이기 전에 즉시 503으로 거절한다.
+// Rate limit 필터 다음, Spring Security 필터 체인 이전에 실행된다
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestPriority priority = properties.resolvePriority(request);
+
+        if (!limiter.tryAcquire(priority)) {
+            log.warn("Request shed by concurrency limiter - Priority: {}, Limit: {}, Inflight: {}, URI: {}",
+                    priority, limiter.getLimit(), limiter.getInflight(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            errorResponseWriter.write(response, HttpStatus.SERVICE_UNAVAILABLE, ErrorCode.SERVICE_OVERLOADED);
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            limiter.release(startNanos, completed);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.common.web.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = false;
+    private int initialLimit = 50;
+    private int minLimit = 10;
+    private int maxLimit = 500;
+    private double smoothing = 0.2;
+    private double rttTolerance = 1.5;
+    private int shortWindow = 10;           // 단기 RTT 이동평균 샘플 수
+    private int longWindow = 600;           // 장기(기준) RTT 이동평균 샘플 수
+    private List<ConcurrencyLimitRoute> routes = new ArrayList<>();
+
+    // 선언 순서대로 첫 번째로 일치하는 경로의 우선순위를 사용한다
+    public RequestPriority resolvePriority(HttpServletRequest request) {
+        for (ConcurrencyLimitRoute route : routes) {
+            if (route.matches(request)) {
+                return route.getPriority();
+            }
+        }
+        return RequestPriority.NORMAL;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.common.web.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.AntPathMatcher;
+
+@Getter
+@Setter
+public class ConcurrencyLimitRoute {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private String method;                  // null 이면 모든 HTTP 메서드
+    private String path;                    // Ant 스타일 패턴
+    private RequestPriority priority = RequestPriority.NORMAL;
+
+    public boolean matches(HttpServletRequest request) {
+        if (method != null && !method.equalsIgnoreCase(request.getMethod())) {
+            return false;
+        }
+        return PATH_MATCHER.match(path, request.getRequestURI());
+    }
+}
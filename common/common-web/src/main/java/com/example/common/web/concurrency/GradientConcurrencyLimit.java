@@ -0,0 +1,79 @@
+package com.example.common.web.concurrency;
+
+// Gradient 방식의 동시성 한도 추정.
+// 장기 RTT(기준 지연)와 단기 RTT의 비율로 큐잉 여부를 판단해, 지연이 늘면 한도를 줄이고 안정적이면 sqrt(limit)만큼 늘린다
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final ExponentialAverage shortRtt;
+    private final ExponentialAverage longRtt;
+
+    private volatile double estimatedLimit;
+
+    public GradientConcurrencyLimit(ConcurrencyLimitProperties properties) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = properties.getSmoothing();
+        this.rttTolerance = properties.getRttTolerance();
+        this.shortRtt = new ExponentialAverage(properties.getShortWindow());
+        this.longRtt = new ExponentialAverage(properties.getLongWindow());
+        this.estimatedLimit = clamp(properties.getInitialLimit());
+    }
+
+    public int getLimit() {
+        return (int) estimatedLimit;
+    }
+
+    public synchronized void onSample(long rttNanos, int inflight) {
+        double shortValue = shortRtt.add(rttNanos);
+        double longValue = longRtt.add(rttNanos);
+
+        // 과부하가 해소된 뒤 기준 RTT가 높게 남아 있으면 빠르게 끌어내린다
+        if (longValue / shortValue > 2.0) {
+            longRtt.scale(0.95);
+        }
+
+        // 한도의 절반도 사용하지 않는 상태에서는 측정값이 의미가 없으므로 한도를 늘리지 않는다
+        if (inflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longValue / shortValue));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+
+    private static final class ExponentialAverage {
+        private final int warmupSamples;
+        private final double factor;
+        private double value;
+        private int count;
+
+        private ExponentialAverage(int window) {
+            this.warmupSamples = Math.max(1, window / 10);
+            this.factor = 2.0 / (window + 1);
+        }
+
+        // 초기에는 단순 평균으로 채워 첫 샘플에 과도하게 끌려가지 않도록 한다
+        private double add(double sample) {
+            if (count < warmupSamples) {
+                count++;
+                value += (sample - value) / count;
+            } else {
+                value = value * (1 - factor) + sample * factor;
+            }
+            return value;
+        }
+
+        private void scale(double ratio) {
+            value *= ratio;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.common.web.concurrency;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 우선순위별로 사용할 수 있는 동시성 한도의 비율. 혼잡해지면 비율이 낮은 요청부터 거절된다
+@Getter
+@RequiredArgsConstructor
+public enum RequestPriority {
+    CRITICAL(1.0),
+    HIGH(0.9),
+    NORMAL(0.8),
+    LOW(0.6);
+
+    private final double limitShare;
+}
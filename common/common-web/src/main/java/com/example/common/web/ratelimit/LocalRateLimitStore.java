@@ -0,0 +1,64 @@
+package com.example.common.web.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 단일 인스턴스용 인메모리 저장소. Bucket4j 기본 버킷은 CAS 기반 lock-free 구현이다
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ConcurrentMap<String, BucketEntry> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        BucketEntry entry = buckets.get(key);
+        if (entry == null) {
+            entry = buckets.computeIfAbsent(key, k -> new BucketEntry(policy.newBucket(), policy.getIdleEvictionNanos()));
+        }
+        entry.lastAccess = now;
+
+        ConsumptionProbe probe = entry.bucket.tryConsumeAndReturnRemaining(1);
+        sweepIfDue(now);
+
+        return probe.isConsumed()
+                ? RateLimitResult.allowed(probe.getRemainingTokens())
+                : RateLimitResult.rejected(probe.getNanosToWaitForRefill());
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // 별도 스레드 없이 요청 스레드 하나만 CAS로 정리 작업을 맡는다
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(entry -> now - entry.lastAccess > entry.idleEvictionNanos);
+    }
+
+    private static final class BucketEntry {
+        private final Bucket bucket;
+        private final long idleEvictionNanos;
+        private volatile long lastAccess;
+
+        private BucketEntry(Bucket bucket, long idleEvictionNanos) {
+            this.bucket = bucket;
+            this.idleEvictionNanos = idleEvictionNanos;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
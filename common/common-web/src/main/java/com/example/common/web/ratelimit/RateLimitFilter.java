@@ -0,0 +1,76 @@
+package com.example.common.web.ratelimit;
+
+import com.example.common.exception.ErrorCode;
+import com.example.common.web.response.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+// Spring Security 필터 체인보다 먼저 실행되어 BCrypt, DB, 캐시에 도달하기 전에 과도한 요청을 차단한다
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore rateLimitStore;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final ObjectProvider<RateLimitSubjectResolver> subjectResolver;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitPolicy policy = properties.findPolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = policy.getName() + ":" + resolveClientKey(request, policy.getKeyType());
+        RateLimitResult result = rateLimitStore.tryConsume(key, policy);
+
+        if (result.isAllowed()) {
+            response.setHeader(REMAINING_HEADER, Long.toString(result.getRemainingTokens()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        log.warn("Rate limit exceeded - Policy: {}, Key: {}", policy.getName(), key);
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(result.getRetryAfterSeconds()));
+        errorResponseWriter.write(response, HttpStatus.TOO_MANY_REQUESTS, ErrorCode.TOO_MANY_REQUESTS);
+    }
+
+    private String resolveClientKey(HttpServletRequest request, RateLimitKeyType keyType) {
+        if (keyType == RateLimitKeyType.USER) {
+            // 토큰 문자열을 그대로 키로 쓰면 요청마다 다른 값을 보내 제한을 피하고 버킷을 무한히 만들 수 있으므로,
+            // 서명이 검증된 subject 만 사용자 키로 인정한다
+            RateLimitSubjectResolver resolver = subjectResolver.getIfAvailable();
+            if (resolver != null) {
+                Optional<String> subject = resolver.resolveSubject(request);
+                if (subject.isPresent()) {
+                    return "user:" + subject.get();
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.common.web.ratelimit;
+
+public enum RateLimitKeyType {
+    IP,    // 클라이언트 IP 단위
+    USER   // 검증된 토큰의 사용자 단위 (토큰이 없거나 검증에 실패하면 IP로 대체)
+}
@@ -0,0 +1,45 @@
+package com.example.common.web.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+public class RateLimitPolicy {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private String name;
+    private String method;                  // null 이면 모든 HTTP 메서드
+    private String path;                    // Ant 스타일 패턴
+    private RateLimitKeyType keyType = RateLimitKeyType.IP;
+    private long capacity = 60;
+    private long refillTokens = 60;
+    private Duration refillPeriod = Duration.ofMinutes(1);
+
+    public boolean matches(HttpServletRequest request) {
+        if (method != null && !method.equalsIgnoreCase(request.getMethod())) {
+            return false;
+        }
+        return PATH_MATCHER.match(path, request.getRequestURI());
+    }
+
+    public Bucket newBucket() {
+        return Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(refillTokens, refillPeriod)))
+                .build();
+    }
+
+    // 이 시간 동안 사용되지 않은 버킷은 가득 찬 상태이므로 제거 후 재생성해도 결과가 같다
+    public long getIdleEvictionNanos() {
+        long periodsToFill = (capacity + refillTokens - 1) / refillTokens;
+        return refillPeriod.toNanos() * periodsToFill;
+    }
+}
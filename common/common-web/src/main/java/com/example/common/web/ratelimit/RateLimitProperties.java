@@ -0,0 +1,31 @@
+package com.example.common.web.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+    private String store = "local";         // local | redis
+    private List<RateLimitPolicy> policies = new ArrayList<>();
+
+    // 선언 순서대로 첫 번째로 일치하는 정책을 적용한다
+    public RateLimitPolicy findPolicy(HttpServletRequest request) {
+        for (RateLimitPolicy policy : policies) {
+            if (policy.matches(request)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.common.web.ratelimit;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class RateLimitResult {
+
+    private final boolean allowed;
+    private final long remainingTokens;
+    private final long nanosToWaitForRefill;
+
+    public static RateLimitResult allowed(long remainingTokens) {
+        return new RateLimitResult(true, remainingTokens, 0L);
+    }
+
+    public static RateLimitResult rejected(long nanosToWaitForRefill) {
+        return new RateLimitResult(false, 0L, nanosToWaitForRefill);
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(nanosToWaitForRefill + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.common.web.ratelimit;
+
+public interface RateLimitStore {
+
+    RateLimitResult tryConsume(String key, RateLimitPolicy policy);
+}
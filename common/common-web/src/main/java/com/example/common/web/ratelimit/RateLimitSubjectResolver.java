@@ -0,0 +1,11 @@
+package com.example.common.web.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Optional;
+
+// USER 정책의 버킷 키로 쓸 검증된 사용자 식별자. 서명 검증을 통과하지 못한 요청은 empty 를 반환해 IP 로 제한한다
+public interface RateLimitSubjectResolver {
+
+    Optional<String> resolveSubject(HttpServletRequest request);
+}
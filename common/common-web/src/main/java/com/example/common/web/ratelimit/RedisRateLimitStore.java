@@ -0,0 +1,77 @@
+package com.example.common.web.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 여러 인스턴스가 버킷을 공유하는 분산 모드. 토큰 계산은 Lua 스크립트로 Redis 안에서 원자적으로 처리한다
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.store", havingValue = "redis")
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate-limit::";
+
+    private static final String TOKEN_BUCKET_SCRIPT = """
+            local capacity = tonumber(ARGV[1])
+            local refill_tokens = tonumber(ARGV[2])
+            local refill_period = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1])
+            local ts = tonumber(state[2])
+            if tokens == nil or ts == nil then
+              tokens = capacity
+              ts = now
+            end
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_tokens / refill_period)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              wait = math.ceil((1 - tokens) * refill_period / refill_tokens)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * refill_period / refill_tokens))
+            return {allowed, math.floor(tokens), wait}
+            """;
+
+    private final StringRedisTemplate redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> script = new DefaultRedisScript<>(TOKEN_BUCKET_SCRIPT, List.class);
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        try {
+            List<?> result = redisTemplate.execute(script, List.of(KEY_PREFIX + key),
+                    String.valueOf(policy.getCapacity()),
+                    String.valueOf(policy.getRefillTokens()),
+                    String.valueOf(policy.getRefillPeriod().toMillis()));
+
+            if (result == null || result.size() < 3) {
+                return RateLimitResult.allowed(policy.getCapacity());
+            }
+            boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+            return allowed
+                    ? RateLimitResult.allowed(((Number) result.get(1)).longValue())
+                    : RateLimitResult.rejected(TimeUnit.MILLISECONDS.toNanos(((Number) result.get(2)).longValue()));
+        } catch (Exception e) {
+            // Redis 장애 시 서비스 전체를 막지 않도록 요청을 통과시킨다
+            log.warn("Rate limit check failed, allowing request - Key: {}", key, e);
+            return RateLimitResult.allowed(policy.getCapacity());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.common.web.response;
+
+import com.example.common.exception.ErrorCode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+// 컨트롤러에 도달하기 전(서블릿 필터 단계)에 요청을 거절할 때 ApiResponse 형식으로 응답을 작성한다
+@Component
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public void write(HttpServletResponse response, HttpStatus status, ErrorCode errorCode) throws IOException {
+        write(response, status, errorCode.getCode(), errorCode.getMessage());
+    }
+
+    public void write(HttpServletResponse response, HttpStatus status, String code, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(), ApiResponse.error(code, message));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.order.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+// order_counters 한 행. 주문 상태별 / 사용자별 (주문 수, 금액 합계) 를 stripe 로 나눠 보관하며,
+// 조회는 같은 키의 stripe 들을 합산한다 (stripe 수만큼의 PK 범위 조회)
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class OrderCounter {
+
+    private String counterKey;
+    private Integer stripe;
+    private Long orderCount;
+    private BigDecimal totalAmount;
+
+    public static String statusKey(OrderStatus status) {
+        return "status:" + status.name();
+    }
+
+    public static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.order.repository;
+
+import com.example.order.domain.OrderCounter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderCounterRepository {
+    
+    // (counterKey, stripe) 행에 delta 를 더한다. 행이 없으면 delta 값으로 만든다 (upsert)
+    void add(String counterKey, int stripe, long countDelta, BigDecimal amountDelta);
+    
+    // counterKey 의 모든 stripe 를 합산한 값 (stripe 는 null)
+    Optional<OrderCounter> sumByKey(String counterKey);
+    
+    void saveAll(List<OrderCounter> counters);
+    
+    void deleteAll();
+    
+    boolean isEmpty();
+    
+    // order_counters 테이블 전체에 쓰기 잠금을 건다 (트랜잭션 종료까지).
+    // 진행 중인 add 의 트랜잭션이 끝나길 기다리고, 이후의 add 는 잠금을 건 트랜잭션이 커밋될 때까지 대기한다.
+    // 행 잠금(SELECT ... FOR UPDATE)으로는 새 키의 insert 를 막지 못하므로 테이블 단위로 잠근다 (예: LOCK TABLE ... IN EXCLUSIVE MODE)
+    void lockAll();
+}
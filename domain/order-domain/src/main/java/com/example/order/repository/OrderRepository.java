@@ -1,6 +1,7 @@
 package com.example.order.repository;
 
 import com.example.order.domain.Order;
+import com.example.order.domain.OrderCounter;
 import com.example.order.domain.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -55,4 +56,9 @@ public interface OrderRepository {
     
     // Total amount by user for OrderService
     BigDecimal getTotalAmountByUserId(Long userId);
+    
+    // order_counters 재계산용 전체 집계 (GROUP BY status / GROUP BY user_id). counterKey 는 OrderCounter 키 형식, stripe 는 0
+    List<OrderCounter> aggregateCountersByStatus();
+    
+    List<OrderCounter> aggregateCountersByUserId();
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package com.example.order.service;
 
 import com.example.order.domain.Order;
+import com.example.order.domain.OrderCounter;
 import com.example.order.domain.OrderItem;
 import com.example.order.domain.OrderStatus;
+import com.example.order.repository.OrderCounterRepository;
 import com.example.order.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Slf4j
@@ -26,6 +30,11 @@ import java.util.List;
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderCounterRepository orderCounterRepository;
+
+    // 상태 카운터 행에 갱신이 몰리지 않도록 주문 id 로 stripe 를 나눈다. 조회는 모든 stripe 를 합산하므로 값을 바꿔도 안전하다
+    @Value("${app.order.counter-stripes:8}")
+    private int counterStripes;
 
     @Transactional
     public Order createOrder(@NotNull Long userId, @Valid @NotNull List<OrderItem> orderItems, 
@@ -53,6 +62,7 @@ public class OrderService {
                 .build();
 
         Order saved = orderRepository.save(order);
+        recordCreated(saved);
         log.info("Order created successfully with ID: {}", saved.getId());
         return saved;
     }
@@ -82,8 +92,10 @@ public class OrderService {
     public Order confirmOrder(@NotNull Long id) {
         log.info("Confirming order with ID: {}", id);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         order.confirm();
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order confirmed: {}", id);
         return saved;
     }
@@ -92,8 +104,10 @@ public class OrderService {
     public Order payOrder(@NotNull Long id) {
         log.info("Processing payment for order ID: {}", id);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         order.pay();
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order payment processed: {}", id);
         return saved;
     }
@@ -102,8 +116,10 @@ public class OrderService {
     public Order shipOrder(@NotNull Long id) {
         log.info("Shipping order with ID: {}", id);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         order.ship();
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order shipped: {}", id);
         return saved;
     }
@@ -112,8 +128,10 @@ public class OrderService {
     public Order deliverOrder(@NotNull Long id) {
         log.info("Delivering order with ID: {}", id);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         order.deliver();
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order delivered: {}", id);
         return saved;
     }
@@ -122,8 +140,10 @@ public class OrderService {
     public Order cancelOrder(@NotNull Long id) {
         log.info("Cancelling order with ID: {}", id);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         order.cancel();
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order cancelled: {}", id);
         return saved;
     }
@@ -132,6 +152,7 @@ public class OrderService {
     public Order updateOrderStatus(@NotNull Long id, @NotNull OrderStatus status) {
         log.info("Updating order status for ID: {} to {}", id, status);
         Order order = findById(id);
+        OrderStatus previous = order.getStatus();
         
         switch (status) {
             case CONFIRMED:
@@ -154,6 +175,7 @@ public class OrderService {
         }
         
         Order saved = orderRepository.save(order);
+        recordTransition(saved, previous);
         log.info("Order status updated: {} -> {}", id, status);
         return saved;
     }
@@ -162,15 +184,80 @@ public class OrderService {
         return orderRepository.existsById(id);
     }
 
+    // 아래 집계는 주문 전체를 스캔하지 않고, 상태 전이와 같은 트랜잭션에서 갱신되는 order_counters 에서 읽는다
     public long countByUserId(@NotNull Long userId) {
-        return orderRepository.countByUserId(userId);
+        return countOf(OrderCounter.userKey(userId));
     }
 
     public long countByStatus(@NotNull OrderStatus status) {
-        return orderRepository.countByStatus(status);
+        return countOf(OrderCounter.statusKey(status));
+    }
+
+    public BigDecimal sumTotalAmountByStatus(@NotNull OrderStatus status) {
+        return amountOf(OrderCounter.statusKey(status));
     }
 
     public BigDecimal getTotalAmountByUserId(@NotNull Long userId) {
-        return orderRepository.getTotalAmountByUserId(userId);
+        return amountOf(OrderCounter.userKey(userId));
+    }
+
+    // 카운터를 orders 전체 집계로 다시 만든다 (카운터 도입 이전 데이터, 수동 보정 후).
+    // 집계 전에 카운터 테이블을 잠그므로, 잠금 전에 커밋된 주문은 집계에 포함되고 이후의 상태 전이는 rebuild 가 끝난 뒤 반영된다
+    @Transactional
+    public int rebuildCounters() {
+        orderCounterRepository.lockAll();
+        return rebuildLockedCounters();
+    }
+
+    // 기동 시 카운터가 비어 있으면 한 번 채운다. 여러 노드가 동시에 기동해도 잠금 안에서 확인하므로 한 번만 다시 만든다
+    @Transactional
+    public int initializeCounters() {
+        orderCounterRepository.lockAll();
+        if (!orderCounterRepository.isEmpty()) {
+            return 0;
+        }
+        return rebuildLockedCounters();
+    }
+
+    private int rebuildLockedCounters() {
+        log.info("Rebuilding order counters");
+        List<OrderCounter> counters = new ArrayList<>(orderRepository.aggregateCountersByStatus());
+        counters.addAll(orderRepository.aggregateCountersByUserId());
+        orderCounterRepository.deleteAll();
+        orderCounterRepository.saveAll(counters);
+        log.info("Order counters rebuilt: {} keys", counters.size());
+        return counters.size();
+    }
+
+    private void recordCreated(Order order) {
+        int stripe = stripeOf(order);
+        orderCounterRepository.add(OrderCounter.statusKey(order.getStatus()), stripe, 1, order.getTotalAmount());
+        orderCounterRepository.add(OrderCounter.userKey(order.getUserId()), stripe, 1, order.getTotalAmount());
+    }
+
+    // 상태만 바뀌므로 사용자 카운터는 그대로 두고 이전 상태에서 새 상태로 옮긴다
+    private void recordTransition(Order order, OrderStatus previous) {
+        if (previous == order.getStatus()) {
+            return;
+        }
+        int stripe = stripeOf(order);
+        orderCounterRepository.add(OrderCounter.statusKey(previous), stripe, -1, order.getTotalAmount().negate());
+        orderCounterRepository.add(OrderCounter.statusKey(order.getStatus()), stripe, 1, order.getTotalAmount());
+    }
+
+    private int stripeOf(Order order) {
+        return Math.floorMod(order.getId(), Math.max(1, counterStripes));
+    }
+
+    private long countOf(String counterKey) {
+        return orderCounterRepository.sumByKey(counterKey)
+                .map(OrderCounter::getOrderCount)
+                .orElse(0L);
+    }
+
+    private BigDecimal amountOf(String counterKey) {
+        return orderCounterRepository.sumByKey(counterKey)
+                .map(OrderCounter::getTotalAmount)
+                .orElse(BigDecimal.ZERO);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.product.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 배치(coPurchaseJob)가 게시한 "함께 구매한 상품" 한 행. 상품마다 rank 1..K
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ProductCoPurchase {
+
+    private Long productId;
+    private Integer rank;
+    private Long relatedProductId;
+    private Long coCount;
+}
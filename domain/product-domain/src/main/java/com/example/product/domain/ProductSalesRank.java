@@ -0,0 +1,26 @@
+package com.example.product.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// 배치(topSellingProductsJob)가 게시한 카테고리별 판매 순위 한 행
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class ProductSalesRank {
+
+    private Long categoryId;
+    private Integer rank;
+    private Long productId;
+    private Long quantitySold;
+    private BigDecimal revenue;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.product.repository;
+
+import com.example.product.domain.ProductCoPurchase;
+import com.example.product.domain.ProductSalesRank;
+
+import java.util.List;
+
+// 배치가 게시하는 상품 읽기 테이블. 상품 엔티티와 따로 JDBC 로 읽는다
+public interface ProductRankingRepository {
+    
+    // product_best_sellers 의 PK (category_id, rank_no) 범위 조회: category_id = ? AND rank_no <= ? ORDER BY rank_no
+    List<ProductSalesRank> findBestSellers(Long categoryId, int limit);
+    
+    // product_co_purchases 전체를 (product_id, rank_no) 순으로 읽는다 (상품마다 최대 K 행)
+    List<ProductCoPurchase> findAllCoPurchases();
+}
@@ -0,0 +1,58 @@
+package com.example.product.service;
+
+import com.example.product.domain.ProductCoPurchase;
+
+import java.util.Arrays;
+import java.util.List;
+
+// 상품 -> 함께 구매된 상품 목록을 CSR 형태의 primitive 배열로 보관하는 읽기 전용 인덱스.
+// 상품마다 이웃이 K 개로 잘려 있으므로 메모리는 (상품 수 x K) 에 비례하고, 조회는 이진 탐색 한 번이다
+final class CoPurchaseIndex {
+
+    static final CoPurchaseIndex EMPTY = new CoPurchaseIndex(new long[0], new int[]{0}, new long[0]);
+
+    private final long[] productIds;   // 정렬된 상품 id
+    private final int[] offsets;       // productIds[i] 의 이웃은 neighbours[offsets[i] .. offsets[i + 1])
+    private final long[] neighbours;   // 순위 순 이웃 상품 id
+
+    private CoPurchaseIndex(long[] productIds, int[] offsets, long[] neighbours) {
+        this.productIds = productIds;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+    }
+
+    // rows 는 (productId, rank) 순으로 정렬되어 있어야 한다
+    static CoPurchaseIndex of(List<ProductCoPurchase> rows) {
+        long[] neighbours = new long[rows.size()];
+        long[] productIds = new long[rows.size()];
+        int[] offsets = new int[rows.size() + 1];
+        int products = 0;
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < rows.size(); i++) {
+            ProductCoPurchase row = rows.get(i);
+            if (row.getProductId() != previous) {
+                previous = row.getProductId();
+                productIds[products] = previous;
+                offsets[products++] = i;
+            }
+            neighbours[i] = row.getRelatedProductId();
+        }
+        offsets[products] = rows.size();
+        return new CoPurchaseIndex(Arrays.copyOf(productIds, products), Arrays.copyOf(offsets, products + 1),
+                neighbours);
+    }
+
+    long[] neighbours(long productId, int limit) {
+        int index = Arrays.binarySearch(productIds, productId);
+        if (index < 0) {
+            return new long[0];
+        }
+        int from = offsets[index];
+        int to = Math.min(offsets[index + 1], from + Math.max(0, limit));
+        return Arrays.copyOfRange(neighbours, from, to);
+    }
+
+    int size() {
+        return productIds.length;
+    }
+}
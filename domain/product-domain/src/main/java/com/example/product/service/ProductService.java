@@ -1,10 +1,13 @@
 package com.example.product.service;
 
 import com.example.product.domain.Product;
+import com.example.product.domain.ProductSalesRank;
 import com.example.product.domain.ProductStatus;
+import com.example.product.repository.ProductRankingRepository;
 import com.example.product.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -17,9 +20,15 @@ import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,6 +38,13 @@ import java.util.Optional;
 public class ProductService {
     
     private final ProductRepository productRepository;
+    private final ProductRankingRepository productRankingRepository;
+    
+    @Value("${app.product.co-purchase.refresh-interval:10m}")
+    private Duration coPurchaseRefreshInterval;
+    
+    private volatile CoPurchaseIndex coPurchaseIndex;
+    private volatile long coPurchaseLoadedAt;
     
     @Transactional
     @CacheEvict(value = "products", allEntries = true)
@@ -136,6 +152,51 @@ public class ProductService {
         return productRepository.findPopularProducts(limit);
     }
     
+    // 판매 순위는 배치가 주기적으로 갱신하는 읽기 테이블에서 가져온다
+    @Cacheable(value = "products", key = "'best-sellers:' + #categoryId + ':' + #limit")
+    public List<ProductSalesRank> findBestSellers(@NotNull Long categoryId, int limit) {
+        return productRankingRepository.findBestSellers(categoryId, limit);
+    }
+    
+    // 함께 구매된 상품: 메모리 인덱스에서 이웃 id 를 찾고 상품은 한 번에 조회한다 (순위 순서 유지)
+    public List<Product> findFrequentlyBoughtTogether(@NotNull Long productId, int limit) {
+        long[] neighbourIds = coPurchaseIndex().neighbours(productId, limit);
+        if (neighbourIds.length == 0) {
+            return List.of();
+        }
+        List<Long> ids = Arrays.stream(neighbourIds).boxed().toList();
+        Map<Long, Product> products = productRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    // 배치가 주기적으로 다시 게시하므로 refresh-interval 이 지나면 한 스레드만 다시 적재한다
+    private CoPurchaseIndex coPurchaseIndex() {
+        CoPurchaseIndex index = coPurchaseIndex;
+        if (index != null && System.currentTimeMillis() - coPurchaseLoadedAt < coPurchaseRefreshInterval.toMillis()) {
+            return index;
+        }
+        synchronized (this) {
+            if (coPurchaseIndex == null
+                    || System.currentTimeMillis() - coPurchaseLoadedAt >= coPurchaseRefreshInterval.toMillis()) {
+                try {
+                    coPurchaseIndex = CoPurchaseIndex.of(productRankingRepository.findAllCoPurchases());
+                    log.info("Loaded co-purchase index for {} products", coPurchaseIndex.size());
+                } catch (RuntimeException e) {
+                    log.warn("Failed to load co-purchase index, keeping previous one", e);
+                    if (coPurchaseIndex == null) {
+                        coPurchaseIndex = CoPurchaseIndex.EMPTY;
+                    }
+                }
+                coPurchaseLoadedAt = System.currentTimeMillis();
+            }
+            return coPurchaseIndex;
+        }
+    }
+    
     @Transactional
     @CacheEvict(value = "products", key = "#id")
     public void increaseViewCount(@NotNull Long id) {
@@ -13,6 +13,7 @@ public class User {
     private String email;
     private String name;
     private String password;
+    private Integer passwordVersion;
     private String phone;
     private UserStatus status;
     private UserRole role;
@@ -53,9 +54,15 @@ public class User {
     
     public void changePassword(String newPassword) {
         this.password = newPassword;
+        this.passwordVersion = getPasswordVersion() + 1;
         this.updatedAt = LocalDateTime.now();
     }
     
+    // 비밀번호를 바꿀 때마다 1 씩 증가한다. 이전 버전으로 발급된 토큰은 JWT 검증에서 거절된다
+    public int getPasswordVersion() {
+        return passwordVersion != null ? passwordVersion : 0;
+    }
+    
     public static boolean isValidEmail(String email) {
         return email != null && email.matches("^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$");
     }
@@ -0,0 +1,13 @@
+package com.example.user.domain.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 비밀번호, 상태, 프로필 등 인증 정보에 영향을 주는 변경이 발생했음을 알린다
+@Getter
+@RequiredArgsConstructor
+public class UserAuthChangedEvent {
+
+    private final Long userId;
+    private final String email;
+}
@@ -5,8 +5,10 @@ import com.example.common.exception.ErrorCode;
 import com.example.user.domain.User;
 import com.example.user.domain.UserStatus;
 import com.example.user.domain.UserRole;
+import com.example.user.domain.event.UserAuthChangedEvent;
 import com.example.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +22,7 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     public User registerUser(String email, String name, String password, String phone) {
         validateUserInput(email, name, password);
@@ -93,7 +96,7 @@ public class UserService {
     public User updateUserProfile(Long id, String name, String phone) {
         User user = findById(id);
         user.updateProfile(name, phone);
-        return userRepository.save(user);
+        return saveAndPublishAuthChange(user);
     }
     
     public User changeUserPassword(Long id, String currentPassword, String newPassword) {
@@ -112,19 +115,25 @@ public class UserService {
         String encodedPassword = passwordEncoder.encode(newPassword);
         user.changePassword(encodedPassword);
         
-        return userRepository.save(user);
+        return saveAndPublishAuthChange(user);
     }
     
     public User activateUser(Long id) {
         User user = findById(id);
         user.activate();
-        return userRepository.save(user);
+        return saveAndPublishAuthChange(user);
     }
     
     public User deactivateUser(Long id) {
         User user = findById(id);
         user.deactivate();
-        return userRepository.save(user);
+        return saveAndPublishAuthChange(user);
+    }
+    
+    private User saveAndPublishAuthChange(User user) {
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAuthChangedEvent(saved.getId(), saved.getEmail()));
+        return saved;
     }
     
     public Optional<User> findByEmail(String email) {
@@ -0,0 +1,124 @@
+package com.example.infrastructure.order;
+
+import com.example.order.domain.OrderCounter;
+import com.example.order.repository.OrderCounterRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Optional;
+
+// order_counters 를 JDBC 로 갱신/조회한다 (테이블 정의는 user-api schema.sql).
+// add 는 (counter_key, stripe) 행에 delta 를 더하는 upsert 한 문장이므로 같은 행의 동시 갱신은 DB 행 잠금으로 직렬화된다
+@Repository
+public class OrderCounterRepositoryImpl implements OrderCounterRepository {
+    
+    private static final String MERGE_SQL = """
+            MERGE INTO order_counters t
+            USING (VALUES (CAST(? AS VARCHAR(64)), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS DECIMAL(19, 2))))
+                AS s(counter_key, stripe, order_count, total_amount)
+            ON t.counter_key = s.counter_key AND t.stripe = s.stripe
+            WHEN MATCHED THEN UPDATE SET
+                order_count = t.order_count + s.order_count,
+                total_amount = t.total_amount + s.total_amount
+            WHEN NOT MATCHED THEN INSERT (counter_key, stripe, order_count, total_amount)
+                VALUES (s.counter_key, s.stripe, s.order_count, s.total_amount)
+            """;
+    
+    // PostgreSQL 의 MERGE 는 같은 새 키를 동시에 넣으면 unique 위반이 날 수 있어 ON CONFLICT 를 쓴다
+    private static final String POSTGRES_UPSERT_SQL = """
+            INSERT INTO order_counters (counter_key, stripe, order_count, total_amount)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (counter_key, stripe) DO UPDATE SET
+                order_count = order_counters.order_count + EXCLUDED.order_count,
+                total_amount = order_counters.total_amount + EXCLUDED.total_amount
+            """;
+    
+    private static final String SUM_SQL = """
+            SELECT COUNT(*) AS stripes, SUM(order_count) AS order_count, SUM(total_amount) AS total_amount
+            FROM order_counters
+            WHERE counter_key = ?
+            """;
+    
+    private static final String INSERT_SQL = """
+            INSERT INTO order_counters (counter_key, stripe, order_count, total_amount)
+            VALUES (?, ?, ?, ?)
+            """;
+    
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM (SELECT 1 FROM order_counters FETCH FIRST 1 ROWS ONLY) c";
+    
+    private static final String POSTGRES_LOCK_SQL = "LOCK TABLE order_counters IN SHARE ROW EXCLUSIVE MODE";
+    
+    // H2 에는 LOCK TABLE 이 없으므로 모든 행을 FOR UPDATE 로 잠근다. 기존 키의 add 는 잠금이 풀릴 때까지 기다린다
+    private static final String ROW_LOCK_SQL = "SELECT counter_key, stripe FROM order_counters FOR UPDATE";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    
+    public OrderCounterRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.postgres = isPostgres(dataSource);
+    }
+    
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public void add(String counterKey, int stripe, long countDelta, BigDecimal amountDelta) {
+        jdbcTemplate.update(postgres ? POSTGRES_UPSERT_SQL : MERGE_SQL, counterKey, stripe, countDelta, amountDelta);
+    }
+    
+    @Override
+    public Optional<OrderCounter> sumByKey(String counterKey) {
+        return jdbcTemplate.query(SUM_SQL, rs -> {
+            if (!rs.next() || rs.getLong("stripes") == 0) {
+                return Optional.<OrderCounter>empty();
+            }
+            return Optional.of(OrderCounter.builder()
+                    .counterKey(counterKey)
+                    .orderCount(rs.getLong("order_count"))
+                    .totalAmount(rs.getBigDecimal("total_amount"))
+                    .build());
+        }, counterKey);
+    }
+    
+    @Override
+    public void saveAll(List<OrderCounter> counters) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, counters, 500, (ps, counter) -> {
+            ps.setString(1, counter.getCounterKey());
+            ps.setInt(2, counter.getStripe() != null ? counter.getStripe() : 0);
+            ps.setLong(3, counter.getOrderCount());
+            ps.setBigDecimal(4, counter.getTotalAmount());
+        });
+    }
+    
+    @Override
+    public void deleteAll() {
+        jdbcTemplate.update("DELETE FROM order_counters");
+    }
+    
+    @Override
+    public boolean isEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(EXISTS_SQL, Integer.class);
+        return rows == null || rows == 0;
+    }
+    
+    @Override
+    public void lockAll() {
+        if (postgres) {
+            jdbcTemplate.execute(POSTGRES_LOCK_SQL);
+        } else {
+            jdbcTemplate.query(ROW_LOCK_SQL, rs -> { });
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.Category;
+import com.example.product.domain.CategoryStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "categories")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CategoryEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(unique = true, nullable = false)
+    private String name;
+    
+    @Column
+    private String description;
+    
+    @Column(name = "parent_id")
+    private Long parentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CategoryStatus status;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Builder
+    public CategoryEntity(Long id, String name, String description, Long parentId, CategoryStatus status,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.parentId = parentId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Category toDomain() {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .parentId(parentId)
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+    
+    public static CategoryEntity fromDomain(Category category) {
+        return CategoryEntity.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .parentId(category.getParentId())
+                .status(category.getStatus())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .build();
+    }
+    
+    public void updateFromDomain(Category category) {
+        this.name = category.getName();
+        this.description = category.getDescription();
+        this.parentId = category.getParentId();
+        this.status = category.getStatus();
+        this.updatedAt = category.getUpdatedAt();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.CategoryStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryJpaRepository extends JpaRepository<CategoryEntity, Long> {
+    
+    List<CategoryEntity> findByParentIdIsNull();
+    
+    List<CategoryEntity> findByParentId(Long parentId);
+    
+    List<CategoryEntity> findByParentIdIn(Collection<Long> parentIds);
+    
+    Page<CategoryEntity> findByStatus(CategoryStatus status, Pageable pageable);
+    
+    Page<CategoryEntity> findByNameContaining(String name, Pageable pageable);
+    
+    boolean existsByName(String name);
+    
+    long countByStatus(CategoryStatus status);
+    
+    long countByParentId(Long parentId);
+}
@@ -0,0 +1,115 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.Category;
+import com.example.product.domain.CategoryStatus;
+import com.example.product.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepositoryImpl implements CategoryRepository {
+    
+    private final CategoryJpaRepository jpaRepository;
+    
+    @Override
+    public Category save(Category category) {
+        CategoryEntity entity = category.getId() == null
+                ? CategoryEntity.fromDomain(category)
+                : jpaRepository.findById(category.getId())
+                    .map(existingEntity -> {
+                        existingEntity.updateFromDomain(category);
+                        return existingEntity;
+                    })
+                    .orElse(CategoryEntity.fromDomain(category));
+        
+        return jpaRepository.save(entity).toDomain();
+    }
+    
+    @Override
+    public Optional<Category> findById(Long id) {
+        return jpaRepository.findById(id)
+                .map(CategoryEntity::toDomain);
+    }
+    
+    @Override
+    public List<Category> findByIds(List<Long> ids) {
+        return toDomain(jpaRepository.findAllById(ids));
+    }
+    
+    @Override
+    public Page<Category> findAll(Pageable pageable) {
+        return jpaRepository.findAll(pageable).map(CategoryEntity::toDomain);
+    }
+    
+    @Override
+    public List<Category> findByParentIdIsNull() {
+        return toDomain(jpaRepository.findByParentIdIsNull());
+    }
+    
+    @Override
+    public List<Category> findByParentId(Long parentId) {
+        return toDomain(jpaRepository.findByParentId(parentId));
+    }
+    
+    @Override
+    public Page<Category> findByStatus(CategoryStatus status, Pageable pageable) {
+        return jpaRepository.findByStatus(status, pageable).map(CategoryEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Category> findByNameContaining(String name, Pageable pageable) {
+        return jpaRepository.findByNameContaining(name, pageable).map(CategoryEntity::toDomain);
+    }
+    
+    // 하위 카테고리 전체: 깊이마다 IN 쿼리 한 번으로 다음 단계를 읽는다
+    @Override
+    public List<Category> findAllChildCategories(Long parentId) {
+        List<CategoryEntity> descendants = new ArrayList<>();
+        List<Long> parentIds = List.of(parentId);
+        while (!parentIds.isEmpty()) {
+            List<CategoryEntity> children = jpaRepository.findByParentIdIn(parentIds);
+            descendants.addAll(children);
+            parentIds = children.stream().map(CategoryEntity::getId).toList();
+        }
+        return toDomain(descendants);
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        jpaRepository.deleteById(id);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return jpaRepository.existsById(id);
+    }
+    
+    @Override
+    public boolean existsByName(String name) {
+        return jpaRepository.existsByName(name);
+    }
+    
+    @Override
+    public long countByStatus(CategoryStatus status) {
+        return jpaRepository.countByStatus(status);
+    }
+    
+    @Override
+    public long countByParentId(Long parentId) {
+        return jpaRepository.countByParentId(parentId);
+    }
+    
+    private static List<Category> toDomain(List<CategoryEntity> entities) {
+        return entities.stream()
+                .map(CategoryEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.Product;
+import com.example.product.domain.ProductStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// batch-app 의 집계 쿼리가 products.id / products.category_id 로 조인한다
+@Entity
+@Table(name = "products", indexes = @Index(name = "idx_products_category_id", columnList = "category_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(length = 2000)
+    private String description;
+    
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "stock_quantity", nullable = false)
+    private Integer stockQuantity;
+    
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    
+    @Column(length = 100)
+    private String brand;
+    
+    @Column(unique = true, length = 100)
+    private String sku;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProductStatus status;
+    
+    @Column(name = "view_count")
+    private Long viewCount;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Builder
+    public ProductEntity(Long id, String name, String description, BigDecimal price, Integer stockQuantity,
+                         Long categoryId, String brand, String sku, ProductStatus status, Long viewCount,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.categoryId = categoryId;
+        this.brand = brand;
+        this.sku = sku;
+        this.status = status;
+        this.viewCount = viewCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Product toDomain() {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(price)
+                .stockQuantity(stockQuantity)
+                .categoryId(categoryId)
+                .brand(brand)
+                .sku(sku)
+                .status(status)
+                .viewCount(viewCount)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+    
+    public static ProductEntity fromDomain(Product product) {
+        return ProductEntity.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .categoryId(product.getCategoryId())
+                .brand(product.getBrand())
+                .sku(product.getSku())
+                .status(product.getStatus())
+                .viewCount(product.getViewCount())
+                .createdAt(product.getCreatedAt())
+                .updatedAt(product.getUpdatedAt())
+                .build();
+    }
+    
+    public void updateFromDomain(Product product) {
+        this.name = product.getName();
+        this.description = product.getDescription();
+        this.price = product.getPrice();
+        this.stockQuantity = product.getStockQuantity();
+        this.categoryId = product.getCategoryId();
+        this.brand = product.getBrand();
+        this.sku = product.getSku();
+        this.status = product.getStatus();
+        this.viewCount = product.getViewCount();
+        this.updatedAt = product.getUpdatedAt();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.ProductStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long> {
+    
+    Optional<ProductEntity> findBySku(String sku);
+    
+    boolean existsBySku(String sku);
+    
+    Page<ProductEntity> findByStatus(ProductStatus status, Pageable pageable);
+    
+    Page<ProductEntity> findByCategoryId(Long categoryId, Pageable pageable);
+    
+    Page<ProductEntity> findByNameContaining(String name, Pageable pageable);
+    
+    Page<ProductEntity> findByBrand(String brand, Pageable pageable);
+    
+    Page<ProductEntity> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+    
+    Page<ProductEntity> findByCategoryIdAndStatus(Long categoryId, ProductStatus status, Pageable pageable);
+    
+    List<ProductEntity> findByStockQuantityLessThanEqual(Integer threshold);
+    
+    List<ProductEntity> findByOrderByViewCountDesc(Pageable pageable);
+    
+    long countByStatus(ProductStatus status);
+    
+    long countByCategoryId(Long categoryId);
+}
@@ -0,0 +1,65 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.ProductCoPurchase;
+import com.example.product.domain.ProductSalesRank;
+import com.example.product.repository.ProductRankingRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+
+// batch-app 이 같은 데이터베이스에 게시한 읽기 테이블을 조회한다 (테이블 정의는 user-api schema.sql)
+@Repository
+public class ProductRankingRepositoryImpl implements ProductRankingRepository {
+    
+    private static final String BEST_SELLERS_SQL = """
+            SELECT category_id, rank_no, product_id, quantity_sold, revenue, updated_at
+            FROM product_best_sellers
+            WHERE category_id = ? AND rank_no <= ?
+            ORDER BY rank_no
+            """;
+    
+    private static final String CO_PURCHASES_SQL = """
+            SELECT product_id, rank_no, related_product_id, co_count
+            FROM product_co_purchases
+            ORDER BY product_id, rank_no
+            """;
+    
+    private static final RowMapper<ProductCoPurchase> CO_PURCHASE_MAPPER = (rs, rowNum) -> ProductCoPurchase.builder()
+            .productId(rs.getLong("product_id"))
+            .rank(rs.getInt("rank_no"))
+            .relatedProductId(rs.getLong("related_product_id"))
+            .coCount(rs.getLong("co_count"))
+            .build();
+    
+    private static final RowMapper<ProductSalesRank> SALES_RANK_MAPPER = (rs, rowNum) -> {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return ProductSalesRank.builder()
+                .categoryId(rs.getLong("category_id"))
+                .rank(rs.getInt("rank_no"))
+                .productId(rs.getLong("product_id"))
+                .quantitySold(rs.getLong("quantity_sold"))
+                .revenue(rs.getBigDecimal("revenue"))
+                .updatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null)
+                .build();
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public ProductRankingRepositoryImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+    
+    @Override
+    public List<ProductSalesRank> findBestSellers(Long categoryId, int limit) {
+        return jdbcTemplate.query(BEST_SELLERS_SQL, SALES_RANK_MAPPER, categoryId, limit);
+    }
+    
+    @Override
+    public List<ProductCoPurchase> findAllCoPurchases() {
+        return jdbcTemplate.query(CO_PURCHASES_SQL, CO_PURCHASE_MAPPER);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.Product;
+import com.example.product.domain.ProductStatus;
+import com.example.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepository {
+    
+    private final ProductJpaRepository jpaRepository;
+    
+    @Override
+    public Product save(Product product) {
+        ProductEntity entity = product.getId() == null
+                ? ProductEntity.fromDomain(product)
+                : jpaRepository.findById(product.getId())
+                    .map(existingEntity -> {
+                        existingEntity.updateFromDomain(product);
+                        return existingEntity;
+                    })
+                    .orElse(ProductEntity.fromDomain(product));
+        
+        return jpaRepository.save(entity).toDomain();
+    }
+    
+    @Override
+    public Optional<Product> findById(Long id) {
+        return jpaRepository.findById(id)
+                .map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return jpaRepository.findBySku(sku)
+                .map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public List<Product> findByIds(List<Long> ids) {
+        return toDomain(jpaRepository.findAllById(ids));
+    }
+    
+    @Override
+    public Page<Product> findAll(Pageable pageable) {
+        return jpaRepository.findAll(pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByStatus(ProductStatus status, Pageable pageable) {
+        return jpaRepository.findByStatus(status, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByCategoryId(Long categoryId, Pageable pageable) {
+        return jpaRepository.findByCategoryId(categoryId, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByNameContaining(String name, Pageable pageable) {
+        return jpaRepository.findByNameContaining(name, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByBrand(String brand, Pageable pageable) {
+        return jpaRepository.findByBrand(brand, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return jpaRepository.findByPriceBetween(minPrice, maxPrice, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public Page<Product> findByCategoryIdAndStatus(Long categoryId, ProductStatus status, Pageable pageable) {
+        return jpaRepository.findByCategoryIdAndStatus(categoryId, status, pageable).map(ProductEntity::toDomain);
+    }
+    
+    @Override
+    public List<Product> findLowStockProducts(Integer threshold) {
+        return toDomain(jpaRepository.findByStockQuantityLessThanEqual(threshold));
+    }
+    
+    @Override
+    public List<Product> findPopularProducts(int limit) {
+        return toDomain(jpaRepository.findByOrderByViewCountDesc(PageRequest.of(0, limit)));
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        jpaRepository.deleteById(id);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return jpaRepository.existsById(id);
+    }
+    
+    @Override
+    public boolean existsBySku(String sku) {
+        return jpaRepository.existsBySku(sku);
+    }
+    
+    @Override
+    public long countByStatus(ProductStatus status) {
+        return jpaRepository.countByStatus(status);
+    }
+    
+    @Override
+    public long countByCategoryId(Long categoryId) {
+        return jpaRepository.countByCategoryId(categoryId);
+    }
+    
+    private static List<Product> toDomain(List<ProductEntity> entities) {
+        return entities.stream()
+                .map(ProductEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+}
@@ -30,6 +30,10 @@ public class UserEntity {
     @Column(nullable = false)
     private String password;
     
+    // 기존 행에 컬럼을 추가할 수 있도록 nullable 로 두고, null 은 버전 0 으로 본다
+    @Column(name = "password_version")
+    private Integer passwordVersion;
+    
     @Column
     private String phone;
     
@@ -48,12 +52,13 @@ public class UserEntity {
     private LocalDateTime updatedAt;
     
     @Builder
-    public UserEntity(Long id, String email, String name, String password, String phone, 
+    public UserEntity(Long id, String email, String name, String password, Integer passwordVersion, String phone, 
                      UserStatus status, UserRole role, LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.email = email;
         this.name = name;
         this.password = password;
+        this.passwordVersion = passwordVersion;
         this.phone = phone;
         this.status = status;
         this.role = role;
@@ -67,6 +72,7 @@ public class UserEntity {
                 .email(email)
                 .name(name)
                 .password(password)
+                .passwordVersion(passwordVersion)
                 .phone(phone)
                 .status(status)
                 .role(role)
@@ -81,6 +87,7 @@ public class UserEntity {
                 .email(user.getEmail())
                 .name(user.getName())
                 .password(user.getPassword())
+                .passwordVersion(user.getPasswordVersion())
                 .phone(user.getPhone())
                 .status(user.getStatus())
                 .role(user.getRole())
@@ -91,6 +98,8 @@ public class UserEntity {
     
     public void updateFromDomain(User user) {
         this.name = user.getName();
+        this.password = user.getPassword();
+        this.passwordVersion = user.getPasswordVersion();
         this.phone = user.getPhone();
         this.status = user.getStatus();
         this.role = user.getRole();
@@ -0,0 +1,188 @@
+package com.example.infrastructure.order;
+
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderCounter;
+import com.example.order.domain.OrderItem;
+import com.example.order.domain.OrderStatus;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderCounterRepositoryImplTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrderCounterRepositoryImpl counterRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE order_counters (
+                    counter_key VARCHAR(64) NOT NULL,
+                    stripe INT NOT NULL,
+                    order_count BIGINT NOT NULL DEFAULT 0,
+                    total_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+                    PRIMARY KEY (counter_key, stripe))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE orders (
+                    id BIGINT PRIMARY KEY,
+                    user_id BIGINT NOT NULL,
+                    status VARCHAR(20) NOT NULL,
+                    total_amount DECIMAL(19, 2) NOT NULL)
+                """);
+        counterRepository = new OrderCounterRepositoryImpl(dataSource);
+        orderService = new OrderService(orderRepository(), counterRepository);
+        ReflectionTestUtils.setField(orderService, "counterStripes", 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void countersMatchGroupByAggregatesAfterCreateConfirmAndCancel() {
+        Order first = orderService.createOrder(1L, items("10.00"), "addr", "addr");
+        Order second = orderService.createOrder(1L, items("25.50"), "addr", "addr");
+        Order third = orderService.createOrder(2L, items("7.25"), "addr", "addr");
+        orderService.createOrder(3L, items("100.00"), "addr", "addr");
+
+        orderService.confirmOrder(first.getId());
+        orderService.confirmOrder(second.getId());
+        orderService.cancelOrder(second.getId());
+        orderService.cancelOrder(third.getId());
+
+        assertCountersMatchOrders();
+    }
+
+    @Test
+    void rebuildReplacesCountersWithGroupByAggregates() {
+        Order order = orderService.createOrder(1L, items("10.00"), "addr", "addr");
+        orderService.createOrder(2L, items("20.00"), "addr", "addr");
+        orderService.confirmOrder(order.getId());
+        // 카운터가 어긋난 상태를 만든다
+        counterRepository.add(OrderCounter.statusKey(OrderStatus.PENDING), 0, 5, new BigDecimal("99.00"));
+
+        assertThat(orderService.rebuildCounters()).isPositive();
+
+        assertCountersMatchOrders();
+        assertThat(orderService.initializeCounters()).isZero();
+    }
+
+    @Test
+    void addUpsertsAndSumsAcrossStripes() {
+        String key = OrderCounter.userKey(42L);
+        assertThat(counterRepository.isEmpty()).isTrue();
+        assertThat(counterRepository.sumByKey(key)).isEmpty();
+
+        counterRepository.add(key, 0, 1, new BigDecimal("1.50"));
+        counterRepository.add(key, 0, 1, new BigDecimal("2.50"));
+        counterRepository.add(key, 3, 1, new BigDecimal("6.00"));
+
+        Optional<OrderCounter> sum = counterRepository.sumByKey(key);
+        assertThat(sum).isPresent();
+        assertThat(sum.get().getOrderCount()).isEqualTo(3);
+        assertThat(sum.get().getTotalAmount()).isEqualByComparingTo("10.00");
+        assertThat(counterRepository.isEmpty()).isFalse();
+
+        // H2 에서 잠금 문이 실행되는지 확인한다
+        counterRepository.lockAll();
+    }
+
+    private void assertCountersMatchOrders() {
+        for (OrderStatus status : OrderStatus.values()) {
+            Map<String, Object> expected = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(*) AS cnt, COALESCE(SUM(total_amount), 0) AS amount FROM orders WHERE status = ?",
+                    status.name());
+            assertThat(orderService.countByStatus(status)).as("count of %s", status)
+                    .isEqualTo(((Number) expected.get("cnt")).longValue());
+            assertThat(orderService.sumTotalAmountByStatus(status)).as("amount of %s", status)
+                    .isEqualByComparingTo((BigDecimal) expected.get("amount"));
+        }
+        for (Long userId : jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM orders", Long.class)) {
+            Map<String, Object> expected = jdbcTemplate.queryForMap(
+                    "SELECT COUNT(*) AS cnt, SUM(total_amount) AS amount FROM orders WHERE user_id = ?", userId);
+            assertThat(orderService.countByUserId(userId)).isEqualTo(((Number) expected.get("cnt")).longValue());
+            assertThat(orderService.getTotalAmountByUserId(userId))
+                    .isEqualByComparingTo((BigDecimal) expected.get("amount"));
+        }
+    }
+
+    private static List<OrderItem> items(String amount) {
+        return List.of(OrderItem.builder()
+                .productId(1L)
+                .productName("item")
+                .unitPrice(new BigDecimal(amount))
+                .quantity(1)
+                .build());
+    }
+
+    // 주문은 orders 테이블에 저장하고, 재계산용 집계는 그 테이블의 GROUP BY 로 돌려주는 저장소
+    private OrderRepository orderRepository() {
+        OrderRepository repository = mock(OrderRepository.class);
+        Map<Long, Order> orders = new HashMap<>();
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            Order saved = order.getId() != null ? order : Order.builder()
+                    .id(ids.incrementAndGet())
+                    .userId(order.getUserId())
+                    .orderItems(order.getOrderItems())
+                    .totalAmount(order.getTotalAmount())
+                    .status(order.getStatus())
+                    .orderDate(order.getOrderDate())
+                    .createdAt(order.getCreatedAt())
+                    .updatedAt(order.getUpdatedAt())
+                    .build();
+            orders.put(saved.getId(), saved);
+            jdbcTemplate.update("MERGE INTO orders (id, user_id, status, total_amount) KEY (id) VALUES (?, ?, ?, ?)",
+                    saved.getId(), saved.getUserId(), saved.getStatus().name(), saved.getTotalAmount());
+            return saved;
+        });
+        when(repository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(orders.get(invocation.<Long>getArgument(0))));
+        when(repository.aggregateCountersByStatus()).thenAnswer(invocation -> aggregate(
+                "SELECT 'status:' || status AS counter_key, COUNT(*) AS cnt, SUM(total_amount) AS amount "
+                        + "FROM orders GROUP BY status"));
+        when(repository.aggregateCountersByUserId()).thenAnswer(invocation -> aggregate(
+                "SELECT 'user:' || user_id AS counter_key, COUNT(*) AS cnt, SUM(total_amount) AS amount "
+                        + "FROM orders GROUP BY user_id"));
+        return repository;
+    }
+
+    private List<OrderCounter> aggregate(String sql) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> OrderCounter.builder()
+                .counterKey(rs.getString("counter_key"))
+                .stripe(0)
+                .orderCount(rs.getLong("cnt"))
+                .totalAmount(rs.getBigDecimal("amount"))
+                .build());
+    }
+}
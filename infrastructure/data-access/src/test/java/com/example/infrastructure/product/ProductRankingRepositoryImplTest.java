@@ -0,0 +1,116 @@
+package com.example.infrastructure.product;
+
+import com.example.product.domain.ProductCoPurchase;
+import com.example.product.domain.ProductSalesRank;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ProductRankingRepositoryImplTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 1, 4, 0);
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ProductRankingRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // user-api schema.sql 과 같은 정의
+        jdbcTemplate.execute("""
+                CREATE TABLE product_best_sellers (
+                    category_id BIGINT NOT NULL,
+                    rank_no INT NOT NULL,
+                    product_id BIGINT NOT NULL,
+                    quantity_sold BIGINT NOT NULL,
+                    revenue DECIMAL(19, 2) NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    PRIMARY KEY (category_id, rank_no))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE product_co_purchases (
+                    product_id BIGINT NOT NULL,
+                    rank_no INT NOT NULL,
+                    related_product_id BIGINT NOT NULL,
+                    co_count BIGINT NOT NULL,
+                    updated_at TIMESTAMP NOT NULL,
+                    PRIMARY KEY (product_id, rank_no))
+                """);
+        repository = new ProductRankingRepositoryImpl(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void findBestSellersReturnsTheTopRanksOfOneCategoryInRankOrder() {
+        insertBestSeller(1L, 3, 103L, 5, "50.00");
+        insertBestSeller(1L, 1, 101L, 30, "300.00");
+        insertBestSeller(1L, 2, 102L, 10, "150.00");
+        insertBestSeller(2L, 1, 201L, 99, "990.00");
+
+        List<ProductSalesRank> ranks = repository.findBestSellers(1L, 2);
+
+        assertThat(ranks)
+                .extracting(ProductSalesRank::getCategoryId, ProductSalesRank::getRank, ProductSalesRank::getProductId,
+                        ProductSalesRank::getQuantitySold)
+                .containsExactly(tuple(1L, 1, 101L, 30L), tuple(1L, 2, 102L, 10L));
+        assertThat(ranks.get(0).getRevenue()).isEqualByComparingTo("300.00");
+        assertThat(ranks.get(0).getUpdatedAt()).isEqualTo(UPDATED_AT);
+    }
+
+    @Test
+    void findBestSellersOfAnUnpublishedCategoryIsEmpty() {
+        insertBestSeller(1L, 1, 101L, 30, "300.00");
+
+        assertThat(repository.findBestSellers(9L, 10)).isEmpty();
+    }
+
+    @Test
+    void findAllCoPurchasesIsOrderedByProductAndRank() {
+        insertCoPurchase(20L, 2, 23L, 4);
+        insertCoPurchase(10L, 1, 11L, 9);
+        insertCoPurchase(20L, 1, 21L, 7);
+        insertCoPurchase(10L, 2, 12L, 3);
+
+        List<ProductCoPurchase> rows = repository.findAllCoPurchases();
+
+        assertThat(rows)
+                .extracting(ProductCoPurchase::getProductId, ProductCoPurchase::getRank,
+                        ProductCoPurchase::getRelatedProductId, ProductCoPurchase::getCoCount)
+                .containsExactly(
+                        tuple(10L, 1, 11L, 9L),
+                        tuple(10L, 2, 12L, 3L),
+                        tuple(20L, 1, 21L, 7L),
+                        tuple(20L, 2, 23L, 4L));
+    }
+
+    private void insertBestSeller(long categoryId, int rank, long productId, long quantity, String revenue) {
+        jdbcTemplate.update("INSERT INTO product_best_sellers VALUES (?, ?, ?, ?, ?, ?)",
+                categoryId, rank, productId, quantity, new BigDecimal(revenue), Timestamp.valueOf(UPDATED_AT));
+    }
+
+    private void insertCoPurchase(long productId, int rank, long relatedProductId, long coCount) {
+        jdbcTemplate.update("INSERT INTO product_co_purchases VALUES (?, ?, ?, ?, ?)",
+                productId, rank, relatedProductId, coCount, Timestamp.valueOf(UPDATED_AT));
+    }
+}
@@ -0,0 +1,127 @@
+#!/bin/bash
+# scripts/14-benchmark-virtual-threads.sh
+#
+# 플랫폼 스레드 / Virtual thread 모드에서 p99 목표를 지키는 최대 지속 RPS를 비교한다.
+# 각 모드마다 user-api를 기동한 뒤 고정 RPS 부하(vegeta)를 단계적으로 올리며
+# p99 지연 또는 성공률이 기준을 넘기 직전의 RPS를 기록한다.
+#
+# 필요조건: vegeta, jq, bc, curl
+# 사용법:   ./scripts/14-benchmark-virtual-threads.sh
+# 환경변수: TARGET_PATH, P99_TARGET_MS, START_RPS, STEP_RPS, MAX_RPS, STEP_DURATION
+
+set -euo pipefail
+
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+TARGET_PATH=${TARGET_PATH:-"/api/v1/products?page=0&size=20"}
+P99_TARGET_MS=${P99_TARGET_MS:-100}
+MIN_SUCCESS_RATIO=${MIN_SUCCESS_RATIO:-0.99}
+START_RPS=${START_RPS:-100}
+STEP_RPS=${STEP_RPS:-100}
+MAX_RPS=${MAX_RPS:-5000}
+STEP_DURATION=${STEP_DURATION:-20s}
+WARMUP_DURATION=${WARMUP_DURATION:-15s}
+
+for tool in vegeta jq bc curl; do
+    if ! command -v "$tool" > /dev/null; then
+        echo "❌ '$tool' 이(가) 필요합니다"
+        exit 1
+    fi
+done
+
+echo "=== Virtual Thread Benchmark ==="
+echo "Target: ${TARGET_PATH} / p99 <= ${P99_TARGET_MS}ms / success >= ${MIN_SUCCESS_RATIO}"
+echo ""
+
+echo "1. user-api 빌드"
+echo "-----------------------------------"
+./gradlew :application:user-api:bootJar -q
+JAR=$(ls application/user-api/build/libs/*.jar | grep -v plain | head -1)
+echo "✅ ${JAR}"
+echo ""
+
+APP_PID=""
+cleanup() {
+    if [ -n "$APP_PID" ] && kill -0 "$APP_PID" 2> /dev/null; then
+        kill "$APP_PID"
+        wait "$APP_PID" 2> /dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+start_app() {
+    local virtual=$1
+    # 스레드 모델만 비교하도록 rate limit / 동시성 제한 필터는 끈다
+    VIRTUAL_THREADS_ENABLED=$virtual java -jar "$JAR" \
+        --server.port="$PORT" \
+        --app.rate-limit.enabled=false \
+        --app.concurrency-limit.enabled=false \
+        --spring.jpa.show-sql=false \
+        --logging.level.com.example=INFO \
+        > "build/benchmark-virtual-${virtual}.log" 2>&1 &
+    APP_PID=$!
+
+    for _ in $(seq 1 60); do
+        if curl -sf "${BASE_URL}/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "❌ 애플리케이션 기동 실패 (build/benchmark-virtual-${virtual}.log 확인)"
+    exit 1
+}
+
+attack() {
+    local rate=$1
+    local duration=$2
+    echo "GET ${BASE_URL}${TARGET_PATH}" \
+        | vegeta attack -rate="${rate}/s" -duration="$duration" -timeout=10s \
+        | vegeta report -type=json
+}
+
+find_max_rps() {
+    local best=0
+    local rate=$START_RPS
+
+    attack "$START_RPS" "$WARMUP_DURATION" > /dev/null
+
+    while [ "$rate" -le "$MAX_RPS" ]; do
+        local report p99_ms success
+        report=$(attack "$rate" "$STEP_DURATION")
+        p99_ms=$(echo "$report" | jq '.latencies."99th" / 1000000')
+        success=$(echo "$report" | jq '.success')
+        printf "   %6s rps -> p99 %8.2f ms, success %.4f\n" "$rate" "$p99_ms" "$success" >&2
+
+        if (( $(echo "$p99_ms > $P99_TARGET_MS" | bc -l) )) \
+            || (( $(echo "$success < $MIN_SUCCESS_RATIO" | bc -l) )); then
+            break
+        fi
+        best=$rate
+        rate=$((rate + STEP_RPS))
+    done
+    echo "$best"
+}
+
+mkdir -p build
+declare -A RESULTS
+step=2
+for virtual in false true; do
+    mode=$([ "$virtual" = "true" ] && echo "virtual" || echo "platform")
+    echo "${step}. ${mode} thread 모드"
+    echo "-----------------------------------"
+    start_app "$virtual"
+    RESULTS[$mode]=$(find_max_rps)
+    if [ "$virtual" = "true" ]; then
+        pinned=$(grep -c "Virtual thread pinned" "build/benchmark-virtual-true.log" || true)
+        echo "   pinning events: ${pinned}"
+    fi
+    cleanup
+    APP_PID=""
+    echo ""
+    step=$((step + 1))
+done
+
+echo "=== 결과 (p99 <= ${P99_TARGET_MS}ms 에서의 최대 지속 RPS) ==="
+printf "%-10s %10s\n" "mode" "max rps"
+printf "%-10s %10s\n" "platform" "${RESULTS[platform]}"
+printf "%-10s %10s\n" "virtual" "${RESULTS[virtual]}"
@@ -0,0 +1,85 @@
+#!/bin/bash
+# scripts/15-benchmark-batch-writer.sh
+#
+# 배치 리포트 writer 의 처리량(rows/sec)을 비교한다.
+# - row-batch : 기존 writer 방식 (행마다 upsert 문 1개, JDBC batch)
+# - multi-row : 다중 행 VALUES upsert (UpsertItemWriter)
+# - copy      : PostgreSQL COPY -> 임시 테이블 -> merge (PostgreSQL 일 때만)
+#
+# 필요조건: java, (PostgreSQL 측정 시) 접근 가능한 PostgreSQL
+# 사용법:   ./scripts/15-benchmark-batch-writer.sh
+#           DB_URL=jdbc:postgresql://localhost:5432/ecommerce DB_USER=postgres DB_PASSWORD=postgres \
+#               ./scripts/15-benchmark-batch-writer.sh
+# 환경변수: ROWS, CHUNK_SIZE, DB_URL, DB_USER, DB_PASSWORD
+
+set -euo pipefail
+
+PORT=${PORT:-8091}
+ROWS=${ROWS:-100000}
+CHUNK_SIZE=${CHUNK_SIZE:-1000}
+DB_URL=${DB_URL:-}
+DB_USER=${DB_USER:-}
+DB_PASSWORD=${DB_PASSWORD:-}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-600}
+LOG_FILE="build/benchmark-batch-writer.log"
+
+echo "=== Batch Writer Benchmark ==="
+echo "Rows: ${ROWS} / chunk: ${CHUNK_SIZE} / DB: ${DB_URL:-H2 (in-memory)}"
+echo ""
+
+echo "1. batch-app 빌드"
+echo "-----------------------------------"
+./gradlew :application:batch-app:bootJar -q
+JAR=$(ls application/batch-app/build/libs/*.jar | grep -v plain | head -1)
+echo "✅ ${JAR}"
+echo ""
+
+APP_PID=""
+cleanup() {
+    if [ -n "$APP_PID" ] && kill -0 "$APP_PID" 2> /dev/null; then
+        kill "$APP_PID"
+        wait "$APP_PID" 2> /dev/null || true
+    fi
+}
+trap cleanup EXIT
+
+DB_ARGS=()
+if [ -n "$DB_URL" ]; then
+    DB_ARGS+=("--spring.datasource.url=${DB_URL}" "--spring.datasource.driver-class-name=")
+    DB_ARGS+=("--spring.datasource.username=${DB_USER}" "--spring.datasource.password=${DB_PASSWORD}")
+fi
+
+echo "2. 벤치마크 실행"
+echo "-----------------------------------"
+mkdir -p build
+java -jar "$JAR" \
+    --server.port="$PORT" \
+    --app.batch.writer-benchmark.enabled=true \
+    --app.batch.writer-benchmark.rows="$ROWS" \
+    --app.batch.writer-benchmark.chunk-size="$CHUNK_SIZE" \
+    --spring.jpa.show-sql=false \
+    --logging.level.com.example=INFO \
+    "${DB_ARGS[@]}" \
+    > "$LOG_FILE" 2>&1 &
+APP_PID=$!
+
+for _ in $(seq 1 "$TIMEOUT_SECONDS"); do
+    if grep -q "Writer benchmark finished" "$LOG_FILE"; then
+        break
+    fi
+    if ! kill -0 "$APP_PID" 2> /dev/null; then
+        echo "❌ 애플리케이션이 종료되었습니다 (${LOG_FILE} 확인)"
+        exit 1
+    fi
+    sleep 1
+done
+
+if ! grep -q "Writer benchmark finished" "$LOG_FILE"; then
+    echo "❌ ${TIMEOUT_SECONDS}s 안에 끝나지 않았습니다 (${LOG_FILE} 확인)"
+    exit 1
+fi
+echo ""
+
+echo "=== 결과 ==="
+grep -o "Writer benchmark: .*" "$LOG_FILE"
+grep -o "Writer benchmark \[.*" "$LOG_FILE"
@@ -159,19 +159,19 @@ check_dependency_compatibility() {
         case "$SPRING_BOOT_VERSION" in
             3.2.*)
                 echo "✅ Spring Boot 3.2.x - Stable LTS version"
-                echo "✅ Java 17+ required - Current: $JAVA_VERSION"
+                echo "✅ Java 21 required (project toolchain) - Current: $JAVA_VERSION"
                 echo "✅ QueryDSL 5.0.x compatible"
                 echo "✅ JJWT 0.12.x compatible"
                 ;;
             3.3.*)
                 echo "✅ Spring Boot 3.3.x - Current stable version"
-                echo "✅ Java 17+ required, Java 21 recommended - Current: $JAVA_VERSION"
+                echo "✅ Java 21 required (project toolchain) - Current: $JAVA_VERSION"
                 echo "⚠️  QueryDSL 5.1.x recommended"
                 echo "✅ JJWT 0.12.x compatible"
                 ;;
             3.4.*|3.5.*)
                 echo "⚠️  Spring Boot 3.4.x/3.5.x - Newer version, check compatibility"
-                echo "⚠️  Java 21 recommended - Current: $JAVA_VERSION"
+                echo "✅ Java 21 required (project toolchain) - Current: $JAVA_VERSION"
                 echo "⚠️  QueryDSL 5.1.x+ required"
                 echo "⚠️  Hibernate Types may be deprecated"
                 ;;